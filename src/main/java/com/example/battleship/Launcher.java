@@ -1,9 +1,34 @@
 package com.example.battleship;
 
+import com.example.battleship.analytics.AnalyticsCommand;
+import com.example.battleship.engine.Arena;
+import com.example.battleship.engine.HeadlessCli;
 import javafx.application.Application;
 
+import java.util.Arrays;
+
 public class Launcher {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // --headless [options] plays matches between AIs without a display (see HeadlessCli)
+        if (args.length > 0 && args[0].equals("--headless")) {
+            HeadlessCli.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // --arena [options] runs an AI tournament with Elo ratings (see Arena)
+        if (args.length > 0 && args[0].equals("--arena")) {
+            Arena.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // --analytics [textLog] [history.tsv] [archive.bsa] prints the game statistics without opening the game
+        if (args.length > 0 && args[0].equals("--analytics")) {
+            AnalyticsCommand.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // --import-stats [textLog] [history.tsv] creates the structured history from an old text log
+        if (args.length > 0 && args[0].equals("--import-stats")) {
+            AnalyticsCommand.importStats(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
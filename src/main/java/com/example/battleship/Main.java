@@ -1,5 +1,9 @@
 package com.example.battleship;
 
+import com.example.battleship.controllers.GameScenePreloader;
+import com.example.battleship.models.GameRandom;
+import com.example.battleship.persistence.FsyncPolicy;
+import com.example.battleship.persistence.GameFileManager;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -9,6 +13,9 @@ public class Main extends Application {
 
     @Override
     public void start(Stage stage) throws Exception {
+        applyCommandLineOptions();
+        GameFileManager.importLegacyStats();
+        StartupMetrics.mark("fx-start");
 
         FXMLLoader loader = new FXMLLoader(
                 Main.class.getResource("/com/example/battleship/views/welcome-view.fxml")
@@ -22,10 +29,49 @@ public class Main extends Application {
         );
         stage.setTitle("Batalla Naval - JavaFX");
         stage.setScene(scene);
-        stage.setResizable(false);
+        // The game board scales with the window (see BoardScaler)
+        stage.setResizable(true);
         stage.show();
     }
+
+    /**
+     * Reads the supported command-line options.
+     * --seed=N fixes the seed of every match, making runs reproducible.
+     * --startup-benchmark opens a game by itself, prints the startup timings and exits.
+     * --scene=code builds the game board in code instead of loading BatallaNaval.fxml.
+     * --fsync=every|exit|N forces saves to disk on every save, only on exit, or at most every N ms.
+     */
+    private void applyCommandLineOptions() {
+        String scene = getParameters().getNamed().get("scene");
+        if (scene != null) {
+            boolean codeBuilt = "code".equalsIgnoreCase(scene.trim());
+            GameScenePreloader.setCodeBuiltScene(codeBuilt);
+            System.out.println("Escena de juego: " + (codeBuilt ? "codigo" : "FXML"));
+        }
+        String fsync = getParameters().getNamed().get("fsync");
+        if (fsync != null) {
+            try {
+                GameFileManager.setFsyncPolicy(FsyncPolicy.parse(fsync), FsyncPolicy.parseInterval(fsync));
+                System.out.println("Politica de fsync: " + fsync);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+        if (getParameters().getRaw().contains("--startup-benchmark")) {
+            StartupMetrics.setBenchmarkRun(true);
+        }
+        String seed = getParameters().getNamed().get("seed");
+        if (seed != null) {
+            try {
+                GameRandom.setFixedSeed(Long.parseLong(seed.trim()));
+                System.out.println("Semilla fija: " + seed);
+            } catch (NumberFormatException e) {
+                System.err.println("Semilla invalida, se ignora: " + seed);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        launch();
+        launch(args);
     }
 }
@@ -0,0 +1,99 @@
+package com.example.battleship;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures application startup over several cold launches.
+ * Each run is a fresh JVM started with --startup-benchmark, so class loading,
+ * CDS and FXML costs are paid every time, exactly as for a player.
+ * Run it with the same java as the app (e.g. the jlink image's bin/java) to compare
+ * distributions; extra JVM options after "--" are passed to every launch (try -Xshare:off).
+ *
+ * Usage: StartupBenchmark [runs] [-- jvmOptions...]
+ */
+public class StartupBenchmark
+{
+    private static final String MAIN = "com.example.battleship/com.example.battleship.Main";
+
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        int runs = 10;
+        List<String> jvmOptions = new ArrayList<>();
+        int separator = Arrays.asList(args).indexOf("--");
+        if (args.length > 0 && separator != 0) runs = Integer.parseInt(args[0]);
+        if (separator >= 0) jvmOptions.addAll(Arrays.asList(args).subList(separator + 1, args.length));
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null)
+        {
+            // Outside a jlink image the app modules come from the module path
+            command.add("--module-path");
+            command.add(modulePath);
+        }
+        command.add("-m");
+        command.add(MAIN);
+        command.add("--startup-benchmark");
+
+        System.out.println("Comando: " + String.join(" ", command));
+        Map<String, List<Long>> samples = new LinkedHashMap<>();
+        for (int run = 1; run <= runs; run++)
+        {
+            Map<String, Long> marks = launch(command);
+            if (marks.isEmpty())
+            {
+                System.err.println("La ejecucion " + run + " no reporto tiempos");
+                continue;
+            }
+            System.out.println("  ejecucion " + run + ": " + marks);
+            for (Map.Entry<String, Long> entry : marks.entrySet())
+            {
+                samples.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+
+        System.out.println("Resultados (ms):");
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet())
+        {
+            long[] values = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("  %-14s mediana=%5d  min=%5d  max=%5d  (n=%d)%n", entry.getKey(),
+                    values[values.length / 2], values[0], values[values.length - 1], values.length);
+        }
+    }
+
+    /**
+     * Starts one instance and returns the timings of its STARTUP line.
+     */
+    private static Map<String, Long> launch(List<String> command) throws IOException, InterruptedException
+    {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Map<String, Long> marks = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (!line.startsWith(StartupMetrics.REPORT_PREFIX + " ")) continue;
+                for (String field : line.substring(StartupMetrics.REPORT_PREFIX.length() + 1).split(" "))
+                {
+                    int equals = field.indexOf('=');
+                    if (equals > 0) marks.put(field.substring(0, equals), Long.parseLong(field.substring(equals + 1)));
+                }
+            }
+        }
+        process.waitFor();
+        return marks;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.battleship;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Startup timings of the application.
+ * We measure from the moment the OS started the process (not from main), so the
+ * numbers include JVM boot and class loading, which is what CDS and jlink improve.
+ * In a benchmark run (--startup-benchmark) the app walks to the game scene by
+ * itself, prints one "STARTUP" line and exits; StartupBenchmark parses that line.
+ */
+public final class StartupMetrics
+{
+    //region 1. Variables and constants
+    public static final String REPORT_PREFIX = "STARTUP";
+
+    private static final Instant PROCESS_START = ProcessHandle.current().info().startInstant()
+            .orElseGet(Instant::now);
+
+    private static final Map<String, Long> marks = new LinkedHashMap<>();
+    private static boolean benchmarkRun = false;
+    private static boolean reported = false;
+    //endregion
+
+    //region 2. Constructors
+    private StartupMetrics()
+    {
+        // Static utility
+    }
+    //endregion
+
+    //region 3. Marks
+
+    public static void setBenchmarkRun(boolean benchmark)
+    {
+        benchmarkRun = benchmark;
+    }
+
+    public static boolean isBenchmarkRun()
+    {
+        return benchmarkRun;
+    }
+
+    /**
+     * Milliseconds elapsed since the process started.
+     */
+    public static long sinceProcessStart()
+    {
+        return Duration.between(PROCESS_START, Instant.now()).toMillis();
+    }
+
+    /**
+     * Records a named mark (first occurrence wins) and returns its time.
+     */
+    public static synchronized long mark(String name)
+    {
+        return marks.computeIfAbsent(name, key -> sinceProcessStart());
+    }
+
+    /**
+     * Records a measured duration in milliseconds (first occurrence wins).
+     */
+    public static synchronized void record(String name, long millis)
+    {
+        marks.putIfAbsent(name, millis);
+    }
+
+    /**
+     * Runs the action once the scene has been laid out for its first pulse,
+     * i.e. when its first frame is about to be painted.
+     * Must be called on the JavaFX Application Thread.
+     */
+    public static void onFirstFrame(Scene scene, Runnable action)
+    {
+        boolean[] done = new boolean[1];
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () ->
+        {
+            if (done[0]) return;
+            done[0] = true;
+            // Removing a listener while the scene iterates them is not safe, do it after the pulse
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(listener[0]));
+            action.run();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Prints all marks as a single line, e.g. "STARTUP first-frame=412 game-scene=690".
+     * Only the first call prints; in a benchmark run it also closes the application.
+     */
+    public static synchronized void report()
+    {
+        if (reported) return;
+        reported = true;
+
+        StringBuilder line = new StringBuilder(REPORT_PREFIX);
+        for (Map.Entry<String, Long> entry : marks.entrySet())
+        {
+            line.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        System.out.println(line);
+
+        if (benchmarkRun) Platform.exit();
+    }
+    //endregion
+}
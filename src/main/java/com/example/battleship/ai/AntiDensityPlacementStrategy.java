@@ -0,0 +1,258 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.ShipFactory;
+import com.example.battleship.models.ShipPlacement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Deployment that hides the fleet from a known targeting model.
+ * The model gives how eagerly each cell is shot (by default, the density a
+ * DensityTargetingStrategy computes on an empty board, which is also what most
+ * human players aim at). A fleet scores the model weight of its cells plus a
+ * penalty for every cell touching another ship, since finishing one ship then
+ * uncovers its neighbour. We look for low scores by simulated annealing, several
+ * chains in parallel from random fleets, and keep the best one. The chains never
+ * cool down completely: a fleet packed into the coldest corners every game would be
+ * just as easy to learn as a uniform one.
+ *
+ * Every chain runs a fixed number of steps (a few ms), so a given seed always
+ * deploys the same fleet, which --seed, HeadlessMatch replays and the Arena rely on.
+ * The time budget is only a safety limit for a stalled machine; reaching it is logged.
+ * The scorer only works on bitmasks (see PlacementMasks), a few ANDs and bit
+ * counts per step.
+ */
+public class AntiDensityPlacementStrategy implements PlacementStrategy {
+
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000_000L; // Never reached normally
+    private static final int CHAINS = 4;
+    private static final int STEPS = 5_000; // Per chain; a few ms in all, some 40 ms before the JIT warms up
+    private static final double START_TEMPERATURE = 2.0, END_TEMPERATURE = 0.5;
+    private static final double TOUCH_PENALTY = 0.25; // Per ship cell next to another ship
+
+    // Per size, indexed by origin * 2 + (horizontal ? 0 : 1): cells around each placement
+    private static final long[][] HALO_LO = new long[PlacementMasks.MAX_SIZE + 1][200];
+    private static final long[][] HALO_HI = new long[PlacementMasks.MAX_SIZE + 1][200];
+
+    private static double[] huntModel; // Default model, built on first use
+
+    // Model weight of each placement, same indexing as the halos (NaN when it does not fit)
+    private final double[][] cost = new double[PlacementMasks.MAX_SIZE + 1][200];
+    private final long budgetNanos;
+
+    static {
+        for (int size = 1; size <= PlacementMasks.MAX_SIZE; size++) {
+            for (int code = 0; code < 200; code++) {
+                int origin = code >> 1;
+                boolean horizontal = (code & 1) == 0;
+                if (!PlacementMasks.fits(size, horizontal, origin)) continue;
+
+                long lo = 0, hi = 0;
+                for (int i = 0; i < size; i++) {
+                    int col = horizontal ? origin % 10 + i : origin % 10;
+                    int row = horizontal ? origin / 10 : origin / 10 + i;
+                    for (int dc = -1; dc <= 1; dc++) {
+                        for (int dr = -1; dr <= 1; dr++) {
+                            int c = col + dc, r = row + dr;
+                            if (c < 0 || c > 9 || r < 0 || r > 9) continue;
+                            int index = PlacementMasks.index(c, r);
+                            if (index < 64) lo |= 1L << index;
+                            else hi |= 1L << (index - 64);
+                        }
+                    }
+                }
+                HALO_LO[size][code] = lo & ~PlacementMasks.lo(size, horizontal, origin);
+                HALO_HI[size][code] = hi & ~PlacementMasks.hi(size, horizontal, origin);
+            }
+        }
+    }
+
+    /**
+     * Hides the fleet from the density targeting.
+     */
+    public AntiDensityPlacementStrategy() {
+        this(defaultModel(), DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * @param model How eagerly the opponent shoots each cell (any scale), indexed as PlacementMasks.
+     * @param budgetNanos Safety limit for place(); past it the fleet depends on the clock.
+     */
+    public AntiDensityPlacementStrategy(double[] model, long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        // Normalized to a mean of 1 per cell, so the penalty and the temperatures keep their meaning
+        double total = 0;
+        for (double weight : model) total += weight;
+        double scale = total > 0 ? 100 / total : 1;
+
+        for (int size = 1; size <= PlacementMasks.MAX_SIZE; size++) {
+            for (int code = 0; code < 200; code++) {
+                int origin = code >> 1;
+                boolean horizontal = (code & 1) == 0;
+                if (!PlacementMasks.fits(size, horizontal, origin)) {
+                    cost[size][code] = Double.NaN;
+                    continue;
+                }
+                double sum = 0;
+                for (int i = 0; i < size; i++) sum += model[horizontal ? origin + i : origin + i * 10];
+                cost[size][code] = sum * scale;
+            }
+        }
+    }
+
+    private static synchronized double[] defaultModel() {
+        if (huntModel == null) {
+            int[] remaining = new int[PlacementMasks.MAX_SIZE + 1];
+            for (int size : ShipFactory.FLEET_SIZES) remaining[size]++;
+            long[] density = new DensityTargetingStrategy().computeDensity(new ShotKnowledge(0, 0, 0, 0, 0, 0, remaining));
+            huntModel = new double[100];
+            for (int index = 0; index < 100; index++) huntModel[index] = density[index];
+        }
+        return huntModel;
+    }
+
+    @Override
+    public List<ShipPlacement> place(Random random) {
+        long deadline = System.nanoTime() + budgetNanos;
+        long[] seeds = new long[CHAINS];
+        for (int i = 0; i < CHAINS; i++) seeds[i] = random.nextLong();
+
+        Chain[] chains = IntStream.range(0, CHAINS).parallel()
+                .mapToObj(i -> anneal(seeds[i], deadline))
+                .toArray(Chain[]::new);
+
+        // In chain order: the same seeds pick the same winner
+        Chain best = chains[0];
+        boolean timedOut = false;
+        for (Chain chain : chains) {
+            if (chain.bestScore < best.bestScore) best = chain;
+            timedOut |= chain.timedOut;
+        }
+        if (timedOut) System.err.println("Despliegue anti-densidad: limite de tiempo alcanzado, la flota no es reproducible");
+
+        List<ShipPlacement> fleet = new ArrayList<>(ShipFactory.FLEET_SIZES.length);
+        for (int ship = 0; ship < ShipFactory.FLEET_SIZES.length; ship++) {
+            int origin = best.best[ship] >> 1;
+            fleet.add(new ShipPlacement(ShipFactory.FLEET_SIZES[ship], origin % 10, origin / 10, (best.best[ship] & 1) == 0));
+        }
+        return fleet;
+    }
+
+    /**
+     * Runs one annealing chain from a random fleet.
+     */
+    private Chain anneal(long seed, long deadline) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Chain chain = new Chain(random);
+        double score = score(chain);
+        chain.keep(score);
+
+        double cooling = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / STEPS);
+        double temperature = START_TEMPERATURE;
+        for (int step = 0; step < STEPS; step++, temperature *= cooling) {
+            if ((step & 255) == 0 && System.nanoTime() - deadline > 0) {
+                chain.timedOut = true;
+                break;
+            }
+
+            // Move one ship somewhere free
+            int ship = random.nextInt(chain.codes.length);
+            int size = ShipFactory.FLEET_SIZES[ship];
+            int code = random.nextInt(200);
+            if (Double.isNaN(cost[size][code])) continue;
+            int old = chain.codes[ship];
+            chain.remove(ship);
+            if (!chain.isFree(size, code)) {
+                chain.put(ship, old);
+                continue;
+            }
+            chain.put(ship, code);
+
+            double next = score(chain);
+            if (next <= score || random.nextDouble() < Math.exp((score - next) / temperature)) {
+                score = next;
+                if (score < chain.bestScore) chain.keep(score);
+            } else {
+                chain.remove(ship);
+                chain.put(ship, old);
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Model weight of the fleet plus the penalty for ships touching each other.
+     */
+    private double score(Chain chain) {
+        double score = 0;
+        int touching = 0;
+        for (int ship = 0; ship < chain.codes.length; ship++) {
+            int size = ShipFactory.FLEET_SIZES[ship];
+            int code = chain.codes[ship];
+            score += cost[size][code];
+            touching += Long.bitCount(HALO_LO[size][code] & chain.lo) + Long.bitCount(HALO_HI[size][code] & chain.hi);
+        }
+        return score + TOUCH_PENALTY * touching;
+    }
+
+    @Override
+    public String getName() {
+        return "anti-density";
+    }
+
+    /**
+     * State of one annealing chain: the current fleet as placement codes, its occupied
+     * cells, and the best fleet seen so far.
+     */
+    private static final class Chain {
+        final int[] codes = new int[ShipFactory.FLEET_SIZES.length];
+        final int[] best = new int[ShipFactory.FLEET_SIZES.length];
+        double bestScore = Double.POSITIVE_INFINITY;
+        boolean timedOut;
+        long lo, hi;
+
+        // Starts from a uniform random fleet
+        Chain(SplittableRandom random) {
+            for (int ship = 0; ship < codes.length; ship++) {
+                int size = ShipFactory.FLEET_SIZES[ship];
+                while (true) {
+                    int code = random.nextInt(200);
+                    if (!PlacementMasks.fits(size, (code & 1) == 0, code >> 1) || !isFree(size, code)) continue;
+                    put(ship, code);
+                    break;
+                }
+            }
+        }
+
+        boolean isFree(int size, int code) {
+            boolean horizontal = (code & 1) == 0;
+            return (PlacementMasks.lo(size, horizontal, code >> 1) & lo) == 0
+                    && (PlacementMasks.hi(size, horizontal, code >> 1) & hi) == 0;
+        }
+
+        void put(int ship, int code) {
+            int size = ShipFactory.FLEET_SIZES[ship];
+            boolean horizontal = (code & 1) == 0;
+            codes[ship] = code;
+            lo |= PlacementMasks.lo(size, horizontal, code >> 1);
+            hi |= PlacementMasks.hi(size, horizontal, code >> 1);
+        }
+
+        void remove(int ship) {
+            int size = ShipFactory.FLEET_SIZES[ship];
+            boolean horizontal = (codes[ship] & 1) == 0;
+            lo &= ~PlacementMasks.lo(size, horizontal, codes[ship] >> 1);
+            hi &= ~PlacementMasks.hi(size, horizontal, codes[ship] >> 1);
+        }
+
+        void keep(double score) {
+            bestScore = score;
+            System.arraycopy(codes, 0, best, 0, codes.length);
+        }
+    }
+}
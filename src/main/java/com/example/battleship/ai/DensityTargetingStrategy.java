@@ -0,0 +1,131 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementHeatmap;
+import com.example.battleship.models.PlacementMasks;
+
+import java.util.Random;
+
+/**
+ * Probability-density targeting.
+ * For every ship still afloat we enumerate each placement compatible with what
+ * is known (no water shots, no sunk cells) and count how many placements cover
+ * each unshot cell. Placements crossing open hits are weighted heavily, so once
+ * a ship is found the AI finishes it before hunting again.
+ *
+ * Optionally a placement heatmap of the opponent acts as a prior while hunting:
+ * each cell's density is scaled by how much more (or less) often that player
+ * uses the cell than a random deployment would.
+ */
+public class DensityTargetingStrategy implements TargetingStrategy {
+
+    // Extra weight per open hit covered by a placement
+    private static final int HIT_WEIGHT = 40;
+
+    // Per-cell prior multiplier, null when no heatmap is used
+    private final double[] priorFactor;
+
+    public DensityTargetingStrategy() {
+        this.priorFactor = null;
+    }
+
+    /**
+     * Creates a strategy biased by the opponent's placement habits.
+     * We precompute the multiplier of every cell, so applying the prior is O(1) per cell.
+     */
+    public DensityTargetingStrategy(PlacementHeatmap heatmap) {
+        OpeningBook book = OpeningBook.getDefault();
+        this.priorFactor = new double[100];
+        for (int index = 0; index < 100; index++) {
+            double baseline = book.getOccupancy(index);
+            if (baseline <= 0) baseline = PlacementHeatmap.FLEET_COVERAGE;
+            priorFactor[index] = heatmap.getFrequency(index) / baseline;
+        }
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge, Random random) {
+        long[] density = computeDensity(knowledge);
+        double[] scores = new double[100];
+        boolean usePrior = priorFactor != null && !knowledge.hasOpenHits();
+        for (int index = 0; index < 100; index++) {
+            scores[index] = usePrior ? density[index] * priorFactor[index] : density[index];
+        }
+        return pickBest(scores, knowledge, random);
+    }
+
+    /**
+     * Counts, for each cell, the weighted number of placements covering it.
+     */
+    public long[] computeDensity(ShotKnowledge knowledge) {
+        long[] density = new long[100];
+        long blockedLo = knowledge.getBlockedLo();
+        long blockedHi = knowledge.getBlockedHi();
+        long hitLo = knowledge.getHitLo();
+        long hitHi = knowledge.getHitHi();
+        boolean targetMode = knowledge.hasOpenHits();
+
+        for (int size = 1; size <= PlacementMasks.MAX_SIZE; size++) {
+            int ships = knowledge.getRemaining(size);
+            if (ships == 0) continue;
+
+            for (int orientation = 0; orientation < 2; orientation++) {
+                // A frigate looks the same both ways, count it once
+                if (size == 1 && orientation == 1) continue;
+                boolean horizontal = orientation == 0;
+
+                for (int origin = 0; origin < 100; origin++) {
+                    if (!PlacementMasks.fits(size, horizontal, origin)) continue;
+                    long lo = PlacementMasks.lo(size, horizontal, origin);
+                    long hi = PlacementMasks.hi(size, horizontal, origin);
+                    if ((lo & blockedLo) != 0 || (hi & blockedHi) != 0) continue;
+
+                    int hits = Long.bitCount(lo & hitLo) + Long.bitCount(hi & hitHi);
+                    if (targetMode && hits == 0) continue;
+                    long weight = (long) ships * (1 + (long) HIT_WEIGHT * hits * hits);
+
+                    addWeight(density, lo, hi, weight);
+                }
+            }
+        }
+        return density;
+    }
+
+    private static void addWeight(long[] density, long lo, long hi, long weight) {
+        while (lo != 0) {
+            density[Long.numberOfTrailingZeros(lo)] += weight;
+            lo &= lo - 1;
+        }
+        while (hi != 0) {
+            density[64 + Long.numberOfTrailingZeros(hi)] += weight;
+            hi &= hi - 1;
+        }
+    }
+
+    /**
+     * Returns the unshot cell with the highest weight, breaking ties at random.
+     */
+    static int pickBest(double[] scores, ShotKnowledge knowledge, Random random) {
+        int best = -1;
+        double bestWeight = -1;
+        int ties = 0;
+
+        for (int index = 0; index < 100; index++) {
+            if (knowledge.isShot(index)) continue;
+            double weight = scores[index];
+            if (weight > bestWeight) {
+                best = index;
+                bestWeight = weight;
+                ties = 1;
+            } else if (weight == bestWeight && random.nextInt(++ties) == 0) {
+                best = index;
+            }
+        }
+        if (best < 0) throw new IllegalStateException("No cells left to shoot");
+        return best;
+    }
+
+    @Override
+    public String getName() {
+        return priorFactor != null ? "density+prior" : "density";
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.ShipFactory;
+import com.example.battleship.models.ShipPlacement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deployment that keeps ships off the border of the board.
+ * Players who sweep the edges first (a common habit against the original enemy) find
+ * nothing there. We still draw among all legal placements, so the fleet is not
+ * predictable: a placement clear of the border is just EDGE_ODDS times as likely.
+ */
+public class EdgeAvoidingPlacementStrategy implements PlacementStrategy {
+
+    private static final int EDGE_ODDS = 8;
+
+    // Cells of the outer ring
+    private static final long EDGE_LO, EDGE_HI;
+
+    static {
+        long lo = 0, hi = 0;
+        for (int index = 0; index < 100; index++) {
+            int col = index % 10, row = index / 10;
+            if (col != 0 && col != 9 && row != 0 && row != 9) continue;
+            if (index < 64) lo |= 1L << index;
+            else hi |= 1L << (index - 64);
+        }
+        EDGE_LO = lo;
+        EDGE_HI = hi;
+    }
+
+    @Override
+    public List<ShipPlacement> place(Random random) {
+        List<ShipPlacement> fleet = new ArrayList<>(ShipFactory.FLEET_SIZES.length);
+        int[] weights = new int[200]; // Indexed by origin * 2 + (horizontal ? 0 : 1)
+        long lo = 0, hi = 0;
+        for (int size : ShipFactory.FLEET_SIZES) {
+            int total = 0;
+            for (int code = 0; code < 200; code++) {
+                int origin = code >> 1;
+                boolean horizontal = (code & 1) == 0;
+                weights[code] = 0;
+                if (!PlacementMasks.fits(size, horizontal, origin)) continue;
+
+                long shipLo = PlacementMasks.lo(size, horizontal, origin);
+                long shipHi = PlacementMasks.hi(size, horizontal, origin);
+                if ((shipLo & lo) != 0 || (shipHi & hi) != 0) continue;
+                boolean onEdge = (shipLo & EDGE_LO) != 0 || (shipHi & EDGE_HI) != 0;
+                weights[code] = onEdge ? 1 : EDGE_ODDS;
+                total += weights[code];
+            }
+
+            int pick = random.nextInt(total);
+            int code = 0;
+            while (pick >= weights[code]) pick -= weights[code++];
+            int origin = code >> 1;
+            boolean horizontal = (code & 1) == 0;
+            lo |= PlacementMasks.lo(size, horizontal, origin);
+            hi |= PlacementMasks.hi(size, horizontal, origin);
+            fleet.add(new ShipPlacement(size, origin % 10, origin / 10, horizontal));
+        }
+        return fleet;
+    }
+
+    @Override
+    public String getName() {
+        return "edge-avoiding";
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Exact solver for the end of the game.
+ * Once few ships remain, we enumerate every fleet configuration consistent with
+ * what is known (no ship on water shots or sunk cells, every open hit covered,
+ * no overlaps) and fire at the cell covered by the most configurations, which is
+ * the cell with the highest probability of a hit. A ship afloat cannot have all
+ * its cells hit, so no placement may lie entirely on open hits; in particular
+ * frigates, which sink on their first hit, never cover one.
+ *
+ * Configurations are explored ship by ship over bitmasks. The number of
+ * completions of each (ship, occupied cells) state is memoized, so shared
+ * sub-problems are solved once. A second forward pass over the same states
+ * turns those counts into per-cell probabilities. Frigates are interchangeable
+ * single cells on free water, so they are counted in closed form instead of enumerated.
+ *
+ * The search is limited by work, not time: past MAX_WORK placements tried, or when
+ * the space is too large to try, we defer to the fallback strategy. The same position
+ * therefore always gets the same answer, and seeded matches replay exactly. A time
+ * budget stays as a safety net for a stalled machine; hitting it is logged, since
+ * the result then depends on timing.
+ */
+public class EndgameSolverStrategy implements TargetingStrategy {
+
+    // Above this many raw combinations we do not even try
+    private static final double MAX_COMBINATIONS = 2e5;
+    // Placements tried per solve before giving up: about 10 ms on a desktop
+    private static final long MAX_WORK = 300_000;
+    // How often (in visited states) the clock is checked
+    private static final int CLOCK_INTERVAL = 256;
+
+    private final TargetingStrategy fallback;
+    private final long budgetNanos;
+
+    /**
+     * @param budgetMillis Safety limit on the time of one solve, well above what MAX_WORK takes.
+     */
+    public EndgameSolverStrategy(TargetingStrategy fallback, long budgetMillis) {
+        this.fallback = fallback;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge, Random random) {
+        double[] probabilities = solve(knowledge);
+        if (probabilities == null) {
+            return fallback.chooseTarget(knowledge, random);
+        }
+
+        int best = -1;
+        double bestValue = -1;
+        int ties = 0;
+        for (int index = 0; index < 100; index++) {
+            if (knowledge.isShot(index)) continue;
+            double value = probabilities[index];
+            if (value > bestValue) {
+                best = index;
+                bestValue = value;
+                ties = 1;
+            } else if (value == bestValue && random.nextInt(++ties) == 0) {
+                best = index;
+            }
+        }
+        return best >= 0 ? best : fallback.chooseTarget(knowledge, random);
+    }
+
+    /**
+     * Computes the exact hit probability of every cell.
+     *
+     * @return The probabilities, or null when the space is too large or a limit was reached
+     */
+    public double[] solve(ShotKnowledge knowledge) {
+        Search search = new Search(knowledge, System.nanoTime() + budgetNanos);
+        if (search.combinations() > MAX_COMBINATIONS) return null;
+
+        try {
+            double total = search.count(0, 0L, 0L);
+            if (total <= 0) return null; // Knowledge inconsistent with the fleet
+            double[] marginals = search.marginals();
+            for (int i = 0; i < 100; i++) marginals[i] /= total;
+            return marginals;
+        } catch (BudgetExceededException e) {
+            if (e.timedOut) System.err.println("Solver de final: limite de tiempo alcanzado, se usa " + fallback.getName());
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "endgame+" + fallback.getName();
+    }
+
+    /**
+     * State of one solve: candidate placements per ship and the memo tables.
+     */
+    private static final class Search {
+        private final long hitLo, hitHi;
+        private final long deadline;
+        private final int[] sizes;        // Remaining ships, largest first
+        private final long[][] candLo;    // Candidate placements for each ship
+        private final long[][] candHi;
+        private final int[] suffixCells;  // Cells of the ships able to cover hits, from ship i on (frigates excluded)
+        private final int firstFrigate;   // Index of the first size-1 ship (== n when none)
+        private final long blockedLo, blockedHi;
+        private final LongPairMap[] memo; // One table per ship index
+        private int visited = 0;
+        private long work = 0;            // Placements tried so far
+
+        Search(ShotKnowledge knowledge, long deadline) {
+            this.hitLo = knowledge.getHitLo();
+            this.hitHi = knowledge.getHitHi();
+            this.deadline = deadline;
+
+            List<Integer> remaining = new ArrayList<>();
+            for (int size = PlacementMasks.MAX_SIZE; size >= 1; size--) {
+                for (int k = 0; k < knowledge.getRemaining(size); k++) remaining.add(size);
+            }
+            int n = remaining.size();
+            sizes = new int[n];
+            candLo = new long[n][];
+            candHi = new long[n][];
+            suffixCells = new int[n + 1];
+            memo = new LongPairMap[n + 1];
+
+            blockedLo = knowledge.getBlockedLo();
+            blockedHi = knowledge.getBlockedHi();
+            for (int i = 0; i < n; i++) {
+                sizes[i] = remaining.get(i);
+                long[] lo = new long[200];
+                long[] hi = new long[200];
+                int count = 0;
+                for (int orientation = 0; orientation < 2; orientation++) {
+                    if (sizes[i] == 1 && orientation == 1) continue;
+                    boolean horizontal = orientation == 0;
+                    for (int origin = 0; origin < 100; origin++) {
+                        if (!PlacementMasks.fits(sizes[i], horizontal, origin)) continue;
+                        long pLo = PlacementMasks.lo(sizes[i], horizontal, origin);
+                        long pHi = PlacementMasks.hi(sizes[i], horizontal, origin);
+                        if ((pLo & blockedLo) != 0 || (pHi & blockedHi) != 0) continue;
+                        // Every cell already hit: that ship would be sunk
+                        if ((pLo & ~hitLo) == 0 && (pHi & ~hitHi) == 0) continue;
+                        lo[count] = pLo;
+                        hi[count] = pHi;
+                        count++;
+                    }
+                }
+                candLo[i] = Arrays.copyOf(lo, count);
+                candHi[i] = Arrays.copyOf(hi, count);
+            }
+            int frigate = n;
+            while (frigate > 0 && sizes[frigate - 1] == 1) frigate--;
+            firstFrigate = frigate;
+
+            for (int i = firstFrigate - 1; i >= 0; i--) suffixCells[i] = suffixCells[i + 1] + sizes[i];
+            for (int i = 0; i <= n; i++) memo[i] = new LongPairMap();
+        }
+
+        double combinations() {
+            double product = 1;
+            for (int i = 0; i < firstFrigate; i++) product *= Math.max(1, candLo[i].length);
+            return product;
+        }
+
+        /**
+         * Accounts for a visited state about to try the given number of placements.
+         */
+        private void spend(int placements) {
+            work += placements;
+            if (work > MAX_WORK) throw new BudgetExceededException(false);
+            if (++visited % CLOCK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                throw new BudgetExceededException(true);
+            }
+        }
+
+        /**
+         * Ways to drop the remaining frigates on free cells.
+         * A frigate sinks on its first hit, so a hit still uncovered here means no completion.
+         */
+        private double frigateCompletions(long occLo, long occHi) {
+            if ((hitLo & ~occLo) != 0 || (hitHi & ~occHi) != 0) return 0;
+            int frigates = sizes.length - firstFrigate;
+            int free = 100 - Long.bitCount(blockedLo | occLo) - Long.bitCount(blockedHi | occHi);
+            return binomial(free, frigates);
+        }
+
+        private static double binomial(int n, int k) {
+            if (k < 0 || k > n) return 0;
+            double result = 1;
+            for (int j = 1; j <= k; j++) result = result * (n - k + j) / j;
+            return result;
+        }
+
+        /**
+         * Number of ways to place ships i..n-1 on top of the occupied cells
+         * so that every open hit ends up covered.
+         */
+        double count(int i, long occLo, long occHi) {
+            long missingLo = hitLo & ~occLo;
+            long missingHi = hitHi & ~occHi;
+            if (i == firstFrigate) {
+                return frigateCompletions(occLo, occHi);
+            }
+            // Not enough ship cells left to cover the uncovered hits
+            if (Long.bitCount(missingLo) + Long.bitCount(missingHi) > suffixCells[i]) return 0;
+
+            double cached = memo[i].get(occLo, occHi);
+            if (cached >= 0) return cached;
+            spend(candLo[i].length);
+
+            double total = 0;
+            long[] lo = candLo[i];
+            long[] hi = candHi[i];
+            for (int p = 0; p < lo.length; p++) {
+                if ((lo[p] & occLo) != 0 || (hi[p] & occHi) != 0) continue;
+                total += count(i + 1, occLo | lo[p], occHi | hi[p]);
+            }
+            memo[i].put(occLo, occHi, total);
+            return total;
+        }
+
+        /**
+         * Weighted number of configurations covering each cell.
+         * We walk the memoized states level by level, carrying how many partial
+         * configurations reach each state; an edge (placement) then contributes
+         * prefix * completions to each of its cells.
+         */
+        double[] marginals() {
+            double[] marginals = new double[100];
+            LongPairMap level = new LongPairMap();
+            level.put(0L, 0L, 1);
+
+            for (int i = 0; i < firstFrigate; i++) {
+                LongPairMap next = new LongPairMap();
+                long[] lo = candLo[i];
+                long[] hi = candHi[i];
+
+                for (int s = 0; s < level.capacity(); s++) {
+                    if (!level.isUsed(s)) continue;
+                    long occLo = level.keyLo(s);
+                    long occHi = level.keyHi(s);
+                    double prefix = level.value(s);
+                    spend(lo.length);
+
+                    for (int p = 0; p < lo.length; p++) {
+                        if ((lo[p] & occLo) != 0 || (hi[p] & occHi) != 0) continue;
+                        long nextLo = occLo | lo[p];
+                        long nextHi = occHi | hi[p];
+                        double completions = count(i + 1, nextLo, nextHi);
+                        if (completions <= 0) continue;
+
+                        addCells(marginals, lo[p], hi[p], prefix * completions);
+                        next.add(nextLo, nextHi, prefix);
+                    }
+                }
+                level = next;
+            }
+
+            // Frigates: every free cell is equally likely to hold one
+            int frigates = sizes.length - firstFrigate;
+            if (frigates > 0) {
+                for (int s = 0; s < level.capacity(); s++) {
+                    if (!level.isUsed(s)) continue;
+                    long occLo = level.keyLo(s);
+                    long occHi = level.keyHi(s);
+                    double weight = level.value(s) * frigateCompletions(occLo, occHi);
+                    if (weight <= 0) continue;
+
+                    long freeLo = ~(blockedLo | occLo);
+                    long freeHi = ~(blockedHi | occHi) & ((1L << 36) - 1);
+                    int free = Long.bitCount(freeLo) + Long.bitCount(freeHi);
+                    if (free > 0) {
+                        addCells(marginals, freeLo, freeHi, weight * frigates / free);
+                    }
+                }
+            }
+            return marginals;
+        }
+
+        private static void addCells(double[] marginals, long lo, long hi, double weight) {
+            while (lo != 0) {
+                marginals[Long.numberOfTrailingZeros(lo)] += weight;
+                lo &= lo - 1;
+            }
+            while (hi != 0) {
+                marginals[64 + Long.numberOfTrailingZeros(hi)] += weight;
+                hi &= hi - 1;
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from a 100-bit board (two longs) to a double.
+     * We avoid boxed keys so memoization stays cheap in the inner loop.
+     */
+    private static final class LongPairMap {
+        private long[] keysLo = new long[64];
+        private long[] keysHi = new long[64];
+        private double[] values = new double[64];
+        private boolean[] used = new boolean[64];
+        private int size = 0;
+
+        double get(long lo, long hi) {
+            int mask = keysLo.length - 1;
+            for (int s = hash(lo, hi) & mask; used[s]; s = (s + 1) & mask) {
+                if (keysLo[s] == lo && keysHi[s] == hi) return values[s];
+            }
+            return -1;
+        }
+
+        void put(long lo, long hi, double value) {
+            int slot = slotFor(lo, hi);
+            values[slot] = value;
+        }
+
+        void add(long lo, long hi, double value) {
+            int slot = slotFor(lo, hi);
+            values[slot] += value;
+        }
+
+        private int slotFor(long lo, long hi) {
+            if ((size + 1) * 2 > keysLo.length) grow();
+            int mask = keysLo.length - 1;
+            int s = hash(lo, hi) & mask;
+            while (used[s]) {
+                if (keysLo[s] == lo && keysHi[s] == hi) return s;
+                s = (s + 1) & mask;
+            }
+            used[s] = true;
+            keysLo[s] = lo;
+            keysHi[s] = hi;
+            values[s] = 0;
+            size++;
+            return s;
+        }
+
+        private void grow() {
+            long[] oldLo = keysLo, oldHi = keysHi;
+            double[] oldValues = values;
+            boolean[] oldUsed = used;
+            int capacity = oldLo.length * 2;
+            keysLo = new long[capacity];
+            keysHi = new long[capacity];
+            values = new double[capacity];
+            used = new boolean[capacity];
+            size = 0;
+            for (int s = 0; s < oldLo.length; s++) {
+                if (oldUsed[s]) put(oldLo[s], oldHi[s], oldValues[s]);
+            }
+        }
+
+        private static int hash(long lo, long hi) {
+            long h = lo * 0x9E3779B97F4A7C15L ^ hi * 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        int capacity() { return keysLo.length; }
+        boolean isUsed(int slot) { return used[slot]; }
+        long keyLo(int slot) { return keysLo[slot]; }
+        long keyHi(int slot) { return keysHi[slot]; }
+        double value(int slot) { return values[slot]; }
+    }
+
+    /**
+     * Thrown inside the search to unwind as soon as a limit is reached.
+     * We skip the stack trace, since this is ordinary control flow here.
+     */
+    private static final class BudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final boolean timedOut; // The clock ran out, not the work limit
+
+        BudgetExceededException(boolean timedOut) {
+            super(null, null, false, false);
+            this.timedOut = timedOut;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.Cell;
+import com.example.battleship.models.ShipPlacement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+/**
+ * Plans a whole enemy turn away from the JavaFX thread.
+ * We copy the defending board into a FleetBoard on the FX thread, then a worker asks the
+ * targeting strategy for shots and resolves them against that copy, keeping on after
+ * each hit exactly like the real turn, until it misses or the fleet is gone.
+ * Each shot is handed out as soon as it is chosen, so the UI can start playing a
+ * streak while a slow strategy is still thinking about the next shot.
+ * The match generator is only used by the worker while a plan runs, so the sequence of
+ * random numbers (and therefore the replay) is the same as before.
+ */
+public final class EnemyStreakPlanner
+{
+    //region 1. Variables and constants
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(task ->
+    {
+        Thread thread = new Thread(task, "enemy-ai");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TargetingStrategy strategy;
+    private final Random random;
+    private final FleetBoard board; // Copy of the defending board, updated as the streak goes on
+    //endregion
+
+    //region 2. Constructors
+
+    private EnemyStreakPlanner(TargetingStrategy strategy, Random random, FleetBoard board)
+    {
+        this.strategy = strategy;
+        this.random = random;
+        this.board = board;
+    }
+
+    /**
+     * Copies a logical board indexed as [col][row]. Must be called on the thread that owns the board.
+     */
+    public static EnemyStreakPlanner fromBoard(Cell[][] board, TargetingStrategy strategy, Random random)
+    {
+        return new EnemyStreakPlanner(strategy, random, new FleetBoard(ShipPlacement.fromBoard(board), ShotKnowledge.fromBoard(board)));
+    }
+    //endregion
+
+    //region 3. Planning
+
+    /**
+     * Starts planning the turn on the AI worker.
+     * @param onShot Receives each target index (row * 10 + col) on the worker thread, as soon as it is chosen.
+     * @return A future with all the shots of the turn, in order. Cancelling it stops the worker after the current shot.
+     */
+    public CompletableFuture<int[]> plan(IntConsumer onShot)
+    {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        WORKER.execute(() ->
+        {
+            try
+            {
+                List<Integer> shots = new ArrayList<>();
+                boolean keepPlaying = true;
+                while (keepPlaying && !future.isDone())
+                {
+                    int target = strategy.chooseTarget(board.knowledge(), random);
+                    if (board.isShot(target)) continue; // Same rule as the board: cells already shot are ignored
+
+                    shots.add(target);
+                    onShot.accept(target);
+                    // The enemy fires again after a hit, while ships remain afloat
+                    keepPlaying = board.shoot(target).isHit() && !board.isDefeated();
+                }
+                future.complete(shots.stream().mapToInt(Integer::intValue).toArray());
+            }
+            catch (Throwable e)
+            {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+    //endregion
+}
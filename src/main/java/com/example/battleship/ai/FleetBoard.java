@@ -0,0 +1,129 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.ShipPlacement;
+import com.example.battleship.models.ShotResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A board kept as bitmasks (see PlacementMasks) instead of Cell objects.
+ * It follows the same rules as Board: a ship is sunk once all its cells are hit,
+ * and cells already shot are rejected.
+ * Headless matches play whole games on it; the enemy turn planner plays a streak
+ * on a copy of the player's board taken mid-game.
+ */
+public final class FleetBoard
+{
+    //region 1. Variables and constants
+    private final int[] shipAt = new int[100]; // Ship of each cell, -1 for water
+    private final long[] shipLo, shipHi;
+    private final int[] shipSize;
+
+    // What the shooter knows
+    private long missLo, missHi, hitLo, hitHi, sunkLo, sunkHi;
+    private final int[] remaining = new int[PlacementMasks.MAX_SIZE + 1];
+    private int afloat;
+    //endregion
+
+    /**
+     * A fresh board: nothing shot yet.
+     */
+    public FleetBoard(List<ShipPlacement> fleet)
+    {
+        this(fleet, null);
+    }
+
+    /**
+     * A board already shot at.
+     * @param knowledge The shots so far (consistent with the fleet), or null for a fresh board.
+     */
+    public FleetBoard(List<ShipPlacement> fleet, ShotKnowledge knowledge)
+    {
+        Arrays.fill(shipAt, -1);
+        shipLo = new long[fleet.size()];
+        shipHi = new long[fleet.size()];
+        shipSize = new int[fleet.size()];
+        for (int id = 0; id < fleet.size(); id++)
+        {
+            ShipPlacement ship = fleet.get(id);
+            int origin = PlacementMasks.index(ship.getCol(), ship.getRow());
+            shipLo[id] = PlacementMasks.lo(ship.getSize(), ship.isHorizontal(), origin);
+            shipHi[id] = PlacementMasks.hi(ship.getSize(), ship.isHorizontal(), origin);
+            shipSize[id] = ship.getSize();
+            for (int i = 0; i < ship.getSize(); i++) shipAt[PlacementMasks.index(ship.colAt(i), ship.rowAt(i))] = id;
+            remaining[ship.getSize()]++;
+        }
+        afloat = fleet.size();
+
+        if (knowledge != null)
+        {
+            missLo = knowledge.getMissLo();
+            missHi = knowledge.getMissHi();
+            hitLo = knowledge.getHitLo();
+            hitHi = knowledge.getHitHi();
+            sunkLo = knowledge.getSunkLo();
+            sunkHi = knowledge.getSunkHi();
+            afloat = 0;
+            for (int size = 1; size <= PlacementMasks.MAX_SIZE; size++)
+            {
+                remaining[size] = knowledge.getRemaining(size);
+                afloat += remaining[size];
+            }
+        }
+    }
+
+    /**
+     * Fires at a cell (row * 10 + col).
+     */
+    public ShotResult shoot(int target)
+    {
+        if (target < 0 || target >= 100) return ShotResult.OUT_OF_BOARD;
+        if (isShot(target)) return ShotResult.ALREADY_SHOT;
+
+        int id = shipAt[target];
+        if (id < 0)
+        {
+            if (target < 64) missLo |= 1L << target;
+            else missHi |= 1L << (target - 64);
+            return ShotResult.MISS;
+        }
+
+        if (target < 64) hitLo |= 1L << target;
+        else hitHi |= 1L << (target - 64);
+        if ((hitLo & shipLo[id]) != shipLo[id] || (hitHi & shipHi[id]) != shipHi[id]) return ShotResult.HIT;
+
+        // Sunk: its cells stop being open hits and become known ship cells
+        hitLo &= ~shipLo[id];
+        hitHi &= ~shipHi[id];
+        sunkLo |= shipLo[id];
+        sunkHi |= shipHi[id];
+        remaining[shipSize[id]]--;
+        afloat--;
+        return ShotResult.SUNK;
+    }
+
+    public boolean isDefeated()
+    {
+        return afloat == 0;
+    }
+
+    public int getSunkCount()
+    {
+        return shipSize.length - afloat;
+    }
+
+    public boolean isShot(int target)
+    {
+        return PlacementMasks.isSet(missLo | hitLo | sunkLo, missHi | hitHi | sunkHi, target);
+    }
+
+    /**
+     * What the shooter knows about this board now.
+     */
+    public ShotKnowledge knowledge()
+    {
+        return new ShotKnowledge(missLo, missHi, hitLo, hitHi, sunkLo, sunkHi, remaining);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Precomputed opening line for the enemy AI.
+ * While every shot so far has been water, the best next shot depends only on
+ * the fleet, so it is computed offline (see OpeningBookGenerator) and stored
+ * in a small resource. We memory-map that resource once; each lookup then
+ * costs a few bit operations instead of a density computation.
+ *
+ * The line is stored in canonical form. Any of the 8 board symmetries gives
+ * an equally good line, so we pick one at random at the first move and keep
+ * following whichever symmetries match the shots already made.
+ *
+ * Layout (big-endian): magic "BSOB", version, plies, simulations per ply,
+ * 100 occupancy weights (u16), then the line as one cell index per byte.
+ */
+public final class OpeningBook
+{
+    public static final String RESOURCE = "/com/example/battleship/ai/opening-book.bin";
+    static final int MAGIC = 0x42534F42; // "BSOB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    private static final int[][] SYMMETRIES = buildSymmetries();
+
+    private final ByteBuffer data;
+    private final int plies;
+    private final long simulations;
+
+    private OpeningBook(ByteBuffer data)
+    {
+        this.data = data;
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not an opening book");
+        }
+        this.plies = data.getInt(8);
+        this.simulations = data.getLong(12);
+        if (plies < 0 || plies > 100 || data.capacity() < HEADER_SIZE + 200 + plies) {
+            throw new IllegalArgumentException("Truncated opening book");
+        }
+    }
+
+    /**
+     * Shared instance loaded from the bundled resource.
+     * We fall back to an empty book (no plies) if the resource is missing or damaged.
+     */
+    public static OpeningBook getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final OpeningBook INSTANCE = loadDefault();
+    }
+
+    private static OpeningBook loadDefault() {
+        try {
+            return load(OpeningBook.class.getResource(RESOURCE));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("No se pudo cargar el libro de aperturas: " + e.getMessage());
+            return empty();
+        }
+    }
+
+    /**
+     * Loads a book, memory-mapping it when it lives on the file system
+     * and reading it into a heap buffer when it is packaged inside a jar.
+     */
+    public static OpeningBook load(URL url) throws IOException {
+        if (url == null) throw new IOException("Resource not found: " + RESOURCE);
+
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (java.net.URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return new OpeningBook(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    static OpeningBook empty() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 200);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, 0).putLong(12, 0);
+        return new OpeningBook(buffer);
+    }
+
+    public int getPlies() { return plies; }
+    public long getSimulations() { return simulations; }
+
+    /**
+     * Probability (0..1) that a cell is covered by a randomly deployed fleet.
+     */
+    public double getOccupancy(int index) {
+        return (data.getShort(HEADER_SIZE + index * 2) & 0xFFFF) / 65535.0;
+    }
+
+    private int lineCell(int ply) {
+        return data.get(HEADER_SIZE + 200 + ply) & 0xFF;
+    }
+
+    /**
+     * Returns the book move for the current position, or -1 when out of book.
+     * We stay in book only while all previous shots were water and they match
+     * the first plies of the line under one of the board symmetries.
+     */
+    public int lookup(ShotKnowledge knowledge, Random random) {
+        int ply = knowledge.getShotCount();
+        if (ply >= plies || knowledge.hasOpenHits() || (knowledge.getSunkLo() | knowledge.getSunkHi()) != 0) {
+            return -1;
+        }
+
+        long shotLo = knowledge.getShotLo();
+        long shotHi = knowledge.getShotHi();
+        int chosen = -1;
+        int matches = 0;
+
+        for (int[] symmetry : SYMMETRIES) {
+            long lo = 0, hi = 0;
+            for (int i = 0; i < ply; i++) {
+                int index = symmetry[lineCell(i)];
+                if (index < 64) lo |= 1L << index;
+                else hi |= 1L << (index - 64);
+            }
+            // Several symmetries may fit the same shots; choose uniformly among them
+            if (lo == shotLo && hi == shotHi && random.nextInt(++matches) == 0) {
+                chosen = symmetry[lineCell(ply)];
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * The 8 transformations of the square board (rotations and reflections) as index maps.
+     */
+    private static int[][] buildSymmetries() {
+        int[][] maps = new int[8][100];
+        for (int index = 0; index < 100; index++) {
+            int c = index % 10, r = index / 10;
+            int[][] images = {
+                    {c, r}, {9 - c, r}, {c, 9 - r}, {9 - c, 9 - r},
+                    {r, c}, {9 - r, c}, {r, 9 - c}, {9 - r, 9 - c}
+            };
+            for (int s = 0; s < 8; s++) {
+                maps[s][index] = PlacementMasks.index(images[s][0], images[s][1]);
+            }
+        }
+        return maps;
+    }
+}
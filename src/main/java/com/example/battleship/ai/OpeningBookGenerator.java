@@ -0,0 +1,130 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.ShipFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Offline tool that builds the opening book resource.
+ * We simulate random deployments of the ShipFactory fleet (same procedure as
+ * the enemy uses) and, ply by ply, pick the cell most likely to hold a ship
+ * given that every previous book shot was water. Simulations are split into a
+ * fixed number of work units, each with its own seeded generator, and the units
+ * are spread over all cores, so the output does not depend on the machine.
+ *
+ * Usage: OpeningBookGenerator [output] [plies] [simulationsPerPly] [seed]
+ */
+public class OpeningBookGenerator
+{
+    private static final String DEFAULT_OUTPUT = "src/main/resources" + OpeningBook.RESOURCE;
+    private static final int WORK_UNITS = 64; // Fixed, never derived from the core count
+
+    public static void main(String[] args) throws IOException
+    {
+        Path output = Path.of(args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+        int plies = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        long simulations = args.length > 2 ? Long.parseLong(args[2]) : 200_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 20240601L;
+
+        System.out.println("Generando libro: " + plies + " jugadas, " + simulations
+                + " simulaciones por jugada, " + Runtime.getRuntime().availableProcessors() + " nucleos");
+
+        long start = System.nanoTime();
+        int[] line = new int[plies];
+        long[] initialCounts = null;
+
+        for (int ply = 0; ply < plies; ply++) {
+            long blockedLo = 0, blockedHi = 0;
+            for (int i = 0; i < ply; i++) {
+                if (line[i] < 64) blockedLo |= 1L << line[i];
+                else blockedHi |= 1L << (line[i] - 64);
+            }
+
+            long[] counts = simulate(simulations, seed + ply * 7919L, blockedLo, blockedHi);
+            if (ply == 0) initialCounts = counts;
+
+            int best = -1;
+            for (int index = 0; index < 100; index++) {
+                if (PlacementMasks.isSet(blockedLo, blockedHi, index)) continue;
+                if (best < 0 || counts[index] > counts[best]) best = index;
+            }
+            line[ply] = best;
+            System.out.printf("  jugada %2d -> (%d,%d)  p=%.3f%n", ply, best % 10, best / 10,
+                    counts[best] / (double) simulations);
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, encode(line, initialCounts, simulations));
+        System.out.printf("Libro escrito en %s (%.1f s)%n", output, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Counts how often each cell is occupied over deployments that avoid the blocked cells.
+     * We use rejection sampling so the result is the exact conditional distribution.
+     */
+    private static long[] simulate(long accepted, long seed, long blockedLo, long blockedHi)
+    {
+        return IntStream.range(0, WORK_UNITS).parallel()
+                .mapToObj(unit -> {
+                    SplittableRandom random = new SplittableRandom(seed * 31 + unit);
+                    long share = accepted / WORK_UNITS + (unit < accepted % WORK_UNITS ? 1 : 0);
+                    long[] counts = new long[100];
+                    long[] layout = new long[2];
+
+                    for (long done = 0; done < share; ) {
+                        deploy(random, layout);
+                        if ((layout[0] & blockedLo) != 0 || (layout[1] & blockedHi) != 0) continue;
+                        for (int index = 0; index < 100; index++) {
+                            if (PlacementMasks.isSet(layout[0], layout[1], index)) counts[index]++;
+                        }
+                        done++;
+                    }
+                    return counts;
+                })
+                .reduce(new long[100], (a, b) -> {
+                    long[] sum = new long[100];
+                    for (int i = 0; i < 100; i++) sum[i] = a[i] + b[i];
+                    return sum;
+                });
+    }
+
+    /**
+     * Places the whole fleet at random, retrying until each ship fits.
+     */
+    static void deploy(SplittableRandom random, long[] layout)
+    {
+        long lo = 0, hi = 0;
+        for (int size : ShipFactory.FLEET_SIZES) {
+            while (true) {
+                int origin = random.nextInt(100);
+                boolean horizontal = random.nextBoolean();
+                if (!PlacementMasks.fits(size, horizontal, origin)) continue;
+                long shipLo = PlacementMasks.lo(size, horizontal, origin);
+                long shipHi = PlacementMasks.hi(size, horizontal, origin);
+                if ((shipLo & lo) != 0 || (shipHi & hi) != 0) continue;
+                lo |= shipLo;
+                hi |= shipHi;
+                break;
+            }
+        }
+        layout[0] = lo;
+        layout[1] = hi;
+    }
+
+    static byte[] encode(int[] line, long[] counts, long simulations)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_SIZE + 200 + line.length);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(line.length).putLong(simulations);
+        for (int index = 0; index < 100; index++) {
+            buffer.putShort((short) Math.round(counts[index] * 65535.0 / simulations));
+        }
+        for (int cell : line) buffer.put((byte) cell);
+        return buffer.array();
+    }
+}
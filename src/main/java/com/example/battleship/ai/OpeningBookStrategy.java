@@ -0,0 +1,29 @@
+package com.example.battleship.ai;
+
+import java.util.Random;
+
+/**
+ * Plays from the opening book while the position is in book,
+ * then hands over to another strategy for the rest of the game.
+ */
+public class OpeningBookStrategy implements TargetingStrategy {
+
+    private final OpeningBook book;
+    private final TargetingStrategy fallback;
+
+    public OpeningBookStrategy(OpeningBook book, TargetingStrategy fallback) {
+        this.book = book;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge, Random random) {
+        int move = book.lookup(knowledge, random);
+        return move >= 0 ? move : fallback.chooseTarget(knowledge, random);
+    }
+
+    @Override
+    public String getName() {
+        return "book+" + fallback.getName();
+    }
+}
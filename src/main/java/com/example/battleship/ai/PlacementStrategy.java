@@ -0,0 +1,27 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.ShipPlacement;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Interface (Contract).
+ * Any AI able to deploy the standard fleet (ShipFactory.FLEET_SIZES) on an empty board.
+ */
+public interface PlacementStrategy {
+
+    /**
+     * Deploys the fleet.
+     * @param random The generator of the match, so games stay reproducible.
+     * @return One placement per ship, in the order of ShipFactory.FLEET_SIZES, inside the board and not overlapping.
+     */
+    List<ShipPlacement> place(Random random);
+
+    /**
+     * Short name used in logs and benchmarks.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.battleship.ai;
+
+import java.util.Random;
+
+/**
+ * Original enemy behaviour: fire at a uniformly random cell not shot yet.
+ * We keep it as the baseline the smarter strategies are compared against.
+ */
+public class RandomTargetingStrategy implements TargetingStrategy {
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge, Random random) {
+        int free = 100 - knowledge.getShotCount();
+        int pick = random.nextInt(free);
+
+        for (int index = 0; index < 100; index++) {
+            if (!knowledge.isShot(index) && pick-- == 0) return index;
+        }
+        throw new IllegalStateException("No cells left to shoot");
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+}
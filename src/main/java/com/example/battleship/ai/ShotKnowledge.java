@@ -0,0 +1,109 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.Cell;
+import com.example.battleship.models.CellState;
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.Ship;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Everything a shooter is allowed to know about the board it attacks.
+ * We keep it as bitmasks (see PlacementMasks for the layout): water shots,
+ * hits on ships still afloat, cells of sunk ships, and how many ships of
+ * each size are still afloat. Ship positions are never exposed.
+ */
+public final class ShotKnowledge
+{
+    private final long missLo, missHi;
+    private final long hitLo, hitHi;
+    private final long sunkLo, sunkHi;
+    // remaining[size] = ships of that size still afloat
+    private final int[] remaining;
+
+    public ShotKnowledge(long missLo, long missHi, long hitLo, long hitHi, long sunkLo, long sunkHi, int[] remaining)
+    {
+        this.missLo = missLo;
+        this.missHi = missHi;
+        this.hitLo = hitLo;
+        this.hitHi = hitHi;
+        this.sunkLo = sunkLo;
+        this.sunkHi = sunkHi;
+        this.remaining = remaining.clone();
+    }
+
+    /**
+     * Builds the shooter's view of a logical board indexed as [col][row].
+     * A ship counts as sunk once all its cells are hit, and then all its cells are known.
+     */
+    public static ShotKnowledge fromBoard(Cell[][] board) {
+        long missLo = 0, missHi = 0, hitLo = 0, hitHi = 0, sunkLo = 0, sunkHi = 0;
+        int[] remaining = new int[PlacementMasks.MAX_SIZE + 1];
+        Set<Ship> seen = new HashSet<>();
+
+        for (int col = 0; col < 10; col++) {
+            for (int row = 0; row < 10; row++) {
+                Cell cell = board[col][row];
+                Ship ship = cell.getOccupyingShip();
+                int index = PlacementMasks.index(col, row);
+                long bitLo = index < 64 ? 1L << index : 0;
+                long bitHi = index < 64 ? 0 : 1L << (index - 64);
+
+                if (ship != null && seen.add(ship) && !ship.isSunk()) {
+                    remaining[ship.getSize()]++;
+                }
+
+                if (ship != null && ship.isSunk()) {
+                    sunkLo |= bitLo;
+                    sunkHi |= bitHi;
+                } else if (cell.getState() == CellState.HIT || cell.getState() == CellState.SUNK) {
+                    hitLo |= bitLo;
+                    hitHi |= bitHi;
+                } else if (cell.getState() == CellState.MISSED_SHOT) {
+                    missLo |= bitLo;
+                    missHi |= bitHi;
+                }
+            }
+        }
+        return new ShotKnowledge(missLo, missHi, hitLo, hitHi, sunkLo, sunkHi, remaining);
+    }
+
+    public long getMissLo() { return missLo; }
+    public long getMissHi() { return missHi; }
+    public long getHitLo() { return hitLo; }
+    public long getHitHi() { return hitHi; }
+    public long getSunkLo() { return sunkLo; }
+    public long getSunkHi() { return sunkHi; }
+
+    /** Cells that can no longer hold an undiscovered ship part (water shots and sunk ships). */
+    public long getBlockedLo() { return missLo | sunkLo; }
+    public long getBlockedHi() { return missHi | sunkHi; }
+
+    /** Every cell already fired at. */
+    public long getShotLo() { return missLo | hitLo | sunkLo; }
+    public long getShotHi() { return missHi | hitHi | sunkHi; }
+
+    public boolean isShot(int index) {
+        return PlacementMasks.isSet(getShotLo(), getShotHi(), index);
+    }
+
+    public int getShotCount() {
+        return PlacementMasks.count(getShotLo(), getShotHi());
+    }
+
+    /** Whether some ship has been hit but not sunk yet. */
+    public boolean hasOpenHits() {
+        return (hitLo | hitHi) != 0;
+    }
+
+    public int getRemaining(int size) {
+        return remaining[size];
+    }
+
+    public int getRemainingShips() {
+        int total = 0;
+        for (int count : remaining) total += count;
+        return total;
+    }
+}
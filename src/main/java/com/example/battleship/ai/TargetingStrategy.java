@@ -0,0 +1,25 @@
+package com.example.battleship.ai;
+
+import java.util.Random;
+
+/**
+ * Interface (Contract).
+ * Any AI able to pick the next cell to fire at, using only what the shooter knows.
+ */
+public interface TargetingStrategy {
+
+    /**
+     * Chooses the next target.
+     * @param knowledge What the shooter knows about the opposing board.
+     * @param random The generator of the match, so games stay reproducible.
+     * @return The index (row * 10 + col) of a cell that has not been shot yet.
+     */
+    int chooseTarget(ShotKnowledge knowledge, Random random);
+
+    /**
+     * Short name used in logs and benchmarks.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.ShipFactory;
+import com.example.battleship.models.ShipPlacement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Original enemy deployment: each ship at a random origin and orientation, retried until it fits.
+ * We draw the numbers in the same order as before (column, row, orientation),
+ * so a given seed still deploys the same fleet.
+ */
+public class UniformPlacementStrategy implements PlacementStrategy {
+
+    @Override
+    public List<ShipPlacement> place(Random random) {
+        List<ShipPlacement> fleet = new ArrayList<>(ShipFactory.FLEET_SIZES.length);
+        long lo = 0, hi = 0;
+        for (int size : ShipFactory.FLEET_SIZES) {
+            while (true) {
+                int col = random.nextInt(10);
+                int row = random.nextInt(10);
+                boolean horizontal = random.nextBoolean();
+                int origin = PlacementMasks.index(col, row);
+                if (!PlacementMasks.fits(size, horizontal, origin)) continue;
+
+                long shipLo = PlacementMasks.lo(size, horizontal, origin);
+                long shipHi = PlacementMasks.hi(size, horizontal, origin);
+                if ((shipLo & lo) != 0 || (shipHi & hi) != 0) continue;
+                lo |= shipLo;
+                hi |= shipHi;
+                fleet.add(new ShipPlacement(size, col, row, horizontal));
+                break;
+            }
+        }
+        return fleet;
+    }
+
+    @Override
+    public String getName() {
+        return "uniform";
+    }
+}
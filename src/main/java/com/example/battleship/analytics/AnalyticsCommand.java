@@ -0,0 +1,109 @@
+package com.example.battleship.analytics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints win rates, average shots, player trends and enemy AI figures from the game history.
+ * The structured history holds every match once the old text log has been imported into it
+ * (the game does it at startup); until then the text log is read directly.
+ * The accuracy of both sides comes from the archive of finished games (see ArchiveStats).
+ * Runs without the user interface.
+ *
+ * Usage: Launcher --analytics [textLog] [history.tsv] [archive.bsa]
+ *        Launcher --import-stats [textLog] [history.tsv]
+ */
+public class AnalyticsCommand
+{
+    private static final String DEFAULT_TEXT_LOG = "game_stats.txt";
+    private static final String DEFAULT_HISTORY = "game_history.tsv";
+    private static final Path DEFAULT_ARCHIVE = Path.of("replays", "games.bsa");
+    private static final int TOP_PLAYERS = 20;
+
+    public static void main(String[] args) throws IOException
+    {
+        Path textLog = Path.of(args.length > 0 ? args[0] : DEFAULT_TEXT_LOG);
+        Path history = Path.of(args.length > 1 ? args[1] : DEFAULT_HISTORY);
+        Path archive = args.length > 2 ? Path.of(args[2]) : DEFAULT_ARCHIVE;
+
+        long start = System.nanoTime();
+        boolean imported = Files.exists(history);
+        HistoryStats stats = imported
+                ? HistoryAnalyzer.analyze(history, HistoryAnalyzer.Format.TSV)
+                : HistoryAnalyzer.analyze(textLog, HistoryAnalyzer.Format.LEGACY_TEXT);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Historial: " + (imported ? history : textLog) + " (" + millis + " ms)");
+        System.out.printf("Partidas: %d (victorias %d, derrotas %d), lineas invalidas: %d%n",
+                stats.getGames(), stats.getWins(), stats.getLosses(), stats.getMalformed());
+        System.out.printf("Porcentaje de victorias: %.1f%%, disparos promedio: %s%n",
+                stats.getWinRate() * 100, format(stats.getAverageShots()));
+
+        System.out.println();
+        System.out.println("Jugadores (ultimas " + HistoryStats.RECENT + " partidas como tendencia):");
+        List<Map.Entry<String, HistoryStats.PlayerStats>> players = new ArrayList<>(stats.getPlayers().entrySet());
+        players.sort(Comparator.comparingLong((Map.Entry<String, HistoryStats.PlayerStats> entry) -> entry.getValue().getGames()).reversed());
+        for (Map.Entry<String, HistoryStats.PlayerStats> entry : players.subList(0, Math.min(TOP_PLAYERS, players.size())))
+        {
+            HistoryStats.PlayerStats player = entry.getValue();
+            double trend = player.getRecentWinRate() - player.getWinRate();
+            System.out.printf("  %-20s partidas %5d  victorias %5.1f%%  disparos %6s  recientes %5.1f%% (%+.1f)%n",
+                    entry.getKey(), player.getGames(), player.getWinRate() * 100, format(player.getAverageShots()),
+                    player.getRecentWinRate() * 100, trend * 100);
+        }
+        if (players.size() > TOP_PLAYERS) System.out.println("  ... y " + (players.size() - TOP_PLAYERS) + " mas");
+
+        System.out.println();
+        System.out.println("IA enemiga:");
+        for (Map.Entry<String, HistoryStats.AiStats> entry : stats.getStrategies().entrySet())
+        {
+            HistoryStats.AiStats ai = entry.getValue();
+            String name = entry.getKey().equals("-") ? "(sin registrar)" : entry.getKey();
+            System.out.printf("  %-30s partidas %5d  gana %5.1f%%  disparos para ganar %6s%n",
+                    name, ai.getGames(), ai.getWinRate() * 100, format(ai.getAverageShotsToWin()));
+        }
+
+        start = System.nanoTime();
+        ArchiveStats archived = HistoryAnalyzer.analyzeArchive(archive);
+        millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println();
+        System.out.println("Archivo de partidas: " + archive + " (" + millis + " ms)");
+        System.out.printf("  Partidas finales: %d (victorias del jugador %.1f%%), repeticiones: %d, entradas invalidas: %d%n",
+                archived.getFinalGames(), archived.getPlayerWinRate() * 100, archived.getReplays(), archived.getMalformed());
+        System.out.printf("  Precision: jugador %s, IA enemiga %s%n",
+                percent(archived.getPlayerAccuracy()), percent(archived.getEnemyAccuracy()));
+        System.out.printf("  Disparos hasta el primer acierto: jugador %s, IA enemiga %s; movimientos por partida %s%n",
+                format(archived.getPlayerShotsToFirstHit()), format(archived.getEnemyShotsToFirstHit()), format(archived.getAverageMoves()));
+    }
+
+    /**
+     * Imports the text log into a new history and reports the malformed lines.
+     */
+    public static void importStats(String[] args) throws IOException
+    {
+        Path textLog = Path.of(args.length > 0 ? args[0] : DEFAULT_TEXT_LOG);
+        Path history = Path.of(args.length > 1 ? args[1] : DEFAULT_HISTORY);
+        LegacyLogImporter.Report report = LegacyLogImporter.importLog(textLog, history);
+        System.out.println(textLog + " -> " + history + ": " + report);
+        for (String sample : report.getSamples()) System.out.println("  " + sample);
+        if (report.getMalformed() > report.getSamples().size())
+        {
+            System.out.println("  ... y " + (report.getMalformed() - report.getSamples().size()) + " mas");
+        }
+    }
+
+    private static String format(double value)
+    {
+        return Double.isNaN(value) ? "-" : String.format("%.1f", value);
+    }
+
+    private static String percent(double fraction)
+    {
+        return Double.isNaN(fraction) ? "-" : String.format("%.1f%%", fraction * 100);
+    }
+}
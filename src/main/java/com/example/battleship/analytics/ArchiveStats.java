@@ -0,0 +1,116 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.BoardSnapshot;
+import com.example.battleship.models.GameSnapshot;
+import com.example.battleship.models.PlacementMasks;
+import com.example.battleship.models.Replay;
+import com.example.battleship.models.ShipPlacement;
+
+import java.util.List;
+
+/**
+ * Aggregated figures of the finished games kept in a GameArchive.
+ * Final saves give the result and the accuracy of both sides (their shot planes);
+ * replays give the order of the shots, so how long each side took to find a first ship.
+ * Neither records which enemy AI played, so the enemy is measured as a whole.
+ */
+public final class ArchiveStats
+{
+    //region 1. Variables
+    private long finalGames, playerWins;
+    private long playerShots, playerHits, enemyShots, enemyHits;
+    private long replays, moves;
+    private long playerSearches, playerSearchShots, enemySearches, enemySearchShots;
+    private long malformed;
+    //endregion
+
+    //region 2. Adding games
+
+    /**
+     * Adds the final state of a match.
+     */
+    public void addFinalSave(GameSnapshot snapshot)
+    {
+        finalGames++;
+        if (snapshot.getEnemyBoard().getSunkCount() >= snapshot.getEnemyBoard().getFleet().size()) playerWins++;
+        playerShots += shots(snapshot.getEnemyBoard());
+        playerHits += PlacementMasks.count(snapshot.getEnemyBoard().getHitLo(), snapshot.getEnemyBoard().getHitHi());
+        enemyShots += shots(snapshot.getPlayerBoard());
+        enemyHits += PlacementMasks.count(snapshot.getPlayerBoard().getHitLo(), snapshot.getPlayerBoard().getHitHi());
+    }
+
+    /**
+     * Adds a replay: the shots each side fired up to its first hit.
+     */
+    public void addReplay(Replay replay)
+    {
+        replays++;
+        moves += replay.getMoveCount();
+        long[] playerShips = cells(replay.getPlayerFleet());
+        long[] enemyShips = cells(replay.getEnemyFleet());
+        int playerFired = 0, enemyFired = 0;
+        boolean playerFound = false, enemyFound = false;
+        for (int move = 0; move < replay.getMoveCount() && !(playerFound && enemyFound); move++)
+        {
+            int index = PlacementMasks.index(replay.getShotCol(move), replay.getShotRow(move));
+            if (replay.isEnemyShot(move))
+            {
+                if (enemyFound) continue;
+                enemyFired++;
+                enemyFound = PlacementMasks.isSet(playerShips[0], playerShips[1], index);
+            }
+            else
+            {
+                if (playerFound) continue;
+                playerFired++;
+                playerFound = PlacementMasks.isSet(enemyShips[0], enemyShips[1], index);
+            }
+        }
+        if (playerFound)
+        {
+            playerSearches++;
+            playerSearchShots += playerFired;
+        }
+        if (enemyFound)
+        {
+            enemySearches++;
+            enemySearchShots += enemyFired;
+        }
+    }
+
+    public void addMalformed()
+    {
+        malformed++;
+    }
+
+    private static int shots(BoardSnapshot board)
+    {
+        return PlacementMasks.count(board.getShotLo(), board.getShotHi());
+    }
+
+    // Cells of a fleet as lo/hi masks
+    private static long[] cells(List<ShipPlacement> fleet)
+    {
+        long[] cells = new long[2];
+        for (ShipPlacement ship : fleet)
+        {
+            int origin = PlacementMasks.index(ship.getCol(), ship.getRow());
+            cells[0] |= PlacementMasks.lo(ship.getSize(), ship.isHorizontal(), origin);
+            cells[1] |= PlacementMasks.hi(ship.getSize(), ship.isHorizontal(), origin);
+        }
+        return cells;
+    }
+    //endregion
+
+    //region 3. Figures
+    public long getFinalGames() { return finalGames; }
+    public long getReplays() { return replays; }
+    public long getMalformed() { return malformed; }
+    public double getPlayerWinRate() { return finalGames == 0 ? 0 : (double) playerWins / finalGames; }
+    public double getPlayerAccuracy() { return playerShots == 0 ? Double.NaN : (double) playerHits / playerShots; }
+    public double getEnemyAccuracy() { return enemyShots == 0 ? Double.NaN : (double) enemyHits / enemyShots; }
+    public double getAverageMoves() { return replays == 0 ? Double.NaN : (double) moves / replays; }
+    public double getPlayerShotsToFirstHit() { return playerSearches == 0 ? Double.NaN : (double) playerSearchShots / playerSearches; }
+    public double getEnemyShotsToFirstHit() { return enemySearches == 0 ? Double.NaN : (double) enemySearchShots / enemySearches; }
+    //endregion
+}
@@ -0,0 +1,287 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.GameRecord;
+import com.example.battleship.persistence.GameArchive;
+import com.example.battleship.persistence.ReplayFileManager;
+import com.example.battleship.persistence.SnapshotCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streams game history files and aggregates them in parallel.
+ * We split a file into chunks that start and end at line boundaries, and every chunk
+ * is read by its own task through a memory-mapped window (see MappedLines),
+ * so a multi-gigabyte log is processed with bounded memory at the speed of the disk.
+ * The per-chunk results are merged in file order (see HistoryStats).
+ * The archive of finished games is read in one sequential pass instead (see GameArchive).
+ */
+public class HistoryAnalyzer
+{
+    //region 1. Variables and constants
+
+    /**
+     * How the lines of a file are read.
+     */
+    public enum Format
+    {
+        LEGACY_TEXT, // game_stats.txt
+        TSV          // game_history.tsv
+    }
+
+    private static final long MIN_CHUNK = 1L << 20; // Smaller files are not worth splitting further
+    //endregion
+
+    //region 2. Analysis
+
+    /**
+     * Aggregates a whole file. A missing file is an empty history.
+     */
+    public static HistoryStats analyze(Path file, Format format) throws IOException
+    {
+        if (!Files.exists(file)) return new HistoryStats();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            int parts = (int) Math.max(1, Math.min(channel.size() / MIN_CHUNK, ForkJoinPool.getCommonPoolParallelism() * 4L));
+            List<long[]> chunks = split(channel, parts);
+            // An ordered parallel stream: reduce keeps the chunks in file order
+            return chunks.parallelStream()
+                    .map(chunk -> analyzeChunk(channel, chunk[0], chunk[1], format))
+                    .reduce(HistoryStats::merge)
+                    .orElseGet(HistoryStats::new);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Aggregates the final saves and replays of a game archive, streaming its blocks in file order.
+     * A missing archive is empty; entries that cannot be decoded are counted as malformed.
+     */
+    public static ArchiveStats analyzeArchive(Path file) throws IOException
+    {
+        ArchiveStats stats = new ArchiveStats();
+        if (!Files.exists(file)) return stats;
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            archive.stream((entry, data) ->
+            {
+                try
+                {
+                    if (entry.getType() == GameArchive.SAVE) stats.addFinalSave(SnapshotCodec.decode(ByteBuffer.wrap(data)));
+                    else stats.addReplay(ReplayFileManager.decode(data));
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    stats.addMalformed();
+                }
+            });
+        }
+        return stats;
+    }
+
+    /**
+     * Splits the file into about the given number of [start, end) ranges, each ending just after a line break.
+     */
+    static List<long[]> split(FileChannel channel, int parts) throws IOException
+    {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>(parts);
+        long start = 0;
+        for (int i = 1; i <= parts && start < size; i++)
+        {
+            long end = i == parts ? size : nextLineStart(channel, size * i / parts);
+            if (end <= start) continue;
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    // Offset just after the first line break at or after the position (or the file size)
+    private static long nextLineStart(FileChannel channel, long position) throws IOException
+    {
+        long size = channel.size();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (position < size)
+        {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++)
+            {
+                if (probe.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Aggregates the lines of one chunk (see MappedLines).
+     */
+    private static HistoryStats analyzeChunk(FileChannel channel, long start, long end, Format format)
+    {
+        HistoryStats stats = new HistoryStats();
+        try
+        {
+            MappedLines.forEach(channel, start, end, format == Format.TSV ? new TsvLines(stats) : new LegacyLines(stats));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return stats;
+    }
+
+    /**
+     * Lines of game_history.tsv.
+     */
+    private static final class TsvLines implements MappedLines.LineHandler
+    {
+        private final HistoryStats stats;
+        private byte[] line = new byte[256];
+
+        TsvLines(HistoryStats stats)
+        {
+            this.stats = stats;
+        }
+
+        @Override
+        public void line(MappedByteBuffer window, int from, int to)
+        {
+            if (to > from && window.get(to - 1) == '\r') to--;
+            int length = to - from;
+            if (length == 0 || window.get(from) == '#') return; // Blank or comment (header)
+            if (length > line.length) line = new byte[Math.max(length, line.length * 2)];
+            window.get(from, line, 0, length);
+
+            GameRecord record = GameRecord.fromTsv(new String(line, 0, length, StandardCharsets.UTF_8));
+            if (record == null) stats.addMalformed();
+            else stats.add(record);
+        }
+
+        @Override
+        public void tooLong()
+        {
+            stats.addMalformed();
+        }
+    }
+
+    /**
+     * Lines of the old text log, parsed from their bytes; each player name becomes a String only once per chunk.
+     */
+    private static final class LegacyLines implements MappedLines.LineHandler
+    {
+        private final HistoryStats stats;
+        private final LegacyLineParser parser = new LegacyLineParser();
+        private final NameTable names = new NameTable();
+
+        LegacyLines(HistoryStats stats)
+        {
+            this.stats = stats;
+        }
+
+        @Override
+        public void line(MappedByteBuffer window, int from, int to)
+        {
+            switch (parser.parse(window, from, to))
+            {
+                case LegacyLineParser.RECORD:
+                    String player = names.get(window, parser.nameStart, parser.nameEnd);
+                    stats.add(new GameRecord(0, player, parser.outcome, parser.sunk, -1, -1, null));
+                    break;
+                case LegacyLineParser.MALFORMED:
+                    stats.addMalformed();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void tooLong()
+        {
+            stats.addMalformed();
+        }
+    }
+
+    /**
+     * Strings of the player names seen so far, looked up by their bytes (open addressing).
+     */
+    private static final class NameTable
+    {
+        private byte[][] keys = new byte[64][];
+        private String[] values = new String[64];
+        private int size;
+
+        String get(ByteBuffer in, int from, int to)
+        {
+            int hash = 1;
+            for (int i = from; i < to; i++) hash = 31 * hash + in.get(i);
+            int mask = keys.length - 1;
+            for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask)
+            {
+                byte[] key = keys[slot];
+                if (key == null)
+                {
+                    byte[] name = new byte[to - from];
+                    in.get(from, name);
+                    String value = new String(name, StandardCharsets.UTF_8);
+                    keys[slot] = name;
+                    values[slot] = value;
+                    if (++size * 2 > keys.length) grow();
+                    return value;
+                }
+                if (matches(key, in, from, to)) return values[slot];
+            }
+        }
+
+        private static int mix(int hash)
+        {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer in, int from, int to)
+        {
+            if (key.length != to - from) return false;
+            for (int i = 0; i < key.length; i++)
+            {
+                if (key[i] != in.get(from + i)) return false;
+            }
+            return true;
+        }
+
+        private void grow()
+        {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++)
+            {
+                if (oldKeys[i] == null) continue;
+                int hash = 1;
+                for (byte b : oldKeys[i]) hash = 31 * hash + b;
+                int slot = mix(hash) & mask;
+                while (keys[slot] != null) slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,153 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.GameRecord;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregated figures of a stretch of game history.
+ * Each parallel task fills its own instance for its chunk of the log and the
+ * instances are then merged in file order, so nothing is shared or locked.
+ * Memory depends on the number of players and strategies, never on the log size.
+ */
+public final class HistoryStats
+{
+    //region 1. Per player and per strategy
+    static final int RECENT = 20; // Matches in a player's trend window
+
+    /**
+     * Figures of one player, including the results of their latest matches (as bits, 1 = win).
+     */
+    public static final class PlayerStats
+    {
+        long games, wins, shotGames, shots;
+        long recent;
+        int recentCount;
+
+        void add(GameRecord record)
+        {
+            games++;
+            boolean won = record.getOutcome() == GameRecord.Outcome.WIN;
+            if (won) wins++;
+            if (record.getPlayerShots() >= 0)
+            {
+                shotGames++;
+                shots += record.getPlayerShots();
+            }
+            recent = (recent << 1 | (won ? 1 : 0)) & ((1L << RECENT) - 1);
+            recentCount = Math.min(RECENT, recentCount + 1);
+        }
+
+        // later comes after this one in the history
+        void merge(PlayerStats later)
+        {
+            games += later.games;
+            wins += later.wins;
+            shotGames += later.shotGames;
+            shots += later.shots;
+            recent = (recent << later.recentCount | later.recent) & ((1L << RECENT) - 1);
+            recentCount = Math.min(RECENT, recentCount + later.recentCount);
+        }
+
+        public long getGames() { return games; }
+        public long getWins() { return wins; }
+        public double getWinRate() { return games == 0 ? 0 : (double) wins / games; }
+        public double getAverageShots() { return shotGames == 0 ? Double.NaN : (double) shots / shotGames; }
+        public int getRecentCount() { return recentCount; }
+        public double getRecentWinRate() { return recentCount == 0 ? 0 : (double) Long.bitCount(recent) / recentCount; }
+    }
+
+    /**
+     * Figures of one enemy strategy. A win of the strategy is a loss of the player.
+     */
+    public static final class AiStats
+    {
+        long games, wins, winShotGames, winShots;
+
+        void add(GameRecord record)
+        {
+            games++;
+            if (record.getOutcome() != GameRecord.Outcome.LOSS) return;
+            wins++;
+            if (record.getEnemyShots() >= 0)
+            {
+                winShotGames++;
+                winShots += record.getEnemyShots();
+            }
+        }
+
+        void merge(AiStats other)
+        {
+            games += other.games;
+            wins += other.wins;
+            winShotGames += other.winShotGames;
+            winShots += other.winShots;
+        }
+
+        public long getGames() { return games; }
+        public double getWinRate() { return games == 0 ? 0 : (double) wins / games; }
+        public double getAverageShotsToWin() { return winShotGames == 0 ? Double.NaN : (double) winShots / winShotGames; }
+    }
+    //endregion
+
+    //region 2. Totals
+    private long games, wins, losses, malformed, shotGames, shots;
+    private final Map<String, PlayerStats> players = new HashMap<>();
+    private final Map<String, AiStats> strategies = new HashMap<>();
+
+    public void add(GameRecord record)
+    {
+        games++;
+        if (record.getOutcome() == GameRecord.Outcome.WIN) wins++;
+        else if (record.getOutcome() == GameRecord.Outcome.LOSS) losses++;
+        if (record.getPlayerShots() >= 0)
+        {
+            shotGames++;
+            shots += record.getPlayerShots();
+        }
+        players.computeIfAbsent(record.getPlayer(), name -> new PlayerStats()).add(record);
+        strategies.computeIfAbsent(record.getStrategy(), name -> new AiStats()).add(record);
+    }
+
+    public void addMalformed()
+    {
+        malformed++;
+    }
+
+    /**
+     * Adds the figures of the history that follows this one. Associative, so chunks can be merged in any grouping
+     * as long as their order is kept (player trends depend on it).
+     */
+    public HistoryStats merge(HistoryStats later)
+    {
+        games += later.games;
+        wins += later.wins;
+        losses += later.losses;
+        malformed += later.malformed;
+        shotGames += later.shotGames;
+        shots += later.shots;
+        later.players.forEach((name, stats) ->
+        {
+            PlayerStats mine = players.get(name);
+            if (mine == null) players.put(name, stats);
+            else mine.merge(stats);
+        });
+        later.strategies.forEach((name, stats) -> strategies.merge(name, stats, (mine, other) ->
+        {
+            mine.merge(other);
+            return mine;
+        }));
+        return this;
+    }
+
+    public long getGames() { return games; }
+    public long getWins() { return wins; }
+    public long getLosses() { return losses; }
+    public long getMalformed() { return malformed; }
+    public double getWinRate() { return games == 0 ? 0 : (double) wins / games; }
+    public double getAverageShots() { return shotGames == 0 ? Double.NaN : (double) shots / shotGames; }
+    public Map<String, PlayerStats> getPlayers() { return players; }
+    public Map<String, AiStats> getStrategies() { return strategies; }
+    //endregion
+}
@@ -0,0 +1,175 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.GameRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses lines of the old text log (game_stats.txt) straight from their UTF-8 bytes.
+ * We never build a String per line: the fixed parts are compared byte by byte, the
+ * number is read digit by digit and the player name is left as a byte range, which the
+ * importer copies as is and the analytics turn into a String once per distinct player.
+ * The separators are ASCII, and in UTF-8 ASCII bytes never occur inside a multi-byte
+ * character, so names such as "ALSDÑ" are never split; they are checked to be valid UTF-8.
+ *
+ * The log has had two formats: "Jugador: X | Barcos Hundidos: N" (no result: it was only
+ * written when a match ended, so 10 means a win) and "Jugador: X | Hundidos: N | Resultado: R".
+ * Results were then logged twice per match ("GANADOR" and then the "¡VICTORIA!" title,
+ * or "PERDEDOR" and "DERROTA"), so the first line of each pair is a duplicate;
+ * older versions wrote only the title line.
+ */
+final class LegacyLineParser
+{
+    //region 1. Variables and constants
+    static final int RECORD = 0, DUPLICATE = 1, BLANK = 2, MALFORMED = 3;
+
+    private static final byte[] PLAYER = bytes("Jugador: ");
+    private static final byte[] SEPARATOR = bytes(" | ");
+    private static final byte[] OLD_SUNK = bytes("Barcos Hundidos: ");
+    private static final byte[] SUNK = bytes("Hundidos: ");
+    private static final byte[] RESULT = bytes("Resultado: ");
+    private static final byte[] VICTORY = bytes("¡VICTORIA!");
+    private static final byte[] WINNER = bytes("GANADOR");
+    private static final byte[] DEFEAT = bytes("DERROTA");
+    private static final byte[] LOSER = bytes("PERDEDOR");
+
+    // Result of the last RECORD parse
+    int nameStart, nameEnd;
+    int sunk;
+    GameRecord.Outcome outcome;
+    //endregion
+
+    private static byte[] bytes(String text)
+    {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    //region 2. Parsing
+
+    /**
+     * Parses the line in[from, to), without its line break.
+     * @return RECORD (fields set), DUPLICATE, BLANK or MALFORMED.
+     */
+    int parse(ByteBuffer in, int from, int to)
+    {
+        if (to > from && in.get(to - 1) == '\r') to--;
+        if (isBlank(in, from, to)) return BLANK;
+        if (!startsWith(in, from, to, PLAYER)) return MALFORMED;
+
+        nameStart = from + PLAYER.length;
+        nameEnd = indexOf(in, nameStart, to, SEPARATOR);
+        if (nameEnd < 0 || !isValidUtf8(in, nameStart, nameEnd)) return MALFORMED;
+
+        int pos = nameEnd + SEPARATOR.length;
+        boolean oldFormat = startsWith(in, pos, to, OLD_SUNK);
+        if (oldFormat) pos += OLD_SUNK.length;
+        else if (startsWith(in, pos, to, SUNK)) pos += SUNK.length;
+        else return MALFORMED;
+
+        // Ships sunk: one or two digits
+        int digitsStart = pos;
+        sunk = 0;
+        while (pos < to && pos - digitsStart < 3)
+        {
+            int digit = in.get(pos) - '0';
+            if (digit < 0 || digit > 9) break;
+            sunk = sunk * 10 + digit;
+            pos++;
+        }
+        if (pos == digitsStart || sunk > 10) return MALFORMED;
+
+        if (oldFormat)
+        {
+            if (pos != to) return MALFORMED;
+            outcome = sunk >= 10 ? GameRecord.Outcome.WIN : GameRecord.Outcome.LOSS;
+            return RECORD;
+        }
+        if (!startsWith(in, pos, to, SEPARATOR)) return MALFORMED;
+        pos += SEPARATOR.length;
+        if (!startsWith(in, pos, to, RESULT)) return MALFORMED;
+        pos += RESULT.length;
+
+        if (equals(in, pos, to, WINNER) || equals(in, pos, to, LOSER)) return DUPLICATE;
+        if (equals(in, pos, to, VICTORY)) outcome = GameRecord.Outcome.WIN;
+        else if (equals(in, pos, to, DEFEAT)) outcome = GameRecord.Outcome.LOSS;
+        else if (isValidUtf8(in, pos, to)) outcome = GameRecord.Outcome.UNKNOWN;
+        else return MALFORMED;
+        return RECORD;
+    }
+    //endregion
+
+    //region 3. Byte helpers
+
+    private static boolean isBlank(ByteBuffer in, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            byte b = in.get(i);
+            if (b != ' ' && b != '\t') return false;
+        }
+        return true;
+    }
+
+    private static boolean startsWith(ByteBuffer in, int from, int to, byte[] prefix)
+    {
+        if (to - from < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++)
+        {
+            if (in.get(from + i) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean equals(ByteBuffer in, int from, int to, byte[] text)
+    {
+        return to - from == text.length && startsWith(in, from, to, text);
+    }
+
+    // First position of the pattern in [from, to), or -1
+    private static int indexOf(ByteBuffer in, int from, int to, byte[] pattern)
+    {
+        byte first = pattern[0];
+        for (int i = from; i <= to - pattern.length; i++)
+        {
+            if (in.get(i) == first && startsWith(in, i, to, pattern)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks that the bytes are well-formed UTF-8 (ASCII takes the fast path).
+     */
+    static boolean isValidUtf8(ByteBuffer in, int from, int to)
+    {
+        int i = from;
+        while (i < to)
+        {
+            int b = in.get(i) & 0xFF;
+            if (b < 0x80)
+            {
+                i++;
+                continue;
+            }
+            int extra;
+            int min;
+            if (b >= 0xC2 && b <= 0xDF) { extra = 1; min = 0x80; }
+            else if (b >= 0xE0 && b <= 0xEF) { extra = 2; min = 0x800; }
+            else if (b >= 0xF0 && b <= 0xF4) { extra = 3; min = 0x10000; }
+            else return false;
+            if (i + extra >= to) return false; // Character cut short
+
+            int code = b & (0x3F >> extra);
+            for (int k = 1; k <= extra; k++)
+            {
+                int next = in.get(i + k) & 0xFF;
+                if ((next & 0xC0) != 0x80) return false;
+                code = code << 6 | (next & 0x3F);
+            }
+            if (code < min || code > 0x10FFFF || (code >= 0xD800 && code <= 0xDFFF)) return false;
+            i += extra + 1;
+        }
+        return true;
+    }
+    //endregion
+}
@@ -0,0 +1,189 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.GameRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves the old text log (game_stats.txt) into the structured game history.
+ * We memory-map the log and parse it byte by byte (see LegacyLineParser); every record
+ * is written to a reused direct buffer by copying the name bytes as they are, so no
+ * String is created per line and the import runs at memory speed.
+ * The history is written to a temporary file and moved into place when complete,
+ * so an interrupted import leaves no partial history behind.
+ */
+public final class LegacyLogImporter
+{
+    //region 1. Variables and constants
+    private static final int OUT_CAPACITY = 1 << 20;
+    private static final int MAX_SAMPLES = 20; // Malformed lines quoted in the report
+
+    /**
+     * What an import found.
+     */
+    public static final class Report
+    {
+        long lines, records, duplicates, malformed, bytes, nanos;
+        final List<String> samples = new ArrayList<>();
+
+        public long getLines() { return lines; }
+        public long getRecords() { return records; }
+        public long getDuplicates() { return duplicates; }
+        public long getMalformed() { return malformed; }
+        public long getBytes() { return bytes; }
+        public long getNanos() { return nanos; }
+
+        /**
+         * The first malformed lines, as "line N: text".
+         */
+        public List<String> getSamples() { return Collections.unmodifiableList(samples); }
+
+        @Override
+        public String toString()
+        {
+            double seconds = nanos / 1e9;
+            return String.format("%d lineas, %d partidas, %d duplicadas, %d invalidas (%.1f MB/s)",
+                    lines, records, duplicates, malformed, seconds > 0 ? bytes / 1e6 / seconds : 0);
+        }
+    }
+    //endregion
+
+    private LegacyLogImporter()
+    {
+    }
+
+    //region 2. Import
+
+    /**
+     * Creates the history from the text log. The history must not exist yet.
+     */
+    public static Report importLog(Path textLog, Path history) throws IOException
+    {
+        if (Files.exists(history)) throw new FileAlreadyExistsException(history.toString(), null, "el historial ya existe");
+        Path temp = history.resolveSibling(history.getFileName() + ".tmp");
+        long start = System.nanoTime();
+        Report report = new Report();
+
+        try (FileChannel in = FileChannel.open(textLog, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            report.bytes = in.size();
+            RecordWriter writer = new RecordWriter(out, report);
+            writer.header("# importado de " + textLog.getFileName() + "\n");
+            MappedLines.forEach(in, 0, in.size(), writer);
+            writer.flush();
+            out.force(true);
+        }
+        Files.move(temp, history, StandardCopyOption.ATOMIC_MOVE);
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Parses each line and encodes its record as a history line.
+     */
+    private static final class RecordWriter implements MappedLines.LineHandler
+    {
+        private static final byte[] UNKNOWN_TAIL = "\t-1\t-1\t-\n".getBytes(StandardCharsets.US_ASCII);
+
+        private final FileChannel out;
+        private final Report report;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(OUT_CAPACITY);
+        private final LegacyLineParser parser = new LegacyLineParser();
+
+        RecordWriter(FileChannel out, Report report)
+        {
+            this.out = out;
+            this.report = report;
+        }
+
+        void header(String text) throws IOException
+        {
+            reserve(text.length() * 3);
+            buffer.put(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void line(MappedByteBuffer window, int from, int to) throws IOException
+        {
+            report.lines++;
+            switch (parser.parse(window, from, to))
+            {
+                case LegacyLineParser.RECORD:
+                    report.records++;
+                    write(window);
+                    break;
+                case LegacyLineParser.DUPLICATE:
+                    report.duplicates++;
+                    break;
+                case LegacyLineParser.MALFORMED:
+                    malformed(window, from, to);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void tooLong()
+        {
+            report.lines++;
+            report.malformed++;
+            if (report.samples.size() < MAX_SAMPLES) report.samples.add("linea " + report.lines + ": (demasiado larga)");
+        }
+
+        // Time unknown (0), name, outcome, ships sunk, then unknown shots and strategy
+        private void write(MappedByteBuffer window) throws IOException
+        {
+            int nameLength = parser.nameEnd - parser.nameStart;
+            reserve(nameLength + 32);
+            buffer.put((byte) '0').put((byte) '\t');
+            for (int i = parser.nameStart; i < parser.nameEnd; i++)
+            {
+                byte b = window.get(i);
+                buffer.put(b == '\t' || b == '\r' ? (byte) ' ' : b);
+            }
+            buffer.put((byte) '\t');
+            buffer.put((byte) (parser.outcome == GameRecord.Outcome.WIN ? 'W' : parser.outcome == GameRecord.Outcome.LOSS ? 'L' : '?'));
+            buffer.put((byte) '\t');
+            if (parser.sunk >= 10) buffer.put((byte) ('0' + parser.sunk / 10));
+            buffer.put((byte) ('0' + parser.sunk % 10));
+            buffer.put(UNKNOWN_TAIL);
+        }
+
+        private void malformed(MappedByteBuffer window, int from, int to)
+        {
+            report.malformed++;
+            if (report.samples.size() >= MAX_SAMPLES) return;
+            byte[] text = new byte[Math.min(to - from, 120)];
+            window.get(from, text);
+            report.samples.add("linea " + report.lines + ": " + new String(text, StandardCharsets.UTF_8).trim());
+        }
+
+        private void reserve(int bytes) throws IOException
+        {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining()) out.write(buffer);
+            buffer.clear();
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,79 @@
+package com.example.battleship.analytics;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Walks the lines of a file region through a sliding memory-mapped window.
+ * Lines are handed over as byte ranges of the window, without their line break
+ * and without copying, so memory stays at one window however large the file is.
+ */
+final class MappedLines
+{
+    static final long WINDOW = 16L << 20; // Mapped at a time
+    static final int MAX_LINE = 64 << 10; // Longer lines are reported as too long
+
+    interface LineHandler
+    {
+        /**
+         * A line in window[from, to), line break excluded.
+         */
+        void line(MappedByteBuffer window, int from, int to) throws IOException;
+
+        /**
+         * A line longer than MAX_LINE, which is skipped.
+         */
+        void tooLong() throws IOException;
+    }
+
+    private MappedLines()
+    {
+    }
+
+    /**
+     * Visits the lines of [start, end); start must be the beginning of a line.
+     */
+    static void forEach(FileChannel channel, long start, long end, LineHandler handler) throws IOException
+    {
+        boolean skipping = false; // Inside a line that was too long
+        long position = start;
+        while (position < end)
+        {
+            int length = (int) Math.min(WINDOW, end - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            boolean last = position + length == end;
+            int lineStart = 0;
+            for (int i = 0; i < length; i++)
+            {
+                if (window.get(i) != '\n') continue;
+                if (skipping) skipping = false;
+                else if (i - lineStart > MAX_LINE) handler.tooLong();
+                else handler.line(window, lineStart, i);
+                lineStart = i + 1;
+            }
+
+            if (last)
+            {
+                // A last line without a line break
+                if (lineStart < length && !skipping)
+                {
+                    if (length - lineStart > MAX_LINE) handler.tooLong();
+                    else handler.line(window, lineStart, length);
+                }
+                break;
+            }
+            if (lineStart == 0 || length - lineStart > MAX_LINE)
+            {
+                // The rest of the window is part of one long line: skip it
+                if (!skipping) handler.tooLong();
+                skipping = true;
+                position += length;
+            }
+            else
+            {
+                position += lineStart;
+            }
+        }
+    }
+}
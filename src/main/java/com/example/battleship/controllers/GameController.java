@@ -1,12 +1,28 @@
 package com.example.battleship.controllers;
 
+import com.example.battleship.ai.AntiDensityPlacementStrategy;
+import com.example.battleship.ai.DensityTargetingStrategy;
+import com.example.battleship.ai.EndgameSolverStrategy;
+import com.example.battleship.ai.EnemyStreakPlanner;
+import com.example.battleship.ai.OpeningBook;
+import com.example.battleship.ai.OpeningBookStrategy;
+import com.example.battleship.ai.PlacementStrategy;
+import com.example.battleship.ai.TargetingStrategy;
 import com.example.battleship.exceptions.InvalidMoveException;
 import com.example.battleship.models.*;
+import com.example.battleship.views.BoardScaler;
 import com.example.battleship.views.BoardVisualizer;
 import com.example.battleship.views.CanvasShipRenderer;
+import com.example.battleship.views.PerformanceOverlay;
+import com.example.battleship.views.ShipImageCache;
 import com.example.battleship.views.ShipRenderer;
 import com.example.battleship.persistence.GameFileManager;
+import com.example.battleship.persistence.HeatmapFileManager;
+import com.example.battleship.persistence.ReplayFileManager;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
 import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -15,17 +31,21 @@ import javafx.fxml.Initializable;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import java.net.URL;
-import java.util.Random;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Main Controller for the Battleship Game.
@@ -36,31 +56,37 @@ public class GameController implements Initializable
     //region 1. Variables and fields
     // --- Constants ---
     private final ShipRenderer shipRenderer = new CanvasShipRenderer(); // We use interface logic to create a new render
-    private final double cellSize = 40.0; // Pixel size of a single grid cell
+    static final double CELL_SIZE = 40.0; // Pixel size of a single grid cell
+    private final double cellSize = CELL_SIZE;
+    // Games needed before the player's placement habits replace the opening book
+    private static final int MIN_HEATMAP_GAMES = 3;
+
 
     // --- FXML Layout Elements ---
-    @FXML private javafx.scene.layout.StackPane rootPane;
-    @FXML private Pane shipsPane;       // Pane for player's ships and interaction
-    @FXML private Pane enemyShipsPane;  // Pane for enemy's ships (visuals/debug)
-    @FXML private CheckBox debugCheckBox; // Debug mode toggle
-    @FXML private Button playButton;    // Button to start the game
+    @FXML javafx.scene.layout.StackPane rootPane;
+    @FXML Pane shipsPane;       // Pane for player's ships and interaction
+    @FXML Pane enemyShipsPane;  // Pane for enemy's ships (visuals/debug)
+    @FXML CheckBox debugCheckBox; // Debug mode toggle
+    @FXML CheckBox performanceCheckBox; // Profiler overlay toggle
+    @FXML Button playButton;    // Button to start the game
 
     // --- Ship Canvases (Draggable Sources) ---
-    @FXML private Canvas carrierCanvas;
-    @FXML private Canvas submarineCanvas1, submarineCanvas2;
-    @FXML private Canvas destroyerCanvas1, destroyerCanvas2, destroyerCanvas3;
-    @FXML private Canvas frigateCanvas1, frigateCanvas2, frigateCanvas3, frigateCanvas4;
+    @FXML Canvas carrierCanvas;
+    @FXML Canvas submarineCanvas1, submarineCanvas2;
+    @FXML Canvas destroyerCanvas1, destroyerCanvas2, destroyerCanvas3;
+    @FXML Canvas frigateCanvas1, frigateCanvas2, frigateCanvas3, frigateCanvas4;
 
     // --- UI Labels ---
-    @FXML private Label turnLabel;
-    @FXML private Label shotsLabel;
-    @FXML private Label playerScoreLabel;
-    @FXML private Label enemyScoreLabel;
+    @FXML Label turnLabel;
+    @FXML Label shotsLabel;
+    @FXML Label playerScoreLabel;
+    @FXML Label enemyScoreLabel;
 
     // --- Assistant and manager classes ---
 
     private BoardVisualizer boardVisualizer; // Class to view and manage graphic elements of the board
     private ShipPlacementManager placementManager; // Class for handling draggable elements
+    private PerformanceOverlay performanceOverlay; // Optional FPS / timing overlay
 
     // --- Game Logic (MODEL) ---
     // Logical representation of the boards (10x10 grids of Cells)
@@ -68,11 +94,20 @@ public class GameController implements Initializable
     private Cell[][] enemyBoardCells = new Cell[10][10];
     private String playerName = "Jugador"; // Default player name
     private int shotsCounter = 0; // Shot counter for states
+    private BoardSnapshot playerSnapshot; // Immutable copies of both boards, updated after every shot
+    private BoardSnapshot enemySnapshot;
+    private Replay replay; // Move history, started once both fleets are deployed
+    private GameRandom random; // Seeded generator shared by every random decision of this match
+    private CompletableFuture<TargetingStrategy> enemyTargeting; // Enemy AI, tuned to the current player once their heatmap is read
+    private final PlacementStrategy enemyPlacement = new AntiDensityPlacementStrategy(); // How the enemy deploys its fleet (hidden from density hunting)
 
     // --- Flow Control ---
     private int shipsPlacedCount = 0; // Tracks how many ships the player has placed
     private boolean gameStarted = false; // Flag to indicate if the match is active
     private boolean machineTurn = false;// Enables the use and dynamism of the current shift
+    private CompletableFuture<int[]> enemyPlan; // Shots of the enemy turn being planned by the AI worker
+    private Timeline enemyPlayback; // Plays the planned enemy shots, one per frame
+    private static final Duration ENEMY_SHOT_FRAME = Duration.millis(1000.0 / 60);
 
     // Counters for victory condition
     private int enemyShipsSunkCount = 0; // How many enemy ships did the player sink
@@ -94,9 +129,13 @@ public class GameController implements Initializable
         // The parameters are passed to the helper classes
         boardVisualizer = new BoardVisualizer(shipsPane, enemyShipsPane, cellSize);
         placementManager = new ShipPlacementManager(this, boardVisualizer, shipsPane, cellSize);
+        performanceOverlay = new PerformanceOverlay(rootPane, shipsPane, enemyShipsPane);
+        new BoardScaler(rootPane, (Region) rootPane.getChildren().get(0), this::onRasterScaleChanged);
 
         // Initialize logical data models
         initializeDataModel();
+        random = GameRandom.forNewGame();
+        System.out.println("Semilla de la partida: " + random.getSeed());
 
         // Visual grids are drawn
         boardVisualizer.drawPlayerBoardGrid();
@@ -129,14 +168,61 @@ public class GameController implements Initializable
         Platform.runLater(() -> rootPane.requestFocus());
     }
 
+    /**
+     * Prepares this controller and its scene for another game, instead of loading a new scene.
+     * We clear the boards, counters and ship visuals, give the palette back and deploy a new enemy fleet.
+     */
+    void resetForNewGame() {
+        // Logic
+        stopEnemyTurn();
+        initializeDataModel();
+        shotsCounter = 0;
+        shipsPlacedCount = 0;
+        enemyShipsSunkCount = 0;
+        playerShipsSunkCount = 0;
+        gameStarted = false;
+        machineTurn = false;
+        enemyShipsPane.setDisable(false); // Still disabled if the last game ended on an enemy turn
+        replay = null;
+        playerSnapshot = null;
+        enemySnapshot = null;
+        random = GameRandom.forNewGame();
+        System.out.println("Semilla de la partida: " + random.getSeed());
+
+        // Visuals
+        boardVisualizer.clearShips();
+        boardVisualizer.clearShotMarkers(shipsPane);
+        boardVisualizer.clearShotMarkers(enemyShipsPane);
+        boardVisualizer.getEnemySelectionHighlight().setVisible(false);
+        placementManager.reset();
+        showFleet();
+
+        // Controls
+        if (debugCheckBox != null) {
+            debugCheckBox.setDisable(false);
+            debugCheckBox.setSelected(false);
+            boardVisualizer.setDebugMode(false);
+        }
+        playButton.setDisable(true);
+        playButton.setText("INICIAR JUEGO");
+        if (shotsLabel != null) shotsLabel.setText("Disparos: 0");
+        updateScoreLabels();
+        updateTurnLabel();
+
+        placeEnemyShipsRandomly();
+    }
+
     /**
      * Initializes the 2D arrays for board logic with empty Cells.
      */
     private void initializeDataModel() {
         for (int i = 0; i < 10; i++) {
             for (int j = 0; j < 10; j++) {
-                boardCells[i][j] = new Cell(i, j);
-                enemyBoardCells[i][j] = new Cell(i, j);
+                // Cells of a previous game are cleared in place
+                if (boardCells[i][j] == null) boardCells[i][j] = new Cell(i, j);
+                else boardCells[i][j].reset();
+                if (enemyBoardCells[i][j] == null) enemyBoardCells[i][j] = new Cell(i, j);
+                else enemyBoardCells[i][j].reset();
             }
         }
     }
@@ -179,7 +265,13 @@ public class GameController implements Initializable
             {
                 try
                 {
+                    long start = performanceOverlay.start();
                     handlePlayerShot(col, row);
+                    performanceOverlay.record("disparo", start);
+                }
+                catch (InvalidMoveException e)
+                {
+                    System.err.println(e.getMessage());
                 }
                 catch (Exception e)
                 {
@@ -218,18 +310,36 @@ public class GameController implements Initializable
 
     /**
      * Draws the initial fleet on the selection palette using the renderer.
+     * We blit the cached ship images, so a new game redraws no hulls.
      */
     private void drawFleet() {
-        if (carrierCanvas != null) shipRenderer.render(carrierCanvas, 4);
-        if (submarineCanvas1 != null) shipRenderer.render(submarineCanvas1, 3);
-        if (submarineCanvas2 != null) shipRenderer.render(submarineCanvas2, 3);
-        if (destroyerCanvas1 != null) shipRenderer.render(destroyerCanvas1, 2);
-        if (destroyerCanvas2 != null) shipRenderer.render(destroyerCanvas2, 2);
-        if (destroyerCanvas3 != null) shipRenderer.render(destroyerCanvas3, 2);
-        if (frigateCanvas1 != null) shipRenderer.render(frigateCanvas1, 1);
-        if (frigateCanvas2 != null) shipRenderer.render(frigateCanvas2, 1);
-        if (frigateCanvas3 != null) shipRenderer.render(frigateCanvas3, 1);
-        if (frigateCanvas4 != null) shipRenderer.render(frigateCanvas4, 1);
+        drawPaletteShip(carrierCanvas, 4);
+        drawPaletteShip(submarineCanvas1, 3);
+        drawPaletteShip(submarineCanvas2, 3);
+        drawPaletteShip(destroyerCanvas1, 2);
+        drawPaletteShip(destroyerCanvas2, 2);
+        drawPaletteShip(destroyerCanvas3, 2);
+        drawPaletteShip(frigateCanvas1, 1);
+        drawPaletteShip(frigateCanvas2, 1);
+        drawPaletteShip(frigateCanvas3, 1);
+        drawPaletteShip(frigateCanvas4, 1);
+    }
+
+    /**
+     * Called by the BoardScaler once the window has settled on a new pixel density.
+     * We switch the ship images to rasters of that density and redraw the palette from them.
+     */
+    private void onRasterScaleChanged(double scale) {
+        if (!ShipImageCache.setRasterScale(scale)) return;
+        boardVisualizer.refreshShipImages();
+        drawFleet();
+    }
+
+    private void drawPaletteShip(Canvas canvas, int size) {
+        if (canvas == null) return;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.drawImage(shipRenderer.getImage(size, cellSize), 0, 0, canvas.getWidth(), canvas.getHeight());
     }
     //endregion
 
@@ -253,6 +363,11 @@ public class GameController implements Initializable
             debugCheckBox.setDisable(true);
         }
         turnLabel.setText("¡Ataque! Turno de " + playerName);
+
+        // Both fleets are final now, so the replay and the snapshots can start recording
+        replay = Replay.capture(playerName, random.getSeed(), boardCells, enemyBoardCells);
+        playerSnapshot = BoardSnapshot.of(boardCells);
+        enemySnapshot = BoardSnapshot.of(enemyBoardCells);
         saveGameAutomatic();
     }
 
@@ -275,6 +390,14 @@ public class GameController implements Initializable
             }
         }
     }
+
+    /**
+     * Shows or hides the performance overlay (FPS, pulse times, node counts, timed sections).
+     */
+    @FXML
+    void onPerformanceModeChanged() {
+        if (performanceCheckBox != null) performanceOverlay.setEnabled(performanceCheckBox.isSelected());
+    }
     //endregion
 
     //region 4. GAME LOGIC
@@ -291,35 +414,28 @@ public class GameController implements Initializable
      *
      * @param col The column index (0-based) of the target cell
      * @param row The row index (0-based) of the target cell
+     * @throws InvalidMoveException If the cell was already shot (stackless, this is the UI boundary)
      */
-    private void handlePlayerShot(int col, int row) {
+    private void handlePlayerShot(int col, int row) throws InvalidMoveException {
         Cell targetCell = enemyBoardCells[col][row];
 
-        // Prevent shooting at already targeted cells
-        if (targetCell.getState() == CellState.HIT ||
-                targetCell.getState() == CellState.MISSED_SHOT ||
-                targetCell.getState() == CellState.SUNK) {
-            // Here we use our own exceptions
-            try {
-                throw new InvalidMoveException("¡Ya has disparado en esta casilla!");
-            } catch (com.example.battleship.exceptions.InvalidMoveException e) {
-                System.err.println(e.getMessage());
-                return;
-            }
+        // The model reports repeated shots as a result; only here they become our own exception
+        ShotResult result = targetCell.receiveShot();
+        if (result == ShotResult.ALREADY_SHOT) {
+            throw new InvalidMoveException("¡Ya has disparado en esta casilla!", false);
         }
 
-        boolean hit = (targetCell.getOccupyingShip() != null);
+        boolean hit = result.isHit();
+        if (replay != null) replay.recordShot(false, col, row);
+        if (enemySnapshot != null) enemySnapshot = enemySnapshot.withShot(col, row);
 
         // Process the shot result
         if (hit) {
             // Register a successful hit
-            targetCell.setState(CellState.HIT);
-            targetCell.getOccupyingShip().receiveShot();
             System.out.println("¡TOCADO!");
 
-            if (targetCell.getOccupyingShip().isSunk()) {
+            if (result == ShotResult.SUNK) {
                 // Ship has been destroyed
-                targetCell.setState(CellState.SUNK);
                 System.out.println("¡HUNDIDO!");
 
                 // The impactful animation is drawn
@@ -339,7 +455,6 @@ public class GameController implements Initializable
         else
         {
             // Missed shot
-            targetCell.setState(com.example.battleship.models.CellState.MISSED_SHOT);
             System.out.println("AGUA.");
             // Show 'X' effect
             boardVisualizer.drawShotResult(enemyShipsPane, col, row, false);
@@ -365,82 +480,107 @@ public class GameController implements Initializable
             // Add a brief pause for better gameplay flow
             PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
 
-            pause.setOnFinished(e -> {
-                // Execute enemy's move after pause
-                enemyTurn();
-
-                // Re-enable player controls if game is still active
-                if (gameStarted) {
-                    enemyShipsPane.setDisable(false);
-                }
-            });
+            // Execute enemy's move after pause; controls come back when its playback ends
+            pause.setOnFinished(e -> enemyTurn());
             pause.play();
         }
     }
 
     /**
      * Executes the enemy's (machine) attack turn.
-     * We've implemented a straightforward AI logic that randomly targets cells
-     * until it misses. This creates a simple but effective challenge for the player.
-     * The AI continues hitting when successful, but stops after a miss to give
-     * the player their turn back.
-     * Additional safety checks ensure the turn stops immediately if the game
-     * ends during the enemy's turn sequence.
+     * The targeting strategy picks each shot from what the machine can see
+     * of our board, and keeps firing until it misses.
+     * We plan the streak on the AI worker (EnemyStreakPlanner) so a slow strategy never
+     * blocks the window, and play the shots back one per animation frame as they arrive.
+     * The game is saved once, when the turn is over.
      */
     private void enemyTurn()
     {
         // Update UI to indicate enemy's turn
         if (turnLabel != null) turnLabel.setText("Turno: Enemigo...");
 
-        boolean keepPlaying = true;
-        Random random = new Random();
-
-        // Continue attacking as long as the enemy keeps hitting ships
-        // We added && gameStarted for security
-        while (keepPlaying && gameStarted) {
-            // Randomly select a target cell
-            int col = random.nextInt(10);
-            int row = random.nextInt(10);
-            Cell target = boardCells[col][row];
-
-            // Only process if cell hasn't been attacked yet
-            if (target.getState() == CellState.WATER || target.getState() == CellState.SHIP) {
-
-                Ship targetShip = target.getOccupyingShip();
-                boolean hit = (target.getOccupyingShip() != null);
-
-                if (hit) {
-                    // Only process if cell hasn't been attacked yet
-                    target.setState(CellState.HIT);
-                    targetShip.receiveShot();
-                    boardVisualizer.drawShotResult(shipsPane, col, row, true);
-
-                    if (targetShip.isSunk()) {
-                        // Player's ship has been destroyed
-                        target.setState(CellState.SUNK);
-                        boardVisualizer.markShipAsSunk(shipsPane, boardCells, targetShip);
-                        playerShipsSunkCount++;
-                        updateScoreLabels();
-                        checkWinCondition();
-
-                        // Exit if game ended with this sunk ship
-                        if (!gameStarted) return;
-                    }
-                }   // Enemy continues attacking after a hit
-                else
-                {
-                    // Enemy missed - turn ends
-                    target.setState(CellState.MISSED_SHOT);
-                    boardVisualizer.drawShotResult(shipsPane, col, row, false);
-                    keepPlaying = false;
-                    machineTurn = false;
-                }
-                // Auto-save after each attack
-                saveGameAutomatic();
+        long start = performanceOverlay.start();
+        ConcurrentLinkedQueue<Integer> pendingShots = new ConcurrentLinkedQueue<>();
+        // Read while the player was deploying; only waits if the disk is very slow
+        enemyPlan = EnemyStreakPlanner.fromBoard(boardCells, enemyTargeting.join(), random).plan(pendingShots::add);
+
+        enemyPlayback = new Timeline(new KeyFrame(ENEMY_SHOT_FRAME, e -> playNextEnemyShot(pendingShots, start)));
+        enemyPlayback.setCycleCount(Animation.INDEFINITE);
+        enemyPlayback.play();
+    }
+
+    /**
+     * One animation frame of the enemy turn: shows the next planned shot, if it is ready,
+     * or ends the turn once the plan is complete and every shot has been shown.
+     */
+    private void playNextEnemyShot(ConcurrentLinkedQueue<Integer> pendingShots, long start)
+    {
+        Integer shot = pendingShots.poll();
+        if (shot != null) {
+            applyEnemyShot(shot % 10, shot / 10);
+
+            // Exit if game ended with this sunk ship
+            if (!gameStarted) stopEnemyTurn();
+            return;
+        }
+        if (!enemyPlan.isDone()) return; // The AI is still thinking
+
+        if (enemyPlan.isCompletedExceptionally()) {
+            System.err.println("Error al calcular el turno enemigo: " + enemyPlan.handle((shots, error) -> error).join());
+        }
+        stopEnemyTurn();
+        machineTurn = false;
+
+        // One save for the whole turn
+        saveGameAutomatic();
+        performanceOverlay.record("turno enemigo", start);
+
+        // Restore player turn indicator and controls
+        if (turnLabel != null) turnLabel.setText("Turno: " + playerName);
+        enemyShipsPane.setDisable(false);
+    }
+
+    /**
+     * Applies one enemy shot to our board and draws its result.
+     */
+    private void applyEnemyShot(int col, int row)
+    {
+        Cell target = boardCells[col][row];
+
+        // Only process if cell hasn't been attacked yet
+        ShotResult result = target.receiveShot();
+        if (!result.isValid()) return;
+
+        Ship targetShip = target.getOccupyingShip();
+        if (replay != null) replay.recordShot(true, col, row);
+        if (playerSnapshot != null) playerSnapshot = playerSnapshot.withShot(col, row);
+
+        if (result.isHit()) {
+            boardVisualizer.drawShotResult(shipsPane, col, row, true);
+
+            if (result == ShotResult.SUNK) {
+                // Player's ship has been destroyed
+                boardVisualizer.markShipAsSunk(shipsPane, boardCells, targetShip);
+                playerShipsSunkCount++;
+                updateScoreLabels();
+                checkWinCondition();
             }
+        }   // Enemy continues attacking after a hit
+        else
+        {
+            // Enemy missed - turn ends
+            boardVisualizer.drawShotResult(shipsPane, col, row, false);
         }
-        // Restore player turn indicator if game is still active
-        if (gameStarted && turnLabel != null) turnLabel.setText("Turno: " + playerName);
+    }
+
+    /**
+     * Stops the playback of the enemy turn and the planning behind it, if any.
+     */
+    private void stopEnemyTurn()
+    {
+        if (enemyPlayback != null) enemyPlayback.stop();
+        if (enemyPlan != null) enemyPlan.cancel(false);
+        enemyPlayback = null;
     }
 
     /**
@@ -474,56 +614,18 @@ public class GameController implements Initializable
     }
 
     /**
-     * Randomly deploys the enemy fleet on their game board.
-     * We generate random positions for each ship until we find valid placements,
+     * Deploys the enemy fleet on their game board.
+     * The placement strategy picks the positions with the match generator,
      * creating a different enemy formation each game.
      * Fleet composition: 1 Carrier (4), 2 Submarines (3), 3 Destroyers (2), 4 Frigates (1)
      */
     private void placeEnemyShipsRandomly() {
-        String[] shipTypes = {
-                "carrier",
-                "submarine", "submarine",
-                "destroyer", "destroyer", "destroyer",
-                "frigate", "frigate", "frigate", "frigate"
-        };
-        //int[] shipSizes = {4, 3, 3, 2, 2, 2, 1, 1, 1, 1};
-        Random random = new Random();
-
-        for (String type : shipTypes) {
-            boolean placed = false;
-
-            // Creamos el barco usando la Fábrica (aquí está la magia)
-            // Nota: Creamos una instancia temporal solo para saber su tamaño y colocarlo
-            Ship tempShip = ShipFactory.createShip(type);
-            int size = tempShip.getSize();
-
-            while (!placed) {
-                int x = random.nextInt(10);
-                int y = random.nextInt(10);
-                boolean horizontal = random.nextBoolean();
-
-                if (isValidEnemyPlacement(x, y, size, horizontal)) {
-                    // 3. Pasamos el 'type' al método de colocar para crear el definitivo
-                    placeEnemyShip(x, y, type, horizontal);
-                    placed = true;
-                }
-            }
-        }
-        /*for (int size : shipSizes) {
-            boolean placed = false;
-            // Keep trying random positions until we find a valid one
-            while (!placed) {
-                int x = random.nextInt(10);
-                int y = random.nextInt(10);
-                boolean horizontal = random.nextBoolean();
-
-                if (isValidEnemyPlacement(x, y, size, horizontal)) {
-                    placeEnemyShip(x, y, size, horizontal);
-                    placed = true;
-                }
-            }
+        List<ShipPlacement> fleet = enemyPlacement.place(random);
+        for (int i = 0; i < fleet.size(); i++) {
+            ShipPlacement ship = fleet.get(i);
+            // Same order as ShipFactory.FLEET_SIZES, so FLEET gives each ship its type
+            placeEnemyShip(ship.getCol(), ship.getRow(), ShipFactory.FLEET[i], ship.isHorizontal());
         }
-        */
     }
 
     /**
@@ -541,45 +643,23 @@ public class GameController implements Initializable
             enemyBoardCells[targetX][targetY].setOccupyingShip(enemyShip);
         }
 
-        // Create visual representation
-        Canvas enemyShipCanvas = new Canvas();
-        enemyShipCanvas.setWidth(size * cellSize);
-        enemyShipCanvas.setHeight(cellSize);
-        enemyShipCanvas.setId("EnemyShip");
-        shipRenderer.render(enemyShipCanvas, size);
-
-        // Position canvas based on orientation
-        if (horizontal) {
-            enemyShipCanvas.setLayoutX(x * cellSize);
-            enemyShipCanvas.setLayoutY(y * cellSize);
-        } else {
-            enemyShipCanvas.setRotate(90);
-            // Apply visual correction for rotation offset
-            double offset = cellSize * (1 - size) / 2.0;
-            enemyShipCanvas.setLayoutX((x * cellSize) + offset);
-            enemyShipCanvas.setLayoutY((y * cellSize) - offset);
-        }
-
-        // Hide enemy ships (visible only in debug mode)
-        enemyShipCanvas.setVisible(debugCheckBox != null && debugCheckBox.isSelected());
-        enemyShipsPane.getChildren().add(0,enemyShipCanvas);
+        // Create visual representation (hidden unless debug mode is on)
+        boardVisualizer.showShip(true, x, y, size, horizontal);
     }
 
     /**
-     * Checks if an enemy ship can be placed at the specified coordinates.
+     * Builds the enemy AI for a player. Runs on the save thread, since it reads the heatmap file.
+     * Opening book for the first shots, exact solver near the end and probability
+     * density otherwise. Once we know enough about where this player usually puts
+     * their ships, the heatmap prior drives the hunt instead of the generic book.
      */
-    private boolean isValidEnemyPlacement(int x, int y, int size, boolean horizontal) {
-        // Check boundaries
-        if (horizontal) { if (x + size > 10) return false; }
-        else { if (y + size > 10) return false; }
-
-        // Check for overlapping ships
-        for (int i = 0; i < size; i++) {
-            int targetX = horizontal ? x + i : x;
-            int targetY = horizontal ? y : y + i;
-            if (enemyBoardCells[targetX][targetY].getOccupyingShip() != null) return false;
+    private static TargetingStrategy buildEnemyTargeting(String playerName) {
+        PlacementHeatmap heatmap = HeatmapFileManager.loadHeatmap(playerName);
+        if (heatmap.getGames() >= MIN_HEATMAP_GAMES) {
+            return new EndgameSolverStrategy(new DensityTargetingStrategy(heatmap), 200);
         }
-        return true;
+        return new OpeningBookStrategy(OpeningBook.getDefault(),
+                new EndgameSolverStrategy(new DensityTargetingStrategy(), 200));
     }
 
     /**
@@ -612,29 +692,42 @@ public class GameController implements Initializable
 
     /**
      * Automatically saves the current game state.
-     * We capture all essential game data into a GameState object and persist it
-     * using our file management system. This creates regular save points during
-     * gameplay without requiring player intervention.
+     * We capture all essential game data into an immutable GameSnapshot and hand it
+     * to the background writer. Both boards are already kept as snapshots, so this
+     * copies nothing and the game goes on while the file is written.
      */
      private void saveGameAutomatic()
     {
+        long start = performanceOverlay.start();
+        if (playerSnapshot == null || enemySnapshot == null) return; // Nothing to resume before the game starts
+
         // The current state is saved
-        GameState state = new GameState(
-                boardCells,
-                enemyBoardCells,
+        GameFileManager.saveGame(currentSnapshot());
+        performanceOverlay.record("autoguardado", start);
+    }
+
+    /**
+     * The match as it stands now. O(1): it only shares the current snapshots.
+     */
+    private GameSnapshot currentSnapshot()
+    {
+        return new GameSnapshot(
                 playerName,
+                playerSnapshot,
+                enemySnapshot,
                 shotsCounter,
                 !machineTurn,
                 enemyShipsSunkCount,
                 playerShipsSunkCount,
-                gameStarted
+                gameStarted,
+                random,
+                replay
         );
-        GameFileManager.saveGame(state);
     }
 
     /**
      * Loads and restores a previously saved game state.
-     * We carefully reconstruct the game from a saved GameState object,
+     * We carefully reconstruct the game from a saved GameSnapshot,
      * ensuring all visual elements, scores, and game logic are properly
      * synchronized. This allows players to resume their game exactly as
      * it was when saved, maintaining all progress and board configurations.
@@ -644,9 +737,9 @@ public class GameController implements Initializable
      * 3. Updating UI elements to reflect loaded state
      * 4. Redrawing all visual components
      *
-     * @param state The GameState object containing the saved game data
+     * @param state The GameSnapshot containing the saved game data
      */
-    public void loadGameState(GameState state)
+    public void loadGameState(GameSnapshot state)
     {
         // Restore core game data
         this.playerName = state.getPlayerName();
@@ -654,8 +747,20 @@ public class GameController implements Initializable
         this.gameStarted = state.isGameStarted();
 
         // Reconstruct game boards from saved state
-        this.boardCells = state.getPlayerBoard();
-        this.enemyBoardCells = state.getEnemyBoard();
+        this.playerSnapshot = state.getPlayerBoard();
+        this.enemySnapshot = state.getEnemyBoard();
+        this.boardCells = playerSnapshot.toCells();
+        this.enemyBoardCells = enemySnapshot.toCells();
+        placementManager.invalidateLegalOrigins();
+
+        // Continue the saved generator so the rest of the match stays reproducible
+        this.random = state.restoreRandom();
+
+        // Older saves carry no history; record from this point on
+        this.replay = state.restoreReplay();
+        if (replay == null && gameStarted) {
+            replay = Replay.capture(playerName, random.getSeed(), boardCells, enemyBoardCells);
+        }
 
         // Update player information display
         setPlayerName(this.playerName);
@@ -693,36 +798,10 @@ public class GameController implements Initializable
      */
     private void redrawBoardsFromState() {
         // Redraw player board (enemy's attacks on us)
-        for (int i = 0; i < 10; i++) {
-            for (int j = 0; j < 10; j++) {
-                Cell c = boardCells[i][j];
-
-                if (c.getState() == CellState.HIT) {
-                    boardVisualizer.drawShotResult(shipsPane, i, j, true);
-                } else if (c.getState() == CellState.SUNK) {
-                    boardVisualizer.drawShotResult(shipsPane, i, j, true);
-                    boardVisualizer.markShipAsSunk(shipsPane, boardCells, c.getOccupyingShip());
-                } else if (c.getState() == CellState.MISSED_SHOT) {
-                    boardVisualizer.drawShotResult(shipsPane, i, j, false);
-                }
-            }
-        }
+        boardVisualizer.drawBoardState(shipsPane, boardCells);
 
         // Redraw enemy board (our attacks on enemy)
-        for (int i = 0; i < 10; i++) {
-            for (int j = 0; j < 10; j++) {
-                Cell c = enemyBoardCells[i][j];
-
-                if (c.getState() == CellState.HIT) {
-                    boardVisualizer.drawShotResult(enemyShipsPane, i, j, true);
-                } else if (c.getState() == CellState.SUNK) {
-                    boardVisualizer.drawShotResult(enemyShipsPane, i, j, true);
-                    boardVisualizer.markShipAsSunk(enemyShipsPane, enemyBoardCells, c.getOccupyingShip());
-                } else if (c.getState() == CellState.MISSED_SHOT) {
-                    boardVisualizer.drawShotResult(enemyShipsPane, i, j, false);
-                }
-            }
-        }
+        boardVisualizer.drawBoardState(enemyShipsPane, enemyBoardCells);
     }
 
     //endregion
@@ -784,6 +863,20 @@ public class GameController implements Initializable
         return sunkShips.size();
     }
 
+    /**
+     * Gives the whole fleet back to the palette for a new deployment.
+     */
+    private void showFleet()
+    {
+        for (Canvas canvas : new Canvas[] {carrierCanvas, submarineCanvas1, submarineCanvas2, destroyerCanvas1,
+                destroyerCanvas2, destroyerCanvas3, frigateCanvas1, frigateCanvas2, frigateCanvas3, frigateCanvas4})
+        {
+            if (canvas == null) continue;
+            canvas.setVisible(true);
+            canvas.setDisable(false);
+        }
+    }
+
     /**
      * Hides the selectable ship fleet from view.
      * We hide each ship canvas individually once the game starts,
@@ -803,6 +896,16 @@ public class GameController implements Initializable
         if(frigateCanvas4!=null) frigateCanvas4.setVisible(false);
     }
 
+    // Shots fired by the machine this match, or -1 when the match has no replay
+    private int countEnemyShots() {
+        if (replay == null) return -1;
+        int shots = 0;
+        for (int move = 0; move < replay.getMoveCount(); move++) {
+            if (replay.isEnemyShot(move)) shots++;
+        }
+        return shots;
+    }
+
     /**
      * Handles the game over sequence and returns to the main menu.
      * We save the final result to the log, clear the save file,
@@ -813,10 +916,24 @@ public class GameController implements Initializable
 
         // Log the final game result
         GameFileManager.saveTextLog(playerName, enemyShipsSunkCount, title);
+        GameFileManager.saveGameRecord(new GameRecord(System.currentTimeMillis(), playerName,
+                enemyShipsSunkCount >= 10 ? GameRecord.Outcome.WIN : GameRecord.Outcome.LOSS,
+                enemyShipsSunkCount, shotsCounter, countEnemyShots(),
+                enemyTargeting != null && enemyTargeting.isDone() ? enemyTargeting.join().getName() : null));
 
-        // Remove the save file since game is complete
+        // Remove the save file since game is complete; the final state is archived instead
+        if (playerSnapshot != null && enemySnapshot != null) GameFileManager.archiveGame(currentSnapshot());
         GameFileManager.deleteSaveFile();
 
+        // Keep the full match for the replay viewer
+        Replay finishedReplay = replay;
+        if (finishedReplay != null) GameFileManager.runInBackground(() -> ReplayFileManager.saveReplay(finishedReplay));
+
+        // Learn where this player likes to put their ships
+        List<ShipPlacement> playerFleet = ShipPlacement.fromBoard(boardCells);
+        String heatmapPlayer = playerName;
+        GameFileManager.runInBackground(() -> HeatmapFileManager.recordGame(heatmapPlayer, playerFleet));
+
         Platform.runLater(() -> {
             // Show game outcome dialog
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
@@ -825,12 +942,13 @@ public class GameController implements Initializable
             alert.setContentText(message);
             alert.showAndWait();
 
-            // Return to welcome screen
+            // Return to welcome screen; the next game reuses this scene
             try
             {
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/battleship/views/welcome-view.fxml"));
                 Parent root = loader.load();
                 Stage stage = (Stage) playButton.getScene().getWindow();
+                GameScenePreloader.recycle(rootPane, this, rootPane.getScene());
                 stage.setScene(new javafx.scene.Scene(root));
                 stage.show();
             }
@@ -851,6 +969,10 @@ public class GameController implements Initializable
     public void setPlayerName(String name) {
         this.playerName = name;
         updateTurnLabel();
+
+        // The AI prior depends on who we are playing against; read after the heatmap saves already queued
+        String heatmapPlayer = name;
+        enemyTargeting = GameFileManager.supplyInBackground(() -> buildEnemyTargeting(heatmapPlayer));
     }
 
     public Cell[][] getBoardCells() {
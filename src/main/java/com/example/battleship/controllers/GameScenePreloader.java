@@ -0,0 +1,190 @@
+package com.example.battleship.controllers;
+
+import com.example.battleship.StartupMetrics;
+import com.example.battleship.ai.OpeningBook;
+import com.example.battleship.models.ShipFactory;
+import com.example.battleship.views.CanvasShipRenderer;
+import com.example.battleship.views.ShipRenderer;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the game scene in the background while the welcome screen is shown.
+ * FXML parsing, controller reflection and class loading move off the FX thread,
+ * so pressing "Jugar" only has to attach an already built scene graph.
+ * The work that must stay on the FX thread (ship image snapshots) is done before the thread starts.
+ * A finished game hands its scene back (recycle), so the next game resets it instead of building a new one.
+ */
+public final class GameScenePreloader
+{
+    //region 1. Variables and constants
+    static final String GAME_VIEW = "/com/example/battleship/views/BatallaNaval.fxml";
+
+    private static CompletableFuture<LoadedScene> pending;
+    private static LoadedScene recycled;
+    private static boolean codeBuiltScene = false;
+    //endregion
+
+    //region 2. Loaded scene
+
+    /**
+     * Root node and controller of a loaded game scene.
+     */
+    static final class LoadedScene
+    {
+        final Parent root;
+        final GameController controller;
+        private Scene scene;     // Created on first show, then kept with its root
+        private boolean played;  // Already used for a game, needs a reset before the next one
+
+        LoadedScene(Parent root, GameController controller)
+        {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * A root can only belong to one Scene, so a reused root keeps its Scene too.
+         * Must be called on the JavaFX Application Thread.
+         */
+        Scene getScene()
+        {
+            if (scene == null) scene = new Scene(root);
+            return scene;
+        }
+    }
+    //endregion
+
+    //region 3. Preloading
+
+    private GameScenePreloader()
+    {
+        // Static utility
+    }
+
+    /**
+     * Chooses how game scenes are built: from code (true) or from BatallaNaval.fxml (false, default).
+     */
+    public static void setCodeBuiltScene(boolean codeBuilt)
+    {
+        codeBuiltScene = codeBuilt;
+    }
+
+    /**
+     * Gives back the scene of a finished game so the next one can reuse it.
+     */
+    static void recycle(Parent root, GameController controller, Scene scene)
+    {
+        LoadedScene loaded = new LoadedScene(root, controller);
+        loaded.scene = scene;
+        loaded.played = true;
+        recycled = loaded;
+    }
+
+    /**
+     * Starts building the next game scene, unless one is already on its way.
+     * Must be called on the JavaFX Application Thread.
+     */
+    static void start()
+    {
+        if (pending != null) return;
+
+        if (recycled != null)
+        {
+            // The last game's scene is reused; nothing to build
+            pending = CompletableFuture.completedFuture(recycled);
+            recycled = null;
+            StartupMetrics.mark("preload-ready");
+            return;
+        }
+
+        // Snapshots are only allowed on the FX thread; the background load then finds them cached
+        ShipRenderer renderer = new CanvasShipRenderer();
+        for (int size : ShipFactory.FLEET_SIZES) renderer.getImage(size, GameController.CELL_SIZE);
+
+        pending = CompletableFuture.supplyAsync(() ->
+        {
+            OpeningBook.getDefault();
+            LoadedScene scene = load();
+            StartupMetrics.mark("preload-ready");
+            return scene;
+        }, task ->
+        {
+            Thread thread = new Thread(task, "game-scene-preloader");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Runs the action on the FX thread once the preloaded scene is ready (or failed).
+     */
+    static void whenReady(Runnable action)
+    {
+        CompletableFuture<LoadedScene> future = pending;
+        if (future == null) Platform.runLater(action);
+        else future.whenComplete((scene, error) -> Platform.runLater(action));
+    }
+
+    /**
+     * Hands out the preloaded scene, waiting for it if it is still loading.
+     * If nothing was preloaded (or preloading failed) we load it here.
+     * Each preloaded scene is handed out only once; a reused one is reset for the new game first.
+     */
+    static LoadedScene take() throws IOException
+    {
+        CompletableFuture<LoadedScene> future = pending;
+        pending = null;
+        if (future == null && recycled != null)
+        {
+            future = CompletableFuture.completedFuture(recycled);
+            recycled = null;
+        }
+        if (future != null)
+        {
+            try
+            {
+                LoadedScene loaded = future.join();
+                if (loaded.played) loaded.controller.resetForNewGame();
+                loaded.played = true;
+                return loaded;
+            }
+            catch (RuntimeException e)
+            {
+                System.err.println("Precarga de la partida fallida, se carga de nuevo: " + e.getMessage());
+            }
+        }
+        try
+        {
+            LoadedScene loaded = load();
+            loaded.played = true;
+            return loaded;
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private static LoadedScene load()
+    {
+        if (codeBuiltScene) return GameViewBuilder.build();
+        try
+        {
+            FXMLLoader loader = new FXMLLoader(GameScenePreloader.class.getResource(GAME_VIEW));
+            Parent root = loader.load();
+            return new LoadedScene(root, loader.getController());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+    //endregion
+}
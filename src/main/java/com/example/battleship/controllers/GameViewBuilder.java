@@ -0,0 +1,296 @@
+package com.example.battleship.controllers;
+
+import javafx.geometry.HPos;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+
+import java.net.URL;
+
+/**
+ * Builds the game scene in plain code, as an alternative to BatallaNaval.fxml.
+ * The node tree mirrors the FXML one to one, but the controller fields are assigned
+ * directly and the handlers are plain lambdas: no XML parsing and no reflection.
+ * Both paths must stay in sync; selected with --scene=code.
+ */
+final class GameViewBuilder
+{
+    //region 1. Variables and constants
+    private static final String IMAGES = "/com/example/battleship/views/images/";
+    private static final String COORDINATE_STYLE = "-fx-font-weight: bold; -fx-font-size: 12px; -fx-text-fill: white;";
+    private static final String SHIP_TITLE_STYLE = "-fx-font-weight: bold; -fx-text-fill: white;";
+    //endregion
+
+    //region 2. Constructors
+    private GameViewBuilder()
+    {
+        // Static utility
+    }
+    //endregion
+
+    //region 3. Scene
+
+    /**
+     * Creates a new controller with its view and initializes it, like FXMLLoader.load would.
+     */
+    static GameScenePreloader.LoadedScene build()
+    {
+        GameController controller = new GameController();
+
+        StackPane root = new StackPane();
+        root.setPrefSize(1200, 750);
+        root.setStyle("-fx-background-color: #2b2b2b;");
+        controller.rootPane = root;
+
+        HBox main = new HBox(30, buildFleetPanel(controller), buildBattlePanel(controller));
+        main.setAlignment(Pos.CENTER);
+        main.setStyle("-fx-padding: 20;");
+        root.getChildren().add(main);
+
+        controller.initialize(null, null);
+        return new GameScenePreloader.LoadedScene(root, controller);
+    }
+    //endregion
+
+    //region 4. Fleet panel (left)
+
+    private static Node buildFleetPanel(GameController controller)
+    {
+        controller.carrierCanvas = shipCanvas(4);
+        controller.submarineCanvas1 = shipCanvas(3);
+        controller.submarineCanvas2 = shipCanvas(3);
+        controller.destroyerCanvas1 = shipCanvas(2);
+        controller.destroyerCanvas2 = shipCanvas(2);
+        controller.destroyerCanvas3 = shipCanvas(2);
+        controller.frigateCanvas1 = shipCanvas(1);
+        controller.frigateCanvas2 = shipCanvas(1);
+        controller.frigateCanvas3 = shipCanvas(1);
+        controller.frigateCanvas4 = shipCanvas(1);
+
+        HBox frigatesTop = new HBox(15, controller.frigateCanvas1, controller.frigateCanvas2);
+        frigatesTop.setAlignment(Pos.CENTER);
+        HBox frigatesBottom = new HBox(15, controller.frigateCanvas3, controller.frigateCanvas4);
+        frigatesBottom.setAlignment(Pos.CENTER);
+
+        VBox fleet = new VBox(20,
+                label("FLOTA DISPONIBLE", "-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: white;"),
+                label("Arrastra los barcos a tu tablero para posicionarlos.",
+                        "-fx-font-size: 12px; -fx-text-fill: white; -fx-wrap-text: true; -fx-text-alignment: center;"),
+                spacer(10),
+                shipGroup("Portaaviones (4)", controller.carrierCanvas),
+                shipGroup("Submarinos (3)", new VBox(10, controller.submarineCanvas1, controller.submarineCanvas2)),
+                shipGroup("Destructores (2)", new VBox(10, controller.destroyerCanvas1,
+                        controller.destroyerCanvas2, controller.destroyerCanvas3)),
+                shipGroup("Fragatas (1)", frigatesTop, frigatesBottom),
+                label("(Tip: Antes de arrastrar,\n presiona 'R' para rotar)",
+                        "-fx-font-size: 11px; -fx-text-fill: #ffd54f; -fx-font-style: italic;"));
+        fleet.setAlignment(Pos.TOP_CENTER);
+        fleet.setStyle("-fx-background-color: transparent; -fx-padding: 20;");
+
+        StackPane panel = new StackPane(image("welcome.png", 250, 720), fleet);
+        panel.getChildren().get(0).setStyle("-fx-opacity: 0.3;");
+        panel.setMinWidth(250);
+        panel.setStyle("-fx-border-color: white; -fx-border-width: 2; -fx-background-radius: 5; -fx-border-radius: 5;");
+        return panel;
+    }
+
+    private static Canvas shipCanvas(int size)
+    {
+        return new Canvas(size * GameController.CELL_SIZE, GameController.CELL_SIZE);
+    }
+
+    private static VBox shipGroup(String title, Node... ships)
+    {
+        VBox group = new VBox(5, label(title, SHIP_TITLE_STYLE));
+        group.getChildren().addAll(ships);
+        group.setAlignment(Pos.CENTER);
+        return group;
+    }
+    //endregion
+
+    //region 5. Battle panel (right)
+
+    private static Node buildBattlePanel(GameController controller)
+    {
+        // Header: title, play button and debug checkbox
+        GridPane header = new GridPane();
+        header.setAlignment(Pos.CENTER);
+        header.setHgap(20);
+        header.getColumnConstraints().addAll(column(33, HPos.LEFT), column(34, HPos.CENTER), column(33, HPos.RIGHT));
+
+        Label title = label("BATALLA NAVAL", "-fx-font-size: 32px; -fx-font-weight: bold; -fx-text-fill: white; "
+                + "-fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.8), 10, 0, 0, 0);");
+        header.add(title, 1, 0);
+
+        Button playButton = new Button("INICIAR JUEGO");
+        playButton.setMnemonicParsing(false);
+        playButton.getStyleClass().add("play-button");
+        playButton.setStyle("-fx-font-size: 16px; -fx-translate-y: 40;");
+        playButton.setOnAction(event -> controller.onPlayButton());
+        GridPane.setValignment(playButton, VPos.BOTTOM);
+        header.add(playButton, 1, 0);
+        controller.playButton = playButton;
+
+        CheckBox debugCheckBox = new CheckBox("Ver Barcos Enemigos");
+        debugCheckBox.setMnemonicParsing(false);
+        debugCheckBox.setTextFill(Color.WHITE);
+        debugCheckBox.setStyle("-fx-cursor: hand; -fx-font-size: 14px; -fx-background-color: rgba(0,0,0,0.5); -fx-padding: 5;");
+        debugCheckBox.setOnAction(event -> controller.onDebugModeChanged());
+        controller.debugCheckBox = debugCheckBox;
+
+        CheckBox performanceCheckBox = new CheckBox("Rendimiento");
+        performanceCheckBox.setMnemonicParsing(false);
+        performanceCheckBox.setTextFill(Color.WHITE);
+        performanceCheckBox.setStyle("-fx-cursor: hand; -fx-font-size: 12px; -fx-background-color: rgba(0,0,0,0.5); -fx-padding: 5;");
+        performanceCheckBox.setOnAction(event -> controller.onPerformanceModeChanged());
+        controller.performanceCheckBox = performanceCheckBox;
+
+        VBox toggles = new VBox(5, debugCheckBox, performanceCheckBox);
+        toggles.setAlignment(Pos.CENTER_RIGHT);
+        header.add(toggles, 2, 0);
+
+        // Boards: player vs enemy
+        Image sea = loadImage("mar.gif");
+        controller.shipsPane = boardPane();
+        controller.enemyShipsPane = boardPane();
+        HBox boards = new HBox(50,
+                board("TU TERRITORIO", "#4fc3f7", "rgba(30, 81, 139, 0.5)", sea, controller.shipsPane),
+                board("RADAR ENEMIGO", "#e57373", "rgba(107, 30, 30, 0.5)", sea, controller.enemyShipsPane));
+        boards.setAlignment(Pos.CENTER);
+
+        // Footer: scores and turn
+        controller.playerScoreLabel = label("Mi Flota Perdida: 0/10",
+                "-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #ff6b6b;");
+        controller.turnLabel = label("Turno: Esperando...", "-fx-font-size: 20px; -fx-font-weight: bold; "
+                + "-fx-text-fill: #ffeb3b; -fx-effect: dropshadow(three-pass-box, black, 10, 0, 0, 0);");
+        controller.enemyScoreLabel = label("Enemigos Hundidos: 0/10",
+                "-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #69f0ae;");
+        HBox footer = new HBox(40, controller.playerScoreLabel, controller.turnLabel, controller.enemyScoreLabel);
+        footer.setAlignment(Pos.CENTER);
+        footer.setStyle("-fx-padding: 10; -fx-background-color: rgba(0,0,0,0.5); -fx-background-radius: 10;");
+
+        VBox panel = new VBox(20, header, spacer(20), boards, footer);
+        panel.setAlignment(Pos.CENTER);
+        HBox.setHgrow(panel, Priority.ALWAYS);
+        return panel;
+    }
+
+    /**
+     * One board with its A-J / 1-10 coordinates, sea background, grid and ships pane.
+     */
+    private static Node board(String title, String color, String background, Image sea, Pane shipsPane)
+    {
+        GridPane grid = new GridPane();
+        grid.setAlignment(Pos.CENTER);
+
+        Region corner = new Region();
+        corner.setPrefSize(30, GameController.CELL_SIZE);
+        grid.add(corner, 0, 0);
+
+        HBox letters = new HBox(0);
+        letters.setAlignment(Pos.CENTER);
+        VBox numbers = new VBox(0);
+        numbers.setAlignment(Pos.CENTER);
+        numbers.setPrefWidth(30);
+        for (int i = 0; i < 10; i++)
+        {
+            Label letter = label(String.valueOf((char) ('A' + i)), COORDINATE_STYLE);
+            letter.setAlignment(Pos.CENTER);
+            letter.setPrefWidth(GameController.CELL_SIZE);
+            letters.getChildren().add(letter);
+
+            Label number = label(String.valueOf(i + 1), COORDINATE_STYLE);
+            number.setAlignment(Pos.CENTER);
+            number.setMinWidth(30);
+            number.setPrefHeight(GameController.CELL_SIZE);
+            numbers.getChildren().add(number);
+        }
+        grid.add(letters, 1, 0);
+        grid.add(numbers, 0, 1);
+
+        double boardSize = 10 * GameController.CELL_SIZE;
+        GridPane cells = new GridPane();
+        cells.setAlignment(Pos.CENTER);
+        cells.setGridLinesVisible(true);
+        cells.setPrefSize(boardSize, boardSize);
+        cells.setStyle("-fx-background-color: " + background + "; -fx-border-color: " + color + "; -fx-border-width: 2;");
+
+        ImageView seaView = new ImageView(sea);
+        seaView.setFitWidth(boardSize);
+        seaView.setFitHeight(boardSize);
+        grid.add(new StackPane(seaView, cells, shipsPane), 1, 1);
+
+        VBox box = new VBox(10, label(title, "-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: " + color + ";"), grid);
+        box.setAlignment(Pos.CENTER);
+        return box;
+    }
+
+    private static Pane boardPane()
+    {
+        Pane pane = new Pane();
+        pane.setPickOnBounds(false);
+        pane.setPrefSize(10 * GameController.CELL_SIZE, 10 * GameController.CELL_SIZE);
+        pane.setStyle("-fx-background-color: transparent;");
+        return pane;
+    }
+    //endregion
+
+    //region 6. Auxiliary methods
+
+    private static Label label(String text, String style)
+    {
+        Label label = new Label(text);
+        label.setStyle(style);
+        return label;
+    }
+
+    private static Region spacer(double height)
+    {
+        Region region = new Region();
+        region.setPrefHeight(height);
+        return region;
+    }
+
+    private static ColumnConstraints column(double percent, HPos alignment)
+    {
+        ColumnConstraints column = new ColumnConstraints();
+        column.setPercentWidth(percent);
+        column.setMinWidth(10);
+        column.setHgrow(Priority.SOMETIMES);
+        column.setHalignment(alignment);
+        return column;
+    }
+
+    /**
+     * Image view sized like the FXML one; the picture is optional, as with a missing FXML image url.
+     */
+    private static ImageView image(String name, double width, double height)
+    {
+        ImageView view = new ImageView(loadImage(name));
+        view.setFitWidth(width);
+        view.setFitHeight(height);
+        return view;
+    }
+
+    private static Image loadImage(String name)
+    {
+        URL url = GameViewBuilder.class.getResource(IMAGES + name);
+        return url != null ? new Image(url.toExternalForm()) : null;
+    }
+    //endregion
+}
@@ -0,0 +1,173 @@
+package com.example.battleship.controllers;
+
+import com.example.battleship.models.Replay;
+import com.example.battleship.models.ReplayFrame;
+import com.example.battleship.views.BoardVisualizer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.net.URL;
+import java.util.ResourceBundle;
+
+/**
+ * Replay Viewer Controller.
+ * Shows a recorded match move by move, with step, play and free seeking
+ * through the slider. Boards are rendered with the same BoardVisualizer
+ * used during a live game.
+ */
+public class ReplayController implements Initializable
+{
+    //region 1. Variables and fields
+    private final double cellSize = 40.0;
+
+    @FXML private StackPane rootPane;
+    @FXML private Pane playerPane;
+    @FXML private Pane enemyPane;
+    @FXML private Slider moveSlider;
+    @FXML private Label moveLabel;
+    @FXML private Label titleLabel;
+    @FXML private Button playPauseButton;
+
+    private BoardVisualizer boardVisualizer;
+    private Replay replay;
+    private int currentMove = -1;
+
+    // Automatic playback, one move per tick
+    private final Timeline playback = new Timeline();
+    //endregion
+
+    //region 2. Initialization
+    @Override
+    public void initialize(URL url, ResourceBundle resourceBundle) {
+        boardVisualizer = new BoardVisualizer(playerPane, enemyPane, cellSize);
+        boardVisualizer.drawPlayerBoardGrid();
+        boardVisualizer.drawEnemyBoardGrid();
+
+        // Enemy ships are always visible in a replay
+        boardVisualizer.setDebugMode(true);
+
+        // Dragging the slider seeks directly; each value change is a single keyframe lookup
+        moveSlider.valueProperty().addListener((obs, oldValue, newValue) -> showMove((int) Math.round(newValue.doubleValue())));
+
+        playback.getKeyFrames().add(new KeyFrame(Duration.millis(400), e -> {
+            if (replay == null || currentMove >= replay.getMoveCount()) {
+                stopPlayback();
+            } else {
+                moveSlider.setValue(currentMove + 1);
+            }
+        }));
+        playback.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    /**
+     * Loads the replay to display and shows its initial position.
+     */
+    public void setReplay(Replay replay) {
+        this.replay = replay;
+        titleLabel.setText("Capitán: " + replay.getPlayerName() + "  |  Semilla: " + replay.getSeed());
+        moveSlider.setMin(0);
+        moveSlider.setMax(replay.getMoveCount());
+        currentMove = -1;
+        moveSlider.setValue(0);
+        showMove(0);
+    }
+    //endregion
+
+    //region 3. FXML Events
+    @FXML
+    void onFirstClick(ActionEvent event) {
+        moveSlider.setValue(0);
+    }
+
+    @FXML
+    void onPreviousClick(ActionEvent event) {
+        moveSlider.setValue(Math.max(0, currentMove - 1));
+    }
+
+    @FXML
+    void onNextClick(ActionEvent event) {
+        if (replay != null) moveSlider.setValue(Math.min(replay.getMoveCount(), currentMove + 1));
+    }
+
+    @FXML
+    void onLastClick(ActionEvent event) {
+        if (replay != null) moveSlider.setValue(replay.getMoveCount());
+    }
+
+    @FXML
+    void onPlayPauseClick(ActionEvent event) {
+        if (playback.getStatus() == Timeline.Status.RUNNING) {
+            stopPlayback();
+        } else if (replay != null) {
+            if (currentMove >= replay.getMoveCount()) moveSlider.setValue(0);
+            playPauseButton.setText("❚❚");
+            playback.play();
+        }
+    }
+
+    /**
+     * Returns to the welcome screen.
+     */
+    @FXML
+    void onBackClick(ActionEvent event) {
+        stopPlayback();
+        try
+        {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/battleship/views/welcome-view.fxml"));
+            Parent root = loader.load();
+            Stage stage = (Stage) rootPane.getScene().getWindow();
+            stage.setScene(new Scene(root));
+            stage.centerOnScreen();
+            stage.show();
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+    //endregion
+
+    //region 4. Rendering
+
+    /**
+     * Renders the boards as they were after the given number of moves.
+     * We ask the replay for a frame (keyframe lookup plus a few replayed shots)
+     * and redraw ships and markers from it.
+     */
+    private void showMove(int move) {
+        if (replay == null || move == currentMove) return;
+        currentMove = move;
+
+        ReplayFrame frame = replay.frameAt(move);
+
+        // Player board: ships are redrawn from the model, which also clears old markers
+        boardVisualizer.drawPlayerShipsFromModel(frame.getPlayerBoard());
+        boardVisualizer.drawBoardState(playerPane, frame.getPlayerBoard());
+
+        // Enemy board: ships and markers are cleared separately
+        boardVisualizer.clearShotMarkers(enemyPane);
+        boardVisualizer.restoreVisualShips(frame.getEnemyBoard());
+        boardVisualizer.drawBoardState(enemyPane, frame.getEnemyBoard());
+
+        moveLabel.setText("Movimiento " + move + "/" + replay.getMoveCount());
+    }
+
+    private void stopPlayback() {
+        playback.stop();
+        playPauseButton.setText("▶");
+    }
+    //endregion
+}
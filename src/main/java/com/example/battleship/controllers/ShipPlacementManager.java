@@ -1,12 +1,13 @@
 package com.example.battleship.controllers;
 
 import com.example.battleship.models.Cell;
+import com.example.battleship.models.PlacementMasks;
 import com.example.battleship.models.Ship;
 import com.example.battleship.views.BoardVisualizer;
 import com.example.battleship.views.CanvasShipRenderer;
+import com.example.battleship.views.ShipImageCache;
 import com.example.battleship.views.ShipRenderer;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.image.WritableImage;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.TransferMode;
@@ -23,6 +24,9 @@ public class ShipPlacementManager
 
     //region 1. Variables and constants
     // --- Constants ---
+    private static final Color VALID_FILL = Color.rgb(0, 255, 0, 0.4);   // Green
+    private static final Color INVALID_FILL = Color.rgb(255, 0, 0, 0.4); // Red
+
     private final GameController controller;
     private final BoardVisualizer visualizer;
     private final Pane shipsPane;
@@ -32,6 +36,18 @@ public class ShipPlacementManager
     // Internal state of the placement
     private boolean isHorizontal = true;
 
+    // Size of the ship being dragged, resolved once per drag instead of per DragOver event
+    private int draggedSize = -1;
+
+    // Last preview shown, so DragOver only does work when the pointer enters another cell
+    private int previewCol = -1, previewRow = -1, previewSize = -1;
+    private boolean previewHorizontal = true;
+
+    // Legal origins per [size][0 = horizontal, 1 = vertical] as 100-bit masks (lo, hi)
+    private final long[][] legalLo = new long[PlacementMasks.MAX_SIZE + 1][2];
+    private final long[][] legalHi = new long[PlacementMasks.MAX_SIZE + 1][2];
+    private boolean legalOriginsReady = false;
+
     //endregion
 
     //region 2. Constructors and initializers
@@ -52,20 +68,22 @@ public class ShipPlacementManager
      * validating and executing ship drops, and cleaning up visuals when dragging stops.
      */
     public void setupBoardDragHandlers() {
+        // Drag Entered: Resolve the dragged ship size once for the whole hover
+        shipsPane.setOnDragEntered(event -> {
+            if (draggedSize < 0 && event.getDragboard().hasString()) {
+                draggedSize = parseSize(event.getDragboard().getString());
+            }
+            event.consume();
+        });
+
         // Drag Over: Show placement preview as player moves shi
+        // This fires for every pixel; the preview is only recomputed on cell or orientation changes
         shipsPane.setOnDragOver(event -> {
-            if (!controller.isGameStarted() && event.getDragboard().hasString()) {
+            if (!controller.isGameStarted() && draggedSize > 0) {
                 event.acceptTransferModes(TransferMode.MOVE);
-            }
-            if (!controller.isGameStarted() && event.getDragboard().hasString()) {
-                try {
-                    int shipSize = Integer.parseInt(event.getDragboard().getString());
-                    int col = (int) (event.getX() / cellSize);
-                    int row = (int) (event.getY() / cellSize);
-                    updateHighlight(col, row, shipSize);
-                } catch (NumberFormatException e) {
-                    // Silently ignore invalid drag data}
-                }
+                int col = (int) (event.getX() / cellSize);
+                int row = (int) (event.getY() / cellSize);
+                updateHighlight(col, row, draggedSize);
             }
             event.consume();
         });
@@ -76,23 +94,23 @@ public class ShipPlacementManager
             boolean success = false;
             if (!controller.isGameStarted() && db.hasString()) {
                 try {
-                    int shipSize = Integer.parseInt(db.getString());
+                    int shipSize = draggedSize > 0 ? draggedSize : parseSize(db.getString());
                     int col = (int) (event.getX() / cellSize);
                     int row = (int) (event.getY() / cellSize);
-                    if (isValidPlacement(col, row, shipSize, isHorizontal)) {
+                    if (shipSize > 0 && isValidPlacement(col, row, shipSize, isHorizontal)) {
                         placeShipOnBoard(col, row, shipSize, isHorizontal);
                         success = true;
                     }
                 } catch (Exception e) { e.printStackTrace(); }
             }
-            visualizer.getSelectionHighlight().setVisible(false);
+            hideHighlight();
             event.setDropCompleted(success);
             event.consume();
         });
 
         // Drag Exited: Clear visual preview when leaving board
         shipsPane.setOnDragExited(event -> {
-            visualizer.getSelectionHighlight().setVisible(false);
+            hideHighlight();
             event.consume();
         });
     }
@@ -111,7 +129,7 @@ public class ShipPlacementManager
         System.out.println("Orientación cambiada a: " + (isHorizontal ? "Horizontal" : "Vertical"));
 
         // Hide current preview - it will update automatically on next mouse movement
-        visualizer.getSelectionHighlight().setVisible(false);
+        hideHighlight();
     }
 
     /**
@@ -126,18 +144,20 @@ public class ShipPlacementManager
             if (controller.isGameStarted()) return;
 
             Dragboard db = sourceCanvas.startDragAndDrop(TransferMode.MOVE);
+            draggedSize = size;
             ClipboardContent content = new ClipboardContent();
             content.putString(String.valueOf(size));
             db.setContent(content);
 
-            // Use the actual canvas as drag preview
-            WritableImage snapshot = sourceCanvas.snapshot(null, null);
-            db.setDragView(snapshot);
+            // Cached preview in the current orientation, grabbed at the middle of the first cell
+            double grab = cellSize * ShipImageCache.getRasterScale() / 2;
+            db.setDragView(ShipImageCache.get(shipRenderer, size, isHorizontal, cellSize), grab, grab);
 
             event.consume();
         });
         // Handle drag completion
         sourceCanvas.setOnDragDone(event -> {
+            draggedSize = -1;
             if (event.getTransferMode() == TransferMode.MOVE) {
                 // Hide ship after successful placement
                 sourceCanvas.setVisible(false);
@@ -174,24 +194,10 @@ public class ShipPlacementManager
             int targetY = horizontal ? y : y + i;
             board[targetX][targetY].setOccupyingShip(newShip);
         }
+        removeBlockedOrigins(size, horizontal, PlacementMasks.index(x, y));
 
-        // Create and position visual representation
-        Canvas newShipCanvas = new Canvas();
-        newShipCanvas.setWidth(size * cellSize);
-        newShipCanvas.setHeight(cellSize);
-        shipRenderer.render(newShipCanvas, size);
-
-        if (horizontal) {
-            newShipCanvas.setLayoutX(x * cellSize);
-            newShipCanvas.setLayoutY(y * cellSize);
-        } else {
-            newShipCanvas.setRotate(90);
-            double offset = cellSize * (1 - size) / 2.0;
-            newShipCanvas.setLayoutX((x * cellSize) + offset);
-            newShipCanvas.setLayoutY((y * cellSize) - offset);
-        }
-        newShipCanvas.setMouseTransparent(true);
-        shipsPane.getChildren().add(newShipCanvas);
+        // Create and position visual representation (reuses views of earlier games)
+        visualizer.showShip(false, x, y, size, horizontal);
 
         // Update game state and UI
         controller.notifyShipPlaced();
@@ -202,20 +208,110 @@ public class ShipPlacementManager
 
     /**
      * Validates if a player ship can be placed at the given coordinates.
+     * We answer from the legal-origin masks, so a check is a single bit test.
      */
     private boolean isValidPlacement(int x, int y, int size, boolean horizontal) {
-        if (horizontal && x + size > 10) return false;
-        if (!horizontal && y + size > 10) return false;
         if (x < 0 || y < 0 || x >= 10 || y >= 10) return false;
+        if (size < 1 || size > PlacementMasks.MAX_SIZE) return false;
+        ensureLegalOrigins();
+
+        int orientation = horizontal ? 0 : 1;
+        return PlacementMasks.isSet(legalLo[size][orientation], legalHi[size][orientation], PlacementMasks.index(x, y));
+    }
+
+    /**
+     * Builds the legal-origin masks from the current board.
+     * We do this once (lazily, since the board is created after this manager);
+     * afterwards each placement only clears the origins it blocks.
+     */
+    private void ensureLegalOrigins() {
+        if (legalOriginsReady) return;
 
-        // We asked the controller for the board.
         Cell[][] board = controller.getBoardCells();
-        for (int i = 0; i < size; i++) {
-            int targetX = horizontal ? x + i : x;
-            int targetY = horizontal ? y : y + i;
-            if (board[targetX][targetY].getOccupyingShip() != null) return false;
+        long occupiedLo = 0, occupiedHi = 0;
+        for (int col = 0; col < 10; col++) {
+            for (int row = 0; row < 10; row++) {
+                if (board[col][row].getOccupyingShip() == null) continue;
+                int index = PlacementMasks.index(col, row);
+                if (index < 64) occupiedLo |= 1L << index;
+                else occupiedHi |= 1L << (index - 64);
+            }
+        }
+
+        for (int size = 1; size <= PlacementMasks.MAX_SIZE; size++) {
+            for (int orientation = 0; orientation < 2; orientation++) {
+                boolean horizontal = orientation == 0;
+                long lo = 0, hi = 0;
+                for (int origin = 0; origin < 100; origin++) {
+                    if (!PlacementMasks.fits(size, horizontal, origin)) continue;
+                    if ((PlacementMasks.lo(size, horizontal, origin) & occupiedLo) != 0) continue;
+                    if ((PlacementMasks.hi(size, horizontal, origin) & occupiedHi) != 0) continue;
+                    if (origin < 64) lo |= 1L << origin;
+                    else hi |= 1L << (origin - 64);
+                }
+                legalLo[size][orientation] = lo;
+                legalHi[size][orientation] = hi;
+            }
+        }
+        legalOriginsReady = true;
+    }
+
+    /**
+     * Clears every origin whose placement would overlap a newly placed ship.
+     */
+    private void removeBlockedOrigins(int placedSize, boolean placedHorizontal, int placedOrigin) {
+        if (!legalOriginsReady) return; // Will be built from the board on first use
+        long shipLo = PlacementMasks.lo(placedSize, placedHorizontal, placedOrigin);
+        long shipHi = PlacementMasks.hi(placedSize, placedHorizontal, placedOrigin);
+
+        for (int size = 1; size <= PlacementMasks.MAX_SIZE; size++) {
+            for (int orientation = 0; orientation < 2; orientation++) {
+                boolean horizontal = orientation == 0;
+                long lo = legalLo[size][orientation];
+                long hi = legalHi[size][orientation];
+
+                for (long bits = lo; bits != 0; bits &= bits - 1) {
+                    int origin = Long.numberOfTrailingZeros(bits);
+                    if ((PlacementMasks.lo(size, horizontal, origin) & shipLo) != 0
+                            || (PlacementMasks.hi(size, horizontal, origin) & shipHi) != 0) {
+                        lo &= ~(1L << origin);
+                    }
+                }
+                for (long bits = hi; bits != 0; bits &= bits - 1) {
+                    int origin = 64 + Long.numberOfTrailingZeros(bits);
+                    if ((PlacementMasks.lo(size, horizontal, origin) & shipLo) != 0
+                            || (PlacementMasks.hi(size, horizontal, origin) & shipHi) != 0) {
+                        hi &= ~(1L << (origin - 64));
+                    }
+                }
+                legalLo[size][orientation] = lo;
+                legalHi[size][orientation] = hi;
+            }
+        }
+    }
+
+    /**
+     * Forgets any drag in progress and the placements of the previous game.
+     */
+    public void reset() {
+        draggedSize = -1;
+        hideHighlight();
+        invalidateLegalOrigins();
+    }
+
+    /**
+     * Marks the legal-origin masks as stale, e.g. after the board is replaced.
+     */
+    public void invalidateLegalOrigins() {
+        legalOriginsReady = false;
+    }
+
+    private static int parseSize(String data) {
+        try {
+            return Integer.parseInt(data);
+        } catch (NumberFormatException e) {
+            return -1; // Not one of our ships
         }
-        return true;
     }
     //endregion
 
@@ -225,35 +321,58 @@ public class ShipPlacementManager
      * Updates the visual highlight that shows potential ship placement.
      * We adjust the rectangle's position, size, and color based on whether
      * the current position is valid, giving players immediate placement feedback.
+     * Nothing is touched while the pointer stays in the same cell with the same ship and orientation.
      */
     private void updateHighlight(int col, int row, int size) {
+        if (col == previewCol && row == previewRow && size == previewSize && isHorizontal == previewHorizontal) {
+            return;
+        }
         Rectangle highlight = visualizer.getSelectionHighlight();
 
         // Hide if position is outside board
         if (col < 0 || row < 0 || col >= 10 || row >= 10) {
-            highlight.setVisible(false);
+            hideHighlight();
             return;
         }
 
-        // Set size based on orientation
-        if (isHorizontal) {
-            highlight.setWidth(size * cellSize);
-            highlight.setHeight(cellSize);
-        } else {
-            highlight.setWidth(cellSize);
-            highlight.setHeight(size * cellSize);
+        // Set size based on orientation (only when ship or orientation changed)
+        if (size != previewSize || isHorizontal != previewHorizontal) {
+            if (isHorizontal) {
+                highlight.setWidth(size * cellSize);
+                highlight.setHeight(cellSize);
+            } else {
+                highlight.setWidth(cellSize);
+                highlight.setHeight(size * cellSize);
+            }
         }
 
         // Position highlight at current coordinates
         highlight.setLayoutX(col * cellSize);
         highlight.setLayoutY(row * cellSize);
 
-        // Color indicates placement validity
-        boolean valid = isValidPlacement(col, row, size, isHorizontal);
-        if (valid) highlight.setFill(Color.rgb(0, 255, 0, 0.4)); // Green
-        else highlight.setFill(Color.rgb(255, 0, 0, 0.4)); // Red
-        highlight.setVisible(true);
-        highlight.toFront();
+        // Color indicates placement validity (shared Color instances)
+        highlight.setFill(isValidPlacement(col, row, size, isHorizontal) ? VALID_FILL : INVALID_FILL);
+
+        // Bring to front only when it appears, ships placed meanwhile may cover it
+        if (!highlight.isVisible()) {
+            highlight.setVisible(true);
+            highlight.toFront();
+        }
+
+        previewCol = col;
+        previewRow = row;
+        previewSize = size;
+        previewHorizontal = isHorizontal;
+    }
+
+    /**
+     * Hides the placement preview and forgets the last previewed cell.
+     */
+    private void hideHighlight() {
+        visualizer.getSelectionHighlight().setVisible(false);
+        previewCol = -1;
+        previewRow = -1;
+        previewSize = -1;
     }
 
     private String getShipName(int size) {
@@ -1,7 +1,11 @@
 package com.example.battleship.controllers;
 
-import com.example.battleship.models.GameState;
+import com.example.battleship.StartupMetrics;
+import com.example.battleship.models.GameSnapshot;
+import com.example.battleship.models.Replay;
+import com.example.battleship.persistence.GameArchive;
 import com.example.battleship.persistence.GameFileManager;
+import com.example.battleship.persistence.ReplayFileManager;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -10,11 +14,17 @@ import javafx.fxml.Initializable;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.ResourceBundle;
 
 /**
@@ -34,10 +44,18 @@ public class WelcomeController implements Initializable {
     //region 2. Initialization
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
+        // Once the welcome screen is on screen, build the game scene in the background
+        nicknameField.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene == null && newScene != null) {
+                StartupMetrics.onFirstFrame(newScene, this::onFirstFrame);
+            }
+        });
+
         // Use runLater to ensure the window is fully loaded before checking saves
         Platform.runLater(() -> {
+            if (StartupMetrics.isBenchmarkRun()) return; // Always measure a fresh game
             if (GameFileManager.hasSavedGame()) {
-                GameState save = GameFileManager.loadGame();
+                GameSnapshot save = GameFileManager.loadGame();
 
                 // If there's an active, unfinished game, load it automatically
                 if (save != null && !save.isGameOver()) {
@@ -63,6 +81,20 @@ public class WelcomeController implements Initializable {
         loadGameScene(null, nickname);
     }
 
+    /**
+     * Starts preloading the game scene once the welcome screen has been painted.
+     * In a startup benchmark we then start a game as soon as the preload is ready,
+     * like a player who typed their name while it loaded.
+     */
+    private void onFirstFrame() {
+        StartupMetrics.mark("first-frame");
+        if (nicknameField.getScene().getWindow() == null) return; // A saved game was already resumed
+        GameScenePreloader.start();
+        if (StartupMetrics.isBenchmarkRun()) {
+            GameScenePreloader.whenReady(() -> loadGameScene(null, "Benchmark"));
+        }
+    }
+
     /**
      * Shows the game instructions in a popup window.
      * We explain the objectives, fleet composition, controls, and gameplay flow
@@ -96,6 +128,72 @@ public class WelcomeController implements Initializable {
         alert.getDialogPane().setMinWidth(500);
         alert.showAndWait();
     }
+
+    /**
+     * Lets the player pick a recorded match and opens it in the replay viewer.
+     * Archived matches are listed directly; loose files of older versions are opened with a file chooser.
+     */
+    @FXML
+    protected void onReplaysClick(ActionEvent event) {
+        List<GameArchive.Entry> archived = ReplayFileManager.listArchivedReplays();
+        boolean hasFiles = !ReplayFileManager.listReplays().isEmpty();
+        if (archived.isEmpty() && !hasFiles) {
+            showAlert("Sin repeticiones", "Aún no hay partidas terminadas para ver.");
+            return;
+        }
+        if (!archived.isEmpty()) {
+            openArchivedReplay(archived, hasFiles);
+            return;
+        }
+        openReplayFile();
+    }
+
+    /**
+     * Offers the archived matches, newest first, plus the older files when there are any.
+     */
+    private void openArchivedReplay(List<GameArchive.Entry> archived, boolean hasFiles) {
+        final String otherFiles = "Abrir archivo .bsr...";
+        List<Object> choices = new ArrayList<>(archived);
+        if (hasFiles) choices.add(otherFiles);
+
+        ChoiceDialog<Object> dialog = new ChoiceDialog<>(archived.get(0), choices);
+        dialog.setTitle("Repeticiones");
+        dialog.setHeaderText(null);
+        dialog.setContentText("Selecciona una partida:");
+        Optional<Object> choice = dialog.showAndWait();
+        if (choice.isEmpty()) return;
+        if (choice.get() == otherFiles) {
+            openReplayFile();
+            return;
+        }
+
+        try
+        {
+            loadReplayScene(ReplayFileManager.loadReplay((GameArchive.Entry) choice.get()));
+        }
+        catch (IOException e)
+        {
+            showAlert("Repetición inválida", "No se pudo leer la partida: " + e.getMessage());
+        }
+    }
+
+    private void openReplayFile() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Selecciona una repetición");
+        chooser.setInitialDirectory(ReplayFileManager.getReplayDirectory());
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Repeticiones", "*.bsr"));
+        File file = chooser.showOpenDialog(nicknameField.getScene().getWindow());
+        if (file == null) return;
+
+        try
+        {
+            loadReplayScene(ReplayFileManager.loadReplay(file));
+        }
+        catch (IOException e)
+        {
+            showAlert("Repetición inválida", "No se pudo leer el archivo: " + e.getMessage());
+        }
+    }
     //endregion
 
     //region 4. Navigation
@@ -105,12 +203,12 @@ public class WelcomeController implements Initializable {
      * We handle both scenarios: loading a saved state or initializing with a new player,
      * then transition smoothly to the game interface.
      */
-    private void loadGameScene(GameState stateToLoad, String newPlayerName) {
+    private void loadGameScene(GameSnapshot stateToLoad, String newPlayerName) {
         try
         {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/battleship/views/BatallaNaval.fxml"));
-            Parent root = loader.load();
-            GameController gameController = loader.getController();
+            long requestedAt = StartupMetrics.sinceProcessStart();
+            GameScenePreloader.LoadedScene loaded = GameScenePreloader.take();
+            GameController gameController = loaded.controller;
 
             if (stateToLoad != null)
             {
@@ -123,16 +221,38 @@ public class WelcomeController implements Initializable {
                 gameController.setPlayerName(newPlayerName);
             }
             Stage stage = (Stage) nicknameField.getScene().getWindow();
-            Scene scene = new Scene(root);
+            Scene scene = loaded.getScene();
             stage.setScene(scene);
             stage.centerOnScreen();
             stage.show();
+            loaded.root.requestFocus(); // For the rotation key; the scene may have been built before it had a window
+
+            StartupMetrics.onFirstFrame(scene, () -> {
+                StartupMetrics.record("scene-switch", StartupMetrics.sinceProcessStart() - requestedAt);
+                StartupMetrics.mark("game-scene");
+                StartupMetrics.report();
+            });
         }
         catch (IOException e)
         {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Switches to the replay viewer showing the given match.
+     */
+    private void loadReplayScene(Replay replay) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/battleship/views/replay-view.fxml"));
+        Parent root = loader.load();
+        ReplayController replayController = loader.getController();
+        replayController.setReplay(replay);
+
+        Stage stage = (Stage) nicknameField.getScene().getWindow();
+        stage.setScene(new Scene(root));
+        stage.centerOnScreen();
+        stage.show();
+    }
     //endregion
 
     //region 5. Auxiliary Methods
@@ -0,0 +1,269 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.ai.PlacementStrategy;
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.persistence.FileCRUD;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Round-robin tournament between AI contenders, each a targeting strategy plus a placement strategy.
+ * Every pairing plays seeds in batches on all cores; each seed is played twice with the
+ * sides swapped, so the first move and the luck of the fleets cancel out. After each batch
+ * an SPRT decides whether the pairing is settled, so clear differences cost a few hundred
+ * games instead of the full limit. The results are then fitted to Elo ratings anchored
+ * on the original enemy (random shots, uniform fleet) and appended to arena_ratings.tsv
+ * and arena_pairs.tsv under a label, next to the ratings of earlier runs.
+ *
+ * Usage: Arena [--contenders=targeting/placement,...] [--max-games=N] [--batch=N]
+ *              [--elo1=E] [--alpha=A] [--beta=B] [--seed=S] [--label=L] [--threads=N]
+ */
+public class Arena
+{
+    //region 1. Variables and constants
+    static final String BASELINE = "random/uniform";
+    private static final String RATINGS_FILE = "arena_ratings.tsv";
+    private static final String PAIRS_FILE = "arena_pairs.tsv";
+
+    /**
+     * One AI in the tournament, named "targeting/placement".
+     */
+    private static final class Contender
+    {
+        final String name, targeting, placement;
+
+        Contender(String name)
+        {
+            int slash = name.indexOf('/');
+            if (slash < 0) throw new IllegalArgumentException("Contendiente invalido (se espera disparo/despliegue): " + name);
+            this.name = name;
+            this.targeting = name.substring(0, slash);
+            this.placement = name.substring(slash + 1);
+            // Fail on unknown names before playing anything
+            Strategies.targeting(targeting);
+            Strategies.placement(placement);
+        }
+
+        HeadlessMatch.Side side()
+        {
+            TargetingStrategy shooter = Strategies.targeting(targeting);
+            PlacementStrategy fleet = Strategies.placement(placement);
+            return new HeadlessMatch.Side(name, shooter::chooseTarget, fleet);
+        }
+    }
+
+    /**
+     * Result of one pairing.
+     */
+    private static final class Pairing
+    {
+        final int a, b;
+        long winsA, winsB;
+        Sprt.Decision decision = Sprt.Decision.CONTINUE;
+
+        Pairing(int a, int b)
+        {
+            this.a = a;
+            this.b = b;
+        }
+    }
+    //endregion
+
+    //region 2. Tournament
+
+    public static void main(String[] args) throws IOException
+    {
+        Map<String, String> options = HeadlessCli.parse(args);
+        List<Contender> contenders = new ArrayList<>();
+        if (options.containsKey("contenders"))
+        {
+            for (String name : options.get("contenders").split(",")) contenders.add(new Contender(name.trim()));
+        }
+        else
+        {
+            for (String targeting : Strategies.targetingNames())
+            {
+                for (String placement : Strategies.placementNames()) contenders.add(new Contender(targeting + "/" + placement));
+            }
+        }
+        if (contenders.size() < 2) throw new IllegalArgumentException("Se necesitan al menos dos contendientes");
+
+        int maxGames = Integer.parseInt(options.getOrDefault("max-games", "2000"));
+        int batch = Integer.parseInt(options.getOrDefault("batch", "16"));
+        double elo1 = Double.parseDouble(options.getOrDefault("elo1", "30"));
+        Sprt sprt = new Sprt(elo1, Double.parseDouble(options.getOrDefault("alpha", "0.05")),
+                Double.parseDouble(options.getOrDefault("beta", "0.05")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "20240601"));
+        String label = options.getOrDefault("label", "sin-etiqueta");
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        List<Pairing> pairings = new ArrayList<>();
+        for (int a = 0; a < contenders.size(); a++)
+        {
+            for (int b = a + 1; b < contenders.size(); b++) pairings.add(new Pairing(a, b));
+        }
+        System.out.printf("Arena '%s': %d contendientes, %d emparejamientos, hasta %d partidas cada uno (SPRT elo1=%.0f), %d hilos%n",
+                label, contenders.size(), pairings.size(), maxGames, elo1, threads);
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try
+        {
+            // Pairings and the games of each batch all share the pool
+            pool.submit(() -> pairings.parallelStream().forEach(pairing ->
+                    play(pairing, contenders, sprt, maxGames, batch, seed))).get();
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            throw new IOException("Error en la arena", e);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        long[][] wins = new long[contenders.size()][contenders.size()];
+        long[] games = new long[contenders.size()];
+        for (Pairing pairing : pairings)
+        {
+            wins[pairing.a][pairing.b] = pairing.winsA;
+            wins[pairing.b][pairing.a] = pairing.winsB;
+            games[pairing.a] += pairing.winsA + pairing.winsB;
+            games[pairing.b] += pairing.winsA + pairing.winsB;
+        }
+        int anchor = 0;
+        for (int i = 0; i < contenders.size(); i++)
+        {
+            if (contenders.get(i).name.equals(BASELINE)) anchor = i;
+        }
+        EloRatings ratings = new EloRatings(wins, anchor);
+
+        Map<String, String> previous = readPreviousRatings();
+        System.out.printf("%nClasificacion (Elo relativo a %s, %.1f s):%n", contenders.get(anchor).name, (System.nanoTime() - start) / 1e9);
+        Integer[] order = IntStream.range(0, contenders.size()).boxed()
+                .sorted((x, y) -> Double.compare(ratings.getRating(y), ratings.getRating(x))).toArray(Integer[]::new);
+        for (int rank = 0; rank < order.length; rank++)
+        {
+            int i = order[rank];
+            String before = previous.get(contenders.get(i).name);
+            System.out.printf("  %2d. %-36s %+7.1f +/- %5.1f  (%d partidas)%s%n", rank + 1, contenders.get(i).name,
+                    ratings.getRating(i), ratings.getInterval(i), games[i], before != null ? "  antes " + before : "");
+        }
+
+        save(label, contenders, pairings, ratings, games, anchor);
+    }
+
+    /**
+     * Plays batches of a pairing until the SPRT settles it or the game limit is reached.
+     */
+    private static void play(Pairing pairing, List<Contender> contenders, Sprt sprt, int maxGames, int batch, long seed)
+    {
+        Contender a = contenders.get(pairing.a), b = contenders.get(pairing.b);
+        // The seeds of a pairing only depend on the run seed and the two names
+        SplittableRandom seeds = new SplittableRandom(seed ^ (a.name.hashCode() * 31L + b.name.hashCode()));
+        while (pairing.decision == Sprt.Decision.CONTINUE && pairing.winsA + pairing.winsB < maxGames)
+        {
+            long[] batchSeeds = new long[batch];
+            for (int i = 0; i < batch; i++) batchSeeds[i] = seeds.nextLong();
+
+            // Game 2k: A is the player; game 2k+1: same seed, B is the player
+            long winsA = IntStream.range(0, batch * 2).parallel()
+                    .filter(game -> winsForA(a, b, batchSeeds[game / 2], game % 2 == 1))
+                    .count();
+            pairing.winsA += winsA;
+            pairing.winsB += batch * 2L - winsA;
+            pairing.decision = sprt.test(pairing.winsA, pairing.winsB);
+        }
+        System.out.printf("  %s vs %s: %d-%d -> %s%n", a.name, b.name, pairing.winsA, pairing.winsB, describe(pairing.decision));
+    }
+
+    private static boolean winsForA(Contender a, Contender b, long seed, boolean swapped)
+    {
+        try
+        {
+            MatchResult result = swapped
+                    ? HeadlessMatch.play(seed, b.side(), a.side())
+                    : HeadlessMatch.play(seed, a.side(), b.side());
+            return result.getWinner() == (swapped ? HeadlessMatch.ENEMY : HeadlessMatch.PLAYER);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String describe(Sprt.Decision decision)
+    {
+        switch (decision)
+        {
+            case A_BETTER: return "gana el primero";
+            case B_BETTER: return "gana el segundo";
+            case EQUAL: return "equivalentes";
+            default: return "sin decidir (limite de partidas)";
+        }
+    }
+    //endregion
+
+    //region 3. Results files
+
+    /**
+     * Latest rating of each contender in earlier runs, as "rating (label)".
+     */
+    private static Map<String, String> readPreviousRatings() throws IOException
+    {
+        Map<String, String> previous = new HashMap<>();
+        Path file = Path.of(RATINGS_FILE);
+        if (!Files.exists(file)) return previous;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+        {
+            if (line.startsWith("#")) continue;
+            String[] fields = line.split("\t");
+            if (fields.length >= 4) previous.put(fields[2], fields[3] + " (" + fields[0] + ")");
+        }
+        return previous;
+    }
+
+    // label, time, contender, rating, 95% interval, games, anchor
+    private static void save(String label, List<Contender> contenders, List<Pairing> pairings, EloRatings ratings, long[] games, int anchor)
+    {
+        String time = Instant.now().toString();
+        if (!Files.exists(Path.of(RATINGS_FILE)))
+        {
+            new FileCRUD(RATINGS_FILE).create("# etiqueta\tfecha\tcontendiente\telo\tic95\tpartidas\tancla");
+        }
+        FileCRUD ratingsFile = new FileCRUD(RATINGS_FILE);
+        for (int i = 0; i < contenders.size(); i++)
+        {
+            ratingsFile.create(String.join("\t", label, time, contenders.get(i).name,
+                    String.format("%+.1f", ratings.getRating(i)), String.format("%.1f", ratings.getInterval(i)),
+                    String.valueOf(games[i]), contenders.get(anchor).name));
+        }
+
+        if (!Files.exists(Path.of(PAIRS_FILE)))
+        {
+            new FileCRUD(PAIRS_FILE).create("# etiqueta\tfecha\tprimero\tsegundo\tvictorias1\tvictorias2\tdecision");
+        }
+        FileCRUD pairsFile = new FileCRUD(PAIRS_FILE);
+        for (Pairing pairing : pairings)
+        {
+            pairsFile.create(String.join("\t", label, time, contenders.get(pairing.a).name, contenders.get(pairing.b).name,
+                    String.valueOf(pairing.winsA), String.valueOf(pairing.winsB), pairing.decision.name()));
+        }
+        System.out.println("Resultados guardados en " + RATINGS_FILE + " y " + PAIRS_FILE
+                + " (" + pairings.stream().mapToLong(p -> p.winsA + p.winsB).sum() + " partidas)");
+    }
+    //endregion
+}
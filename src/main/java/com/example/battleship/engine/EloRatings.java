@@ -0,0 +1,93 @@
+package com.example.battleship.engine;
+
+import java.util.Arrays;
+
+/**
+ * Elo ratings fitted to a table of head-to-head results.
+ * We find the Bradley-Terry ratings that best explain all the games at once (maximum
+ * likelihood, by Hunter's MM iterations), instead of updating game by game, so the
+ * result does not depend on the order the games finished in across threads.
+ * Ratings are relative to an anchor contender fixed at 0; with the original enemy as
+ * the anchor, ratings of different versions can be compared directly.
+ * Every pairing gets one virtual draw, which keeps unbeaten contenders finite.
+ */
+public final class EloRatings
+{
+    private static final double SCALE = 400 / Math.log(10); // Natural log units -> Elo points
+    private static final int MAX_ITERATIONS = 10_000;
+
+    private final double[] ratings;
+    private final double[] intervals;
+
+    /**
+     * @param wins wins[i][j] = games i won against j.
+     * @param anchor Contender rated 0.
+     */
+    public EloRatings(long[][] wins, int anchor)
+    {
+        int n = wins.length;
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1.0);
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++)
+        {
+            double change = 0;
+            for (int i = 0; i < n; i++)
+            {
+                double won = 0, weight = 0;
+                for (int j = 0; j < n; j++)
+                {
+                    if (i == j) continue;
+                    double games = games(wins, i, j);
+                    if (games == 0) continue;
+                    won += wins[i][j] + 0.5;
+                    weight += games / (strength[i] + strength[j]);
+                }
+                if (weight == 0) continue;
+                double next = won / weight;
+                change = Math.max(change, Math.abs(Math.log(next / strength[i])));
+                strength[i] = next;
+            }
+            if (change < 1e-9) break;
+        }
+
+        ratings = new double[n];
+        intervals = new double[n];
+        for (int i = 0; i < n; i++)
+        {
+            ratings[i] = SCALE * Math.log(strength[i] / strength[anchor]);
+
+            // Fisher information of the rating: a normal approximation of its 95% interval
+            double information = 0;
+            for (int j = 0; j < n; j++)
+            {
+                if (i == j) continue;
+                double p = strength[i] / (strength[i] + strength[j]);
+                information += games(wins, i, j) * p * (1 - p);
+            }
+            intervals[i] = information > 0 ? 1.96 * SCALE / Math.sqrt(information) : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    // Games between i and j, plus the virtual draw
+    private static double games(long[][] wins, int i, int j)
+    {
+        long played = wins[i][j] + wins[j][i];
+        return played == 0 ? 0 : played + 1;
+    }
+
+    /**
+     * Expected score of a player rated the given Elo points above its opponent.
+     */
+    public static double expectedScore(double difference)
+    {
+        return 1 / (1 + Math.pow(10, -difference / 400));
+    }
+
+    public double getRating(int contender) { return ratings[contender]; }
+
+    /**
+     * Half-width of the 95% confidence interval of the rating.
+     */
+    public double getInterval(int contender) { return intervals[contender]; }
+}
@@ -0,0 +1,247 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.ai.ShotKnowledge;
+import com.example.battleship.models.ShotResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays matches from the command line without JavaFX, for scripts, CI and AI tuning.
+ * Nothing here touches the toolkit, so it runs in a container without a display and
+ * starts as fast as the JVM itself.
+ * Output is one JSON object per line: "game" per match, "shot" per shot (with --moves,
+ * or when the player reads from stdin), "error" for rejected input and a final "summary".
+ * With --player=stdin the player's shots come from standard input, one per line as
+ * "col row" or "col,row" (0-9); an empty input or "quit" stops the match.
+ * Every match has its own seed, derived from --seed, so runs are reproducible.
+ *
+ * Usage: HeadlessCli [--games=N] [--seed=S] [--player=AI|stdin] [--enemy=AI]
+ *                    [--player-fleet=P] [--enemy-fleet=P] [--threads=N] [--moves] [--list]
+ */
+public class HeadlessCli
+{
+    private static final String DEFAULT_AI = "book+endgame+density";
+
+    public static void main(String[] args) throws IOException
+    {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("list"))
+        {
+            System.out.println(new JsonLine().put("type", "strategies")
+                    .put("targeting", String.join(",", Strategies.targetingNames()))
+                    .put("placement", String.join(",", Strategies.placementNames())));
+            return;
+        }
+
+        try
+        {
+            run(options);
+        }
+        catch (IllegalArgumentException e)
+        {
+            System.out.println(new JsonLine().put("type", "error").put("message", e.getMessage()));
+            System.exit(2);
+        }
+    }
+
+    private static void run(Map<String, String> options) throws IOException
+    {
+        int games = Integer.parseInt(options.getOrDefault("games", "1"));
+        long seed = options.containsKey("seed") ? Long.parseLong(options.get("seed")) : System.nanoTime();
+        String playerAi = options.getOrDefault("player", DEFAULT_AI);
+        String enemyAi = options.getOrDefault("enemy", DEFAULT_AI);
+        String playerFleet = options.getOrDefault("player-fleet", "uniform");
+        String enemyFleet = options.getOrDefault("enemy-fleet", "uniform");
+        boolean fromStdin = playerAi.equals("stdin");
+        boolean moves = fromStdin || options.containsKey("moves");
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        // Fail on unknown names before playing anything
+        Strategies.placement(playerFleet);
+        Strategies.placement(enemyFleet);
+        Strategies.targeting(enemyAi);
+        if (!fromStdin) Strategies.targeting(playerAi);
+
+        long[] seeds = new long[games];
+        SplittableRandom seeder = new SplittableRandom(seed);
+        for (int i = 0; i < games; i++) seeds[i] = seeder.nextLong();
+
+        BufferedReader stdin = fromStdin ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)) : null;
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+        if (moves || threads <= 1 || games == 1)
+        {
+            // Shot lines must not interleave, and stdin play is sequential anyway
+            for (long matchSeed : seeds)
+            {
+                HeadlessMatch.Side player = fromStdin
+                        ? new HeadlessMatch.Side("stdin", new StdinShooter(stdin), Strategies.placement(playerFleet))
+                        : HeadlessMatch.Side.of(Strategies.targeting(playerAi), Strategies.placement(playerFleet));
+                HeadlessMatch.Side enemy = HeadlessMatch.Side.of(Strategies.targeting(enemyAi), Strategies.placement(enemyFleet));
+                MatchResult result = HeadlessMatch.play(matchSeed, player, enemy, moves ? HeadlessCli::printShot : null);
+                summary.add(result);
+                System.out.println(result.toJson());
+            }
+        }
+        else
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try
+            {
+                // Matches run on all threads; results are printed in match order
+                pool.submit(() -> IntStream.range(0, games).parallel()
+                        .mapToObj(i -> playQuietly(seeds[i], playerAi, playerFleet, enemyAi, enemyFleet))
+                        .forEachOrdered(result ->
+                        {
+                            summary.add(result);
+                            System.out.println(result.toJson());
+                        })).get();
+            }
+            catch (InterruptedException | ExecutionException e)
+            {
+                throw new IOException("Error al jugar las partidas", e);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        System.out.println(summary.toJson(seed, System.nanoTime() - start));
+    }
+
+    private static MatchResult playQuietly(long seed, String playerAi, String playerFleet, String enemyAi, String enemyFleet)
+    {
+        try
+        {
+            return HeadlessMatch.play(seed,
+                    HeadlessMatch.Side.of(Strategies.targeting(playerAi), Strategies.placement(playerFleet)),
+                    HeadlessMatch.Side.of(Strategies.targeting(enemyAi), Strategies.placement(enemyFleet)));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void printShot(int side, int target, ShotResult result)
+    {
+        System.out.println(new JsonLine().put("type", "shot").put("side", HeadlessMatch.SIDE_NAMES[side])
+                .put("col", target % 10).put("row", target / 10).put("result", result.name()));
+    }
+
+    // --key=value, or --flag
+    static Map<String, String> parse(String[] args)
+    {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args)
+        {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Opcion invalida: " + arg);
+            int equals = arg.indexOf('=');
+            if (equals < 0) options.put(arg.substring(2), "");
+            else options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Reads the player's shots from standard input.
+     */
+    private static final class StdinShooter implements HeadlessMatch.Shooter
+    {
+        private final BufferedReader in;
+
+        StdinShooter(BufferedReader in)
+        {
+            this.in = in;
+        }
+
+        @Override
+        public int nextShot(ShotKnowledge knowledge, Random random) throws IOException
+        {
+            String line;
+            while ((line = in.readLine()) != null)
+            {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                if (line.equalsIgnoreCase("quit")) return -1;
+
+                String[] parts = line.split("[\\s,]+");
+                int col, row;
+                try
+                {
+                    if (parts.length != 2) throw new NumberFormatException();
+                    col = Integer.parseInt(parts[0]);
+                    row = Integer.parseInt(parts[1]);
+                }
+                catch (NumberFormatException e)
+                {
+                    error("Se esperaba \"columna fila\": " + line);
+                    continue;
+                }
+                if (col < 0 || col > 9 || row < 0 || row > 9)
+                {
+                    error("Fuera del tablero: " + line);
+                    continue;
+                }
+                int target = row * 10 + col;
+                if (knowledge.isShot(target))
+                {
+                    error("Casilla ya disparada: " + line);
+                    continue;
+                }
+                return target;
+            }
+            return -1;
+        }
+
+        private static void error(String message)
+        {
+            System.out.println(new JsonLine().put("type", "error").put("message", message));
+        }
+    }
+
+    /**
+     * Totals of a run. Only touched by one thread at a time (results arrive in order).
+     */
+    private static final class Summary
+    {
+        int games, playerWins, enemyWins, unfinished;
+        long playerShots, enemyShots;
+
+        void add(MatchResult result)
+        {
+            games++;
+            if (result.getWinner() == HeadlessMatch.PLAYER) playerWins++;
+            else if (result.getWinner() == HeadlessMatch.ENEMY) enemyWins++;
+            else unfinished++;
+            playerShots += result.getShots(HeadlessMatch.PLAYER);
+            enemyShots += result.getShots(HeadlessMatch.ENEMY);
+        }
+
+        JsonLine toJson(long seed, long nanos)
+        {
+            return new JsonLine()
+                    .put("type", "summary")
+                    .put("seed", seed)
+                    .put("games", games)
+                    .put("playerWins", playerWins)
+                    .put("enemyWins", enemyWins)
+                    .put("unfinished", unfinished)
+                    .put("playerWinRate", games == 0 ? Double.NaN : (double) playerWins / games)
+                    .put("avgPlayerShots", games == 0 ? Double.NaN : (double) playerShots / games)
+                    .put("avgEnemyShots", games == 0 ? Double.NaN : (double) enemyShots / games)
+                    .put("millis", nanos / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.ai.FleetBoard;
+import com.example.battleship.ai.PlacementStrategy;
+import com.example.battleship.ai.ShotKnowledge;
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.models.GameRandom;
+import com.example.battleship.models.ShotResult;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Plays a whole match without any user interface, with the rules of the game:
+ * the player side fires first, a hit fires again, a miss passes the turn, and
+ * whoever sinks the other fleet wins. Both sides share one GameRandom seeded
+ * with the match seed (fleets first, then shots), so a seed replays the same match.
+ */
+public final class HeadlessMatch
+{
+    //region 1. Sides
+    public static final int PLAYER = 0, ENEMY = 1;
+    static final String[] SIDE_NAMES = {"player", "enemy"};
+
+    private static final int MAX_ATTEMPTS = 1000; // Picks of cells already shot before a side forfeits
+
+    /**
+     * Picks shots for one side.
+     */
+    public interface Shooter
+    {
+        /**
+         * @return The target (row * 10 + col), or -1 to stop the match.
+         */
+        int nextShot(ShotKnowledge knowledge, Random random) throws IOException;
+    }
+
+    /**
+     * Sees every accepted shot of a match.
+     */
+    public interface ShotListener
+    {
+        void onShot(int side, int target, ShotResult result) throws IOException;
+    }
+
+    /**
+     * One contender: how it deploys and how it shoots.
+     */
+    public static final class Side
+    {
+        private final String name;
+        private final Shooter shooter;
+        private final PlacementStrategy placement;
+
+        public Side(String name, Shooter shooter, PlacementStrategy placement)
+        {
+            this.name = name;
+            this.shooter = shooter;
+            this.placement = placement;
+        }
+
+        public static Side of(TargetingStrategy targeting, PlacementStrategy placement)
+        {
+            return new Side(targeting.getName(), targeting::chooseTarget, placement);
+        }
+
+        public String getName() { return name; }
+        public PlacementStrategy getPlacement() { return placement; }
+    }
+    //endregion
+
+    private HeadlessMatch()
+    {
+    }
+
+    //region 2. Playing
+
+    public static MatchResult play(long seed, Side player, Side enemy) throws IOException
+    {
+        return play(seed, player, enemy, null);
+    }
+
+    /**
+     * Plays one match.
+     * @param listener Receives every shot, or null.
+     */
+    public static MatchResult play(long seed, Side player, Side enemy, ShotListener listener) throws IOException
+    {
+        long start = System.nanoTime();
+        Side[] sides = {player, enemy};
+        GameRandom random = new GameRandom(seed);
+        // boards[side] holds the fleet of that side, which the other side fires at
+        FleetBoard[] boards = {new FleetBoard(player.placement.place(random)), new FleetBoard(enemy.placement.place(random))};
+        int[] shots = new int[2];
+
+        int turn = PLAYER;
+        while (true)
+        {
+            FleetBoard target = boards[1 - turn];
+            int cell = pick(sides[turn].shooter, target, random);
+            if (cell == -1) return new MatchResult(seed, sides, -1, MatchResult.STOPPED, shots, boards, System.nanoTime() - start);
+            if (cell == -2) return new MatchResult(seed, sides, 1 - turn, MatchResult.FORFEIT, shots, boards, System.nanoTime() - start);
+
+            ShotResult result = target.shoot(cell);
+            shots[turn]++;
+            if (listener != null) listener.onShot(turn, cell, result);
+            if (target.isDefeated()) return new MatchResult(seed, sides, turn, MatchResult.FLEET_SUNK, shots, boards, System.nanoTime() - start);
+            if (!result.isHit()) turn = 1 - turn;
+        }
+    }
+
+    /**
+     * Asks a side for a cell not shot yet: -1 if it stops, -2 if it keeps picking shot cells.
+     */
+    private static int pick(Shooter shooter, FleetBoard target, Random random) throws IOException
+    {
+        ShotKnowledge knowledge = target.knowledge();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++)
+        {
+            int cell = shooter.nextShot(knowledge, random);
+            if (cell < 0) return -1;
+            if (cell < 100 && !knowledge.isShot(cell)) return cell;
+        }
+        return -2;
+    }
+    //endregion
+}
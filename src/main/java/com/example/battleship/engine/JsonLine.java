@@ -0,0 +1,74 @@
+package com.example.battleship.engine;
+
+/**
+ * Builds one JSON object on a single line, for tools that print results as JSON lines.
+ * Only what the tools need: strings, numbers and booleans, in insertion order.
+ */
+public final class JsonLine
+{
+    private final StringBuilder json = new StringBuilder(128).append('{');
+
+    public JsonLine put(String key, String value)
+    {
+        key(key);
+        if (value == null) json.append("null");
+        else quote(value);
+        return this;
+    }
+
+    public JsonLine put(String key, long value)
+    {
+        key(key);
+        json.append(value);
+        return this;
+    }
+
+    public JsonLine put(String key, double value)
+    {
+        key(key);
+        if (Double.isNaN(value) || Double.isInfinite(value)) json.append("null");
+        else json.append(value);
+        return this;
+    }
+
+    public JsonLine put(String key, boolean value)
+    {
+        key(key);
+        json.append(value);
+        return this;
+    }
+
+    private void key(String key)
+    {
+        if (json.length() > 1) json.append(',');
+        quote(key);
+        json.append(':');
+    }
+
+    private void quote(String text)
+    {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            switch (c)
+            {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public String toString()
+    {
+        return json + "}";
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.ai.FleetBoard;
+
+/**
+ * Outcome of a headless match.
+ */
+public final class MatchResult
+{
+    // How the match ended (codes of the JSON output)
+    public static final String FLEET_SUNK = "fleet", FORFEIT = "forfeit", STOPPED = "stopped";
+
+    private final long seed;
+    private final String[] names;
+    private final String[] placements;
+    private final int winner; // HeadlessMatch.PLAYER, ENEMY or -1 without a winner
+    private final String end;
+    private final int[] shots;
+    private final int[] sunk; // Ships each side sank
+    private final long nanos;
+
+    MatchResult(long seed, HeadlessMatch.Side[] sides, int winner, String end, int[] shots, FleetBoard[] boards, long nanos)
+    {
+        this.seed = seed;
+        this.names = new String[]{sides[0].getName(), sides[1].getName()};
+        this.placements = new String[]{sides[0].getPlacement().getName(), sides[1].getPlacement().getName()};
+        this.winner = winner;
+        this.end = end;
+        this.shots = shots.clone();
+        // Each side sank the ships of the other board
+        this.sunk = new int[]{boards[1].getSunkCount(), boards[0].getSunkCount()};
+        this.nanos = nanos;
+    }
+
+    public long getSeed() { return seed; }
+    public String getName(int side) { return names[side]; }
+    public int getWinner() { return winner; }
+    public String getEnd() { return end; }
+    public int getShots(int side) { return shots[side]; }
+    public int getSunk(int side) { return sunk[side]; }
+    public long getNanos() { return nanos; }
+
+    public JsonLine toJson()
+    {
+        return new JsonLine()
+                .put("type", "game")
+                .put("seed", seed)
+                .put("player", names[0])
+                .put("enemy", names[1])
+                .put("playerFleet", placements[0])
+                .put("enemyFleet", placements[1])
+                .put("winner", winner >= 0 ? HeadlessMatch.SIDE_NAMES[winner] : null)
+                .put("end", end)
+                .put("playerShots", shots[0])
+                .put("enemyShots", shots[1])
+                .put("playerSunk", sunk[0])
+                .put("enemySunk", sunk[1])
+                .put("micros", nanos / 1000);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.battleship.engine;
+
+/**
+ * Sequential probability ratio test on the score of one contender against another.
+ * We test two hypotheses at once, "A is at least elo1 better" and "B is at least elo1
+ * better", each against "they are equal", so a pairing stops as soon as one side is
+ * clearly stronger or both tests agree they are level, usually long before the game limit.
+ * Battleship has no draws, so every game is a win or a loss (a Bernoulli trial).
+ */
+public final class Sprt
+{
+    public enum Decision { A_BETTER, B_BETTER, EQUAL, CONTINUE }
+
+    private final double winWeight, lossWeight; // Log-likelihood ratio per win and per loss
+    private final double lower, upper;
+
+    /**
+     * @param elo1 Smallest difference worth detecting, in Elo points.
+     * @param alpha Chance of calling a difference that is not there.
+     * @param beta Chance of missing a difference of elo1.
+     */
+    public Sprt(double elo1, double alpha, double beta)
+    {
+        double p0 = 0.5;
+        double p1 = EloRatings.expectedScore(elo1);
+        winWeight = Math.log(p1 / p0);
+        lossWeight = Math.log((1 - p1) / (1 - p0));
+        lower = Math.log(beta / (1 - alpha));
+        upper = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Log-likelihood ratio of "the first is elo1 better" against "equal".
+     */
+    public double llr(long wins, long losses)
+    {
+        return wins * winWeight + losses * lossWeight;
+    }
+
+    public Decision test(long winsA, long winsB)
+    {
+        double forA = llr(winsA, winsB);
+        double forB = llr(winsB, winsA);
+        if (forA >= upper) return Decision.A_BETTER;
+        if (forB >= upper) return Decision.B_BETTER;
+        if (forA <= lower && forB <= lower) return Decision.EQUAL;
+        return Decision.CONTINUE;
+    }
+
+    public double getLower() { return lower; }
+    public double getUpper() { return upper; }
+}
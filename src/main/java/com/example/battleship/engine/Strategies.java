@@ -0,0 +1,83 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.ai.AntiDensityPlacementStrategy;
+import com.example.battleship.ai.DensityTargetingStrategy;
+import com.example.battleship.ai.EdgeAvoidingPlacementStrategy;
+import com.example.battleship.ai.EndgameSolverStrategy;
+import com.example.battleship.ai.OpeningBook;
+import com.example.battleship.ai.OpeningBookStrategy;
+import com.example.battleship.ai.PlacementStrategy;
+import com.example.battleship.ai.RandomTargetingStrategy;
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.ai.UniformPlacementStrategy;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The AIs that tools can pick by name, under the name each one reports (getName()).
+ * We hand out a new instance every time, so matches running in parallel never share one.
+ */
+public final class Strategies
+{
+    private static final Map<String, Supplier<TargetingStrategy>> TARGETING = new LinkedHashMap<>();
+    private static final Map<String, Supplier<PlacementStrategy>> PLACEMENT = new LinkedHashMap<>();
+
+    static
+    {
+        // The original enemy first: it is the baseline
+        addTargeting(RandomTargetingStrategy::new);
+        addTargeting(DensityTargetingStrategy::new);
+        addTargeting(() -> new EndgameSolverStrategy(new DensityTargetingStrategy(), 200));
+        // What the game plays against a player it does not know yet
+        addTargeting(() -> new OpeningBookStrategy(OpeningBook.getDefault(),
+                new EndgameSolverStrategy(new DensityTargetingStrategy(), 200)));
+
+        // The original deployment first: it is the baseline
+        addPlacement(UniformPlacementStrategy::new);
+        addPlacement(EdgeAvoidingPlacementStrategy::new);
+        // What the game deploys against the player
+        addPlacement(AntiDensityPlacementStrategy::new);
+    }
+
+    private Strategies()
+    {
+    }
+
+    private static void addTargeting(Supplier<TargetingStrategy> factory)
+    {
+        TARGETING.put(factory.get().getName(), factory);
+    }
+
+    private static void addPlacement(Supplier<PlacementStrategy> factory)
+    {
+        PLACEMENT.put(factory.get().getName(), factory);
+    }
+
+    public static TargetingStrategy targeting(String name)
+    {
+        Supplier<TargetingStrategy> factory = TARGETING.get(name);
+        if (factory == null) throw new IllegalArgumentException("IA de disparo desconocida: " + name + " (disponibles: " + TARGETING.keySet() + ")");
+        return factory.get();
+    }
+
+    public static PlacementStrategy placement(String name)
+    {
+        Supplier<PlacementStrategy> factory = PLACEMENT.get(name);
+        if (factory == null) throw new IllegalArgumentException("IA de despliegue desconocida: " + name + " (disponibles: " + PLACEMENT.keySet() + ")");
+        return factory.get();
+    }
+
+    public static Set<String> targetingNames()
+    {
+        return Collections.unmodifiableSet(TARGETING.keySet());
+    }
+
+    public static Set<String> placementNames()
+    {
+        return Collections.unmodifiableSet(PLACEMENT.keySet());
+    }
+}
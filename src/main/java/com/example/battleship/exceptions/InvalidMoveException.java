@@ -2,6 +2,8 @@ package com.example.battleship.exceptions;
 
 /**
  * Exception thrown when a player attempts to make a prohibited move.
+ * Models report invalid moves as a ShotResult; this exception is for the callers
+ * that still want one, normally without a stack trace (filling it in is most of its cost).
  */
 public class InvalidMoveException extends Exception
 {
@@ -9,4 +11,12 @@ public class InvalidMoveException extends Exception
     {
         super(message);
     }
+
+    /**
+     * @param stackTrace false for a stackless exception, when it is part of normal flow.
+     */
+    public InvalidMoveException(String message, boolean stackTrace)
+    {
+        super(message, null, false, stackTrace);
+    }
 }
\ No newline at end of file
@@ -81,29 +81,26 @@ public class Board implements Serializable {
     }
 
     /**
-     * Processes a shot received at the given coordinates.
+     * Fires at the given coordinates and reports the outcome without throwing.
+     * This is the path for bots and simulations, where repeated shots are routine.
      */
-    public CellState receiveShot(int row, int col) throws InvalidMoveException {
+    public ShotResult shoot(int row, int col) {
         Cell cell = getCell(row, col);
+        if (cell == null) return ShotResult.OUT_OF_BOARD;
+        return cell.receiveShot();
+    }
 
-        if (cell.getState() == CellState.MISSED_SHOT ||
-                cell.getState() == CellState.HIT ||
-                cell.getState() == CellState.SUNK) {
-            throw new InvalidMoveException("You already shot here (" + row + "," + col + ")");
-        }
-
-        if (cell.getState() == CellState.SHIP) {
-            cell.setState(CellState.HIT);
-            cell.getOccupyingShip().receiveShot();
-
-            if (cell.getOccupyingShip().isSunk()) {
-                cell.setState(CellState.SUNK);
-                return CellState.SUNK;
-            }
-            return CellState.HIT;
-        } else {
-            cell.setState(CellState.MISSED_SHOT);
-            return CellState.WATER;
+    /**
+     * Processes a shot received at the given coordinates.
+     * Kept for callers that want an exception; it is stackless, so it stays cheap.
+     */
+    public CellState receiveShot(int row, int col) throws InvalidMoveException {
+        switch (shoot(row, col)) {
+            case SUNK: return CellState.SUNK;
+            case HIT: return CellState.HIT;
+            case MISS: return CellState.WATER;
+            case ALREADY_SHOT: throw new InvalidMoveException("You already shot here", false);
+            default: throw new InvalidMoveException("Shot outside the board", false);
         }
     }
 }
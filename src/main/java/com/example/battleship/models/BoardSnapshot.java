@@ -0,0 +1,116 @@
+package com.example.battleship.models;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Immutable state of one board: its fleet plus the cells shot so far.
+ * We keep the shots as a single 100-bit plane (two longs, see PlacementMasks);
+ * hits, misses and sunk ships all follow from it and the fleet. A shot returns a
+ * new snapshot that shares the fleet and its occupancy plane with the previous one,
+ * so recording a move is O(1) and every version can be read from any thread.
+ */
+public final class BoardSnapshot implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    // Shared by every version of the board
+    private final List<ShipPlacement> fleet;
+    private final long shipLo, shipHi;
+
+    private final long shotLo, shotHi;
+
+    private BoardSnapshot(List<ShipPlacement> fleet, long shipLo, long shipHi, long shotLo, long shotHi)
+    {
+        this.fleet = fleet;
+        this.shipLo = shipLo;
+        this.shipHi = shipHi;
+        this.shotLo = shotLo;
+        this.shotHi = shotHi;
+    }
+
+    /**
+     * Creates the snapshot of a fleet with the given shots.
+     */
+    public static BoardSnapshot of(List<ShipPlacement> fleet, long shotLo, long shotHi)
+    {
+        long shipLo = 0, shipHi = 0;
+        for (ShipPlacement placement : fleet)
+        {
+            int origin = PlacementMasks.index(placement.getCol(), placement.getRow());
+            shipLo |= PlacementMasks.lo(placement.getSize(), placement.isHorizontal(), origin);
+            shipHi |= PlacementMasks.hi(placement.getSize(), placement.isHorizontal(), origin);
+        }
+        return new BoardSnapshot(List.copyOf(fleet), shipLo, shipHi, shotLo, shotHi);
+    }
+
+    /**
+     * Captures a logical board indexed as [col][row]. This walks the board once;
+     * afterwards keep the snapshot up to date with {@link #withShot(int, int)}.
+     */
+    public static BoardSnapshot of(Cell[][] board)
+    {
+        long shotLo = 0, shotHi = 0;
+        for (int col = 0; col < 10; col++)
+        {
+            for (int row = 0; row < 10; row++)
+            {
+                CellState state = board[col][row].getState();
+                if (state != CellState.HIT && state != CellState.SUNK && state != CellState.MISSED_SHOT) continue;
+                int index = PlacementMasks.index(col, row);
+                if (index < 64) shotLo |= 1L << index;
+                else shotHi |= 1L << (index - 64);
+            }
+        }
+        return of(ShipPlacement.fromBoard(board), shotLo, shotHi);
+    }
+
+    /**
+     * The same board with one more cell shot.
+     */
+    public BoardSnapshot withShot(int col, int row)
+    {
+        int index = PlacementMasks.index(col, row);
+        if (PlacementMasks.isSet(shotLo, shotHi, index)) return this;
+        return index < 64
+                ? new BoardSnapshot(fleet, shipLo, shipHi, shotLo | 1L << index, shotHi)
+                : new BoardSnapshot(fleet, shipLo, shipHi, shotLo, shotHi | 1L << (index - 64));
+    }
+
+    public List<ShipPlacement> getFleet() { return fleet; }
+    public long getShotLo() { return shotLo; }
+    public long getShotHi() { return shotHi; }
+    public long getHitLo() { return shotLo & shipLo; }
+    public long getHitHi() { return shotHi & shipHi; }
+    public long getMissLo() { return shotLo & ~shipLo; }
+    public long getMissHi() { return shotHi & ~shipHi; }
+
+    public boolean isShot(int col, int row)
+    {
+        return PlacementMasks.isSet(shotLo, shotHi, PlacementMasks.index(col, row));
+    }
+
+    /**
+     * Number of ships whose cells have all been shot.
+     */
+    public int getSunkCount()
+    {
+        int sunk = 0;
+        for (ShipPlacement placement : fleet)
+        {
+            int origin = PlacementMasks.index(placement.getCol(), placement.getRow());
+            long lo = PlacementMasks.lo(placement.getSize(), placement.isHorizontal(), origin);
+            long hi = PlacementMasks.hi(placement.getSize(), placement.isHorizontal(), origin);
+            if ((shotLo & lo) == lo && (shotHi & hi) == hi) sunk++;
+        }
+        return sunk;
+    }
+
+    /**
+     * Builds a new mutable board indexed as [col][row], with ships, hits, misses and sunk ships.
+     */
+    public Cell[][] toCells()
+    {
+        return Replay.buildBoard(fleet, shotLo, shotHi);
+    }
+}
@@ -45,6 +45,37 @@ public class Cell implements Serializable
         this.state = CellState.SHIP;
     }
 
+    /**
+     * Fires at this cell: marks it as hit, sunk or missed and damages its ship.
+     * A cell already fired at is left untouched and reported as ALREADY_SHOT.
+     */
+    public ShotResult receiveShot()
+    {
+        if (state == CellState.HIT || state == CellState.SUNK || state == CellState.MISSED_SHOT) return ShotResult.ALREADY_SHOT;
+
+        if (occupyingShip == null)
+        {
+            state = CellState.MISSED_SHOT;
+            return ShotResult.MISS;
+        }
+
+        state = CellState.HIT;
+        occupyingShip.receiveShot();
+        if (!occupyingShip.isSunk()) return ShotResult.HIT;
+
+        state = CellState.SUNK;
+        return ShotResult.SUNK;
+    }
+
+    /**
+     * Returns the cell to water with no ship, so boards can be reused between games.
+     */
+    public void reset()
+    {
+        this.state = CellState.WATER;
+        this.occupyingShip = null;
+    }
+
     public int getRow() { return row; }
     public int getCol() { return col; }
 }
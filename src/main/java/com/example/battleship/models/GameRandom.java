@@ -0,0 +1,111 @@
+package com.example.battleship.models;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-game source of randomness.
+ * We create exactly one generator per match and remember its seed, so the
+ * same seed always yields the same enemy fleet and the same enemy shots.
+ * The generator is Serializable (as java.util.Random is), which lets a saved
+ * game resume with the exact same sequence it would have produced.
+ * We run java.util.Random's own 48-bit LCG in a field we can read, so a snapshot
+ * keeps the generator as one long (see GameSnapshot) and the numbers are unchanged.
+ * Unlike java.util.Random it is not thread-safe: one thread at a time.
+ */
+public class GameRandom extends Random
+{
+    private static final long serialVersionUID = 1L;
+
+    // Seed forced from the command line (--seed=N), null for a fresh seed every game
+    private static Long fixedSeed = null;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private final long seed;
+
+    // Current LCG state; set by setSeed, which java.util.Random calls from its constructor
+    private long state;
+
+    // False in saves written before the state was a field of its own
+    private boolean stateful = true;
+
+    public GameRandom(long seed)
+    {
+        super(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a generator of the given match that continues from a saved state.
+     */
+    public static GameRandom restore(long seed, long state)
+    {
+        GameRandom random = new GameRandom(seed);
+        random.state = state & MASK;
+        return random;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed)
+    {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits)
+    {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        if (!stateful)
+        {
+            // The old generator state is not reachable; the match continues from its seed
+            state = (seed ^ MULTIPLIER) & MASK;
+            stateful = true;
+        }
+    }
+
+    /**
+     * Creates the generator for a new match.
+     * We use the fixed seed when one was configured, otherwise a random one.
+     */
+    public static GameRandom forNewGame()
+    {
+        long seed = fixedSeed != null ? fixedSeed : ThreadLocalRandom.current().nextLong();
+        return new GameRandom(seed);
+    }
+
+    /**
+     * Forces every following match to use the given seed (null restores random seeds).
+     */
+    public static void setFixedSeed(Long seed)
+    {
+        fixedSeed = seed;
+    }
+
+    public static Long getFixedSeed()
+    {
+        return fixedSeed;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * The internal 48-bit state, enough to continue the sequence with {@link #restore(long, long)}.
+     */
+    public long getState()
+    {
+        return state;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.battleship.models;
+
+import java.io.Serializable;
+
+/**
+ * Result of one finished match, as kept in the game history.
+ * We write one tab-separated line per match (game_history.tsv), which the analytics
+ * can split and aggregate in parallel. Matches of older versions, only kept in the
+ * text log (game_stats.txt), are imported into it once (see LegacyLogImporter).
+ * Unknown numbers are -1 and an unknown strategy is "-".
+ *
+ * Line: time (ms), player, outcome (W/L/?), enemy ships sunk, player shots, enemy shots, enemy strategy.
+ */
+public final class GameRecord implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    public enum Outcome { WIN, LOSS, UNKNOWN }
+
+    private final long time;
+    private final String player;
+    private final Outcome outcome;
+    private final int enemyShipsSunk;
+    private final int playerShots;
+    private final int enemyShots;
+    private final String strategy;
+
+    public GameRecord(long time, String player, Outcome outcome, int enemyShipsSunk, int playerShots, int enemyShots, String strategy)
+    {
+        this.time = time;
+        this.player = clean(player);
+        this.outcome = outcome;
+        this.enemyShipsSunk = enemyShipsSunk;
+        this.playerShots = playerShots;
+        this.enemyShots = enemyShots;
+        this.strategy = strategy == null || strategy.isBlank() ? "-" : clean(strategy);
+    }
+
+    // Tabs and line breaks would split the record
+    private static String clean(String text)
+    {
+        return text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    //region Text forms
+
+    public String toTsv()
+    {
+        return time + "\t" + player + "\t" + outcomeCode() + "\t" + enemyShipsSunk + "\t"
+                + playerShots + "\t" + enemyShots + "\t" + strategy;
+    }
+
+    private char outcomeCode()
+    {
+        return outcome == Outcome.WIN ? 'W' : outcome == Outcome.LOSS ? 'L' : '?';
+    }
+
+    /**
+     * Parses a line of game_history.tsv.
+     * @return The record, or null if the line is malformed.
+     */
+    public static GameRecord fromTsv(String line)
+    {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 7 || fields[2].length() != 1) return null;
+        Outcome outcome;
+        switch (fields[2].charAt(0))
+        {
+            case 'W': outcome = Outcome.WIN; break;
+            case 'L': outcome = Outcome.LOSS; break;
+            case '?': outcome = Outcome.UNKNOWN; break;
+            default: return null;
+        }
+        try
+        {
+            return new GameRecord(Long.parseLong(fields[0]), fields[1], outcome, Integer.parseInt(fields[3]),
+                    Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), fields[6]);
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
+    //endregion
+
+    // Getters
+    public long getTime() { return time; }
+    public String getPlayer() { return player; }
+    public Outcome getOutcome() { return outcome; }
+    public int getEnemyShipsSunk() { return enemyShipsSunk; }
+    public int getPlayerShots() { return playerShots; }
+    public int getEnemyShots() { return enemyShots; }
+    public String getStrategy() { return strategy; }
+}
@@ -0,0 +1,128 @@
+package com.example.battleship.models;
+
+import java.io.Serializable;
+
+/**
+ * Immutable picture of a match at one moment, used for saving and resuming.
+ * We replaced GameState (which held the live Cell arrays) because a snapshot must be
+ * safe to hand to another thread while the game goes on. Building one is O(1):
+ * both boards are BoardSnapshots the controller updates after every shot,
+ * the generator is reduced to its 48-bit state, and the replay is shared by
+ * reference to its append-only shot array plus the move count at this moment.
+ */
+public final class GameSnapshot implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final String playerName;
+    private final BoardSnapshot playerBoard;
+    private final BoardSnapshot enemyBoard;
+    private final int shotsCounter;
+    private final boolean playerTurn;
+    private final int enemyShipsSunkCount;
+    private final int playerShipsSunkCount;
+    private final boolean gameStarted;
+
+    // Generator of the match (see GameRandom)
+    private final long seed;
+    private final long randomState;
+
+    // Replay shots, shared with the live Replay: only the first replayMoves entries belong
+    // to this snapshot and those are never written again. replayMoves is -1 without a replay.
+    private final int[] replayShots;
+    private final int replayMoves;
+
+    public GameSnapshot(String playerName, BoardSnapshot playerBoard, BoardSnapshot enemyBoard, int shotsCounter, boolean playerTurn,
+                        int enemyShipsSunkCount, int playerShipsSunkCount, boolean gameStarted, GameRandom random, Replay replay)
+    {
+        this(playerName, playerBoard, enemyBoard, shotsCounter, playerTurn, enemyShipsSunkCount, playerShipsSunkCount, gameStarted,
+                random.getSeed(), random.getState(),
+                replay != null ? replay.sharedShots() : null, replay != null ? replay.getMoveCount() : -1);
+    }
+
+    private GameSnapshot(String playerName, BoardSnapshot playerBoard, BoardSnapshot enemyBoard, int shotsCounter, boolean playerTurn,
+                         int enemyShipsSunkCount, int playerShipsSunkCount, boolean gameStarted,
+                         long seed, long randomState, int[] replayShots, int replayMoves)
+    {
+        this.playerName = playerName;
+        this.playerBoard = playerBoard;
+        this.enemyBoard = enemyBoard;
+        this.shotsCounter = shotsCounter;
+        this.playerTurn = playerTurn;
+        this.enemyShipsSunkCount = enemyShipsSunkCount;
+        this.playerShipsSunkCount = playerShipsSunkCount;
+        this.gameStarted = gameStarted;
+        this.seed = seed;
+        this.randomState = randomState;
+        this.replayShots = replayShots;
+        this.replayMoves = replayMoves;
+    }
+
+    /**
+     * Rebuilds a snapshot from its stored fields (see SnapshotCodec).
+     * @param replayShots Packed replay shots (see Replay), or null with replayMoves -1.
+     */
+    public static GameSnapshot restore(String playerName, BoardSnapshot playerBoard, BoardSnapshot enemyBoard, int shotsCounter,
+                                       boolean playerTurn, int enemyShipsSunkCount, int playerShipsSunkCount, boolean gameStarted,
+                                       long seed, long randomState, int[] replayShots, int replayMoves)
+    {
+        return new GameSnapshot(playerName, playerBoard, enemyBoard, shotsCounter, playerTurn, enemyShipsSunkCount,
+                playerShipsSunkCount, gameStarted, seed, randomState, replayShots, replayMoves);
+    }
+
+    /**
+     * Converts a save written before snapshots existed.
+     */
+    public static GameSnapshot fromLegacy(GameState state)
+    {
+        GameRandom random = state.getRandom() != null ? state.getRandom() : GameRandom.forNewGame();
+        return new GameSnapshot(state.getPlayerName(),
+                BoardSnapshot.of(state.getPlayerBoard()), BoardSnapshot.of(state.getEnemyBoard()),
+                state.getShotsCounter(), state.isPlayerTurn(),
+                state.getEnemyShipsSunkCount(), state.getPlayerShipsSunkCount(), state.isGameStarted(),
+                random, state.getReplay());
+    }
+
+    // Getters
+    public String getPlayerName() { return playerName; }
+    public BoardSnapshot getPlayerBoard() { return playerBoard; }
+    public BoardSnapshot getEnemyBoard() { return enemyBoard; }
+    public int getShotsCounter() { return shotsCounter; }
+    public boolean isPlayerTurn() { return playerTurn; }
+    public int getEnemyShipsSunkCount() { return enemyShipsSunkCount; }
+    public int getPlayerShipsSunkCount() { return playerShipsSunkCount; }
+    public boolean isGameStarted() { return gameStarted; }
+    public long getSeed() { return seed; }
+    public long getRandomState() { return randomState; }
+    public int getReplayMoves() { return replayMoves; }
+
+    /**
+     * Packed replay shot of a move: (row * 10 + col) << 1 | 1 when the machine fired.
+     */
+    public int getReplayShot(int move) { return replayShots[move]; }
+
+    /**
+     * A new generator that continues exactly where the match's one was.
+     */
+    public GameRandom restoreRandom()
+    {
+        return GameRandom.restore(seed, randomState);
+    }
+
+    /**
+     * A new replay with the moves of this snapshot, or null if the match had none yet.
+     */
+    public Replay restoreReplay()
+    {
+        if (replayMoves < 0) return null;
+        return Replay.restore(playerName, seed, playerBoard.getFleet(), enemyBoard.getFleet(), replayShots, replayMoves);
+    }
+
+    /**
+     * Determines if the game has reached a conclusion.
+     */
+    public boolean isGameOver()
+    {
+        return enemyShipsSunkCount >= 10 || playerShipsSunkCount >= 10;
+    }
+}
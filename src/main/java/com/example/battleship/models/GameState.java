@@ -6,6 +6,7 @@ import java.io.Serializable;
  * Container class that holds the complete game state for saving and loading.
  * We implement Serializable to enable binary file persistence, capturing
  * everything needed to restore a game exactly where the player left off.
+ * New saves use GameSnapshot; this class is kept so older save files still load.
  */
 public class GameState implements Serializable
 {
@@ -24,7 +25,13 @@ public class GameState implements Serializable
     // Game status
     private boolean gameStarted;
 
-    public GameState(Cell[][] playerBoard, Cell[][] enemyBoard, String playerName, int shotsCounter, boolean isPlayerTurn, int enemyShipsSunkCount,int playerShipsSunkCount,boolean gameStarted)
+    // Move history of the match, null for saves made before replays existed
+    private Replay replay;
+
+    // Generator of the match, saved with its internal state so a resumed game stays deterministic
+    private GameRandom random;
+
+    public GameState(Cell[][] playerBoard, Cell[][] enemyBoard, String playerName, int shotsCounter, boolean isPlayerTurn, int enemyShipsSunkCount,int playerShipsSunkCount,boolean gameStarted, Replay replay, GameRandom random)
     {
         this.playerBoard = playerBoard;
         this.enemyBoard = enemyBoard;
@@ -34,6 +41,8 @@ public class GameState implements Serializable
         this.enemyShipsSunkCount = enemyShipsSunkCount;
         this.playerShipsSunkCount = playerShipsSunkCount;
         this.gameStarted = gameStarted;
+        this.replay = replay;
+        this.random = random;
     }
 
     // Getters
@@ -45,6 +54,8 @@ public class GameState implements Serializable
     public int getEnemyShipsSunkCount() { return enemyShipsSunkCount; }
     public int getPlayerShipsSunkCount() { return playerShipsSunkCount; }
     public boolean isGameStarted() { return gameStarted; }
+    public Replay getReplay() { return replay; }
+    public GameRandom getRandom() { return random; }
 
     /**
      * Determines if the game has reached a conclusion.
@@ -0,0 +1,67 @@
+package com.example.battleship.models;
+
+import java.util.List;
+
+/**
+ * How often a player has put a ship on each cell across finished games.
+ * We keep raw counts (cheap to persist and to update once per game) plus a
+ * smoothed frequency table, so the AI reads the prior of a cell in O(1).
+ */
+public class PlacementHeatmap
+{
+    // Fraction of the board covered by the standard fleet (20 of 100 cells)
+    public static final double FLEET_COVERAGE = 0.2;
+    // Weight of the uniform assumption, in games, before the player's habits dominate
+    private static final double SMOOTHING_GAMES = 4.0;
+
+    private final String playerName;
+    private int games;
+    private final int[] counts = new int[100];
+    private final double[] frequency = new double[100];
+
+    public PlacementHeatmap(String playerName)
+    {
+        this(playerName, 0, new int[100]);
+    }
+
+    public PlacementHeatmap(String playerName, int games, int[] counts)
+    {
+        this.playerName = playerName;
+        this.games = games;
+        System.arraycopy(counts, 0, this.counts, 0, 100);
+        refreshFrequencies();
+    }
+
+    /**
+     * Adds the fleet of one finished game to the heatmap.
+     */
+    public void record(List<ShipPlacement> fleet) {
+        for (ShipPlacement ship : fleet) {
+            for (int i = 0; i < ship.getSize(); i++) {
+                counts[PlacementMasks.index(ship.colAt(i), ship.rowAt(i))]++;
+            }
+        }
+        games++;
+        refreshFrequencies();
+    }
+
+    /**
+     * Recomputes the smoothed table: (count + k * coverage) / (games + k).
+     */
+    private void refreshFrequencies() {
+        for (int index = 0; index < 100; index++) {
+            frequency[index] = (counts[index] + SMOOTHING_GAMES * FLEET_COVERAGE) / (games + SMOOTHING_GAMES);
+        }
+    }
+
+    /**
+     * Estimated probability that this player puts a ship on the cell.
+     */
+    public double getFrequency(int index) {
+        return frequency[index];
+    }
+
+    public String getPlayerName() { return playerName; }
+    public int getGames() { return games; }
+    public int getCount(int index) { return counts[index]; }
+}
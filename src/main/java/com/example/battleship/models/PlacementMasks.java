@@ -0,0 +1,68 @@
+package com.example.battleship.models;
+
+/**
+ * Precomputed bitmasks for every possible ship placement.
+ * A board is represented as 100 bits split over two longs (lo: cells 0-63,
+ * hi: cells 64-99), with cell index = row * 10 + col. We build the mask of
+ * each (size, orientation, origin) once, so placement checks become a couple
+ * of AND operations instead of walking Cell objects.
+ */
+public final class PlacementMasks
+{
+    public static final int MAX_SIZE = 4;
+
+    // Indexed by [size * 2 + (horizontal ? 0 : 1)][origin]
+    private static final long[][] LO = new long[(MAX_SIZE + 1) * 2][100];
+    private static final long[][] HI = new long[(MAX_SIZE + 1) * 2][100];
+    private static final boolean[][] FITS = new boolean[(MAX_SIZE + 1) * 2][100];
+
+    static {
+        for (int size = 1; size <= MAX_SIZE; size++) {
+            for (int orientation = 0; orientation < 2; orientation++) {
+                boolean horizontal = orientation == 0;
+                int slot = size * 2 + orientation;
+                for (int origin = 0; origin < 100; origin++) {
+                    int col = origin % 10;
+                    int row = origin / 10;
+                    if ((horizontal && col + size > 10) || (!horizontal && row + size > 10)) continue;
+
+                    FITS[slot][origin] = true;
+                    for (int i = 0; i < size; i++) {
+                        int index = horizontal ? origin + i : origin + i * 10;
+                        if (index < 64) LO[slot][origin] |= 1L << index;
+                        else HI[slot][origin] |= 1L << (index - 64);
+                    }
+                }
+            }
+        }
+    }
+
+    private PlacementMasks() {}
+
+    public static int index(int col, int row) {
+        return row * 10 + col;
+    }
+
+    /**
+     * Whether a ship of this size fits inside the board from the given origin.
+     */
+    public static boolean fits(int size, boolean horizontal, int origin) {
+        return FITS[size * 2 + (horizontal ? 0 : 1)][origin];
+    }
+
+    public static long lo(int size, boolean horizontal, int origin) {
+        return LO[size * 2 + (horizontal ? 0 : 1)][origin];
+    }
+
+    public static long hi(int size, boolean horizontal, int origin) {
+        return HI[size * 2 + (horizontal ? 0 : 1)][origin];
+    }
+
+    public static boolean isSet(long lo, long hi, int index) {
+        return index < 64 ? (lo & (1L << index)) != 0 : (hi & (1L << (index - 64))) != 0;
+    }
+
+    public static int count(long lo, long hi) {
+        return Long.bitCount(lo) + Long.bitCount(hi);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.battleship.models;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Move-by-move record of a match: both initial fleets plus the ordered shot sequence.
+ * We keep shots as packed ints (cell index and shooter in one value) so recording
+ * costs an array store per move, and build a keyframe index on demand so any
+ * move can be reached with a binary search plus a handful of replayed shots.
+ */
+public class Replay implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    // A keyframe (shot masks of both boards) is kept every this many moves
+    public static final int KEYFRAME_INTERVAL = 16;
+
+    private final String playerName;
+    private final long seed;
+    private final List<ShipPlacement> playerFleet;
+    private final List<ShipPlacement> enemyFleet;
+
+    // Packed shots: (row * 10 + col) << 1 | 1 when the machine fired on the player's board
+    private int[] shots = new int[64];
+    private int shotCount = 0;
+
+    // Seek index, rebuilt lazily and never persisted
+    private transient int[] keyframeMoves;
+    private transient long[] keyframeMasks;
+    private transient int keyframeCount;
+    private transient long[] runningMasks;
+    private transient int indexedShots;
+
+    public Replay(String playerName, long seed, List<ShipPlacement> playerFleet, List<ShipPlacement> enemyFleet)
+    {
+        this.playerName = playerName;
+        this.seed = seed;
+        this.playerFleet = Collections.unmodifiableList(new ArrayList<>(playerFleet));
+        this.enemyFleet = Collections.unmodifiableList(new ArrayList<>(enemyFleet));
+    }
+
+    /**
+     * Rebuilds a replay from its first {@code moveCount} packed shots (see GameSnapshot).
+     */
+    public static Replay restore(String playerName, long seed, List<ShipPlacement> playerFleet, List<ShipPlacement> enemyFleet,
+                                 int[] shots, int moveCount) {
+        Replay replay = new Replay(playerName, seed, playerFleet, enemyFleet);
+        replay.shots = Arrays.copyOf(shots, Math.max(64, moveCount * 2));
+        replay.shotCount = moveCount;
+        return replay;
+    }
+
+    /**
+     * Starts a replay from the fleets currently deployed on both boards.
+     */
+    public static Replay capture(String playerName, long seed, Cell[][] playerBoard, Cell[][] enemyBoard) {
+        return new Replay(playerName, seed, ShipPlacement.fromBoard(playerBoard), ShipPlacement.fromBoard(enemyBoard));
+    }
+
+    //region Recording
+
+    /**
+     * Appends a shot to the sequence.
+     *
+     * @param byEnemy true when the machine fired at the player's board
+     */
+    public void recordShot(boolean byEnemy, int col, int row) {
+        if (shotCount == shots.length) {
+            shots = Arrays.copyOf(shots, shots.length * 2);
+        }
+        shots[shotCount++] = ((row * 10 + col) << 1) | (byEnemy ? 1 : 0);
+    }
+
+    /**
+     * The packed shot array itself, for snapshots. Entries below the current move count
+     * are never written again (growing the array copies it), so a snapshot can keep the
+     * array and its count without copying.
+     */
+    int[] sharedShots() { return shots; }
+
+    public int getMoveCount() { return shotCount; }
+    public boolean isEnemyShot(int move) { return (shots[move] & 1) != 0; }
+    public int getShotCol(int move) { return (shots[move] >>> 1) % 10; }
+    public int getShotRow(int move) { return (shots[move] >>> 1) / 10; }
+    public String getPlayerName() { return playerName; }
+    public long getSeed() { return seed; }
+    public List<ShipPlacement> getPlayerFleet() { return playerFleet; }
+    public List<ShipPlacement> getEnemyFleet() { return enemyFleet; }
+    //endregion
+
+    //region Seeking
+
+    /**
+     * Rebuilds both boards as they were after the first {@code move} shots.
+     * We binary-search the closest keyframe at or before the move and replay
+     * at most KEYFRAME_INTERVAL - 1 shots from there.
+     */
+    public ReplayFrame frameAt(int move) {
+        move = Math.max(0, Math.min(move, shotCount));
+        ensureIndex();
+
+        int k = Arrays.binarySearch(keyframeMoves, 0, keyframeCount, move);
+        if (k < 0) k = -k - 2;
+
+        long[] masks = Arrays.copyOfRange(keyframeMasks, k * 4, k * 4 + 4);
+        for (int i = keyframeMoves[k]; i < move; i++) {
+            applyShot(shots[i], masks);
+        }
+
+        return new ReplayFrame(move,
+                buildBoard(playerFleet, masks[0], masks[1]),
+                buildBoard(enemyFleet, masks[2], masks[3]));
+    }
+
+    /**
+     * Extends the keyframe index up to the current shot count.
+     * Recording may continue after a seek, so we resume from the last indexed move.
+     */
+    private void ensureIndex() {
+        if (keyframeMoves == null) {
+            keyframeMoves = new int[8];
+            keyframeMasks = new long[8 * 4];
+            runningMasks = new long[4];
+            keyframeCount = 1; // Move 0: nothing shot yet
+            indexedShots = 0;
+        }
+
+        while (indexedShots < shotCount) {
+            applyShot(shots[indexedShots], runningMasks);
+            indexedShots++;
+
+            if (indexedShots % KEYFRAME_INTERVAL == 0) {
+                if (keyframeCount == keyframeMoves.length) {
+                    keyframeMoves = Arrays.copyOf(keyframeMoves, keyframeCount * 2);
+                    keyframeMasks = Arrays.copyOf(keyframeMasks, keyframeCount * 2 * 4);
+                }
+                keyframeMoves[keyframeCount] = indexedShots;
+                System.arraycopy(runningMasks, 0, keyframeMasks, keyframeCount * 4, 4);
+                keyframeCount++;
+            }
+        }
+    }
+
+    /**
+     * Marks a packed shot in the shot masks (player lo/hi, enemy lo/hi).
+     */
+    private static void applyShot(int packed, long[] masks) {
+        int index = packed >>> 1;
+        int plane = (packed & 1) != 0 ? 0 : 2; // The machine shoots at the player's board
+        if (index < 64) masks[plane] |= 1L << index;
+        else masks[plane + 1] |= 1L << (index - 64);
+    }
+
+    private static boolean isShot(long lo, long hi, int index) {
+        return index < 64 ? (lo & (1L << index)) != 0 : (hi & (1L << (index - 64))) != 0;
+    }
+
+    /**
+     * Materializes a board indexed as [col][row] from a fleet and its shot mask.
+     * Shot ship cells are HIT, and one cell of each destroyed ship is flagged SUNK
+     * so the fire overlay gets drawn. The live game flags the cell whose shot sank
+     * the ship; the masks carry no shot order, so we flag the ship's origin instead.
+     */
+    static Cell[][] buildBoard(List<ShipPlacement> fleet, long shotLo, long shotHi) {
+        Cell[][] board = new Cell[10][10];
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                board[i][j] = new Cell(i, j);
+            }
+        }
+
+        for (ShipPlacement placement : fleet) {
+            Ship ship = ShipFactory.createShip(placement.getSize());
+            for (int i = 0; i < placement.getSize(); i++) {
+                board[placement.colAt(i)][placement.rowAt(i)].setOccupyingShip(ship);
+            }
+        }
+
+        for (int index = 0; index < 100; index++) {
+            if (!isShot(shotLo, shotHi, index)) continue;
+            Cell cell = board[index % 10][index / 10];
+            if (cell.getOccupyingShip() != null) {
+                cell.setState(CellState.HIT);
+                cell.getOccupyingShip().receiveShot();
+            } else {
+                cell.setState(CellState.MISSED_SHOT);
+            }
+        }
+
+        for (ShipPlacement placement : fleet) {
+            Cell origin = board[placement.getCol()][placement.getRow()];
+            if (origin.getOccupyingShip().isSunk()) {
+                origin.setState(CellState.SUNK);
+            }
+        }
+        return board;
+    }
+    //endregion
+}
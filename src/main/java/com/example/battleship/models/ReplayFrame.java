@@ -0,0 +1,24 @@
+package com.example.battleship.models;
+
+/**
+ * Logical state of both boards at a given move of a replay.
+ * We hand out fresh Cell grids so the viewer can render them with
+ * the same code paths used during a live game.
+ */
+public class ReplayFrame
+{
+    private final int move;
+    private final Cell[][] playerBoard;
+    private final Cell[][] enemyBoard;
+
+    public ReplayFrame(int move, Cell[][] playerBoard, Cell[][] enemyBoard)
+    {
+        this.move = move;
+        this.playerBoard = playerBoard;
+        this.enemyBoard = enemyBoard;
+    }
+
+    public int getMove() { return move; }
+    public Cell[][] getPlayerBoard() { return playerBoard; }
+    public Cell[][] getEnemyBoard() { return enemyBoard; }
+}
@@ -5,6 +5,16 @@ package com.example.battleship.models;
  */
 public class ShipFactory
 {
+    // Standard fleet: 1 Carrier (4), 2 Submarines (3), 3 Destroyers (2), 4 Frigates (1)
+    public static final String[] FLEET = {
+            "carrier",
+            "submarine", "submarine",
+            "destroyer", "destroyer", "destroyer",
+            "frigate", "frigate", "frigate", "frigate"
+    };
+
+    // Ship lengths of the standard fleet, largest first
+    public static final int[] FLEET_SIZES = {4, 3, 3, 2, 2, 2, 1, 1, 1, 1};
 
     public static Ship createShip(String type)
     {
@@ -31,4 +41,21 @@ public class ShipFactory
                 throw new IllegalArgumentException("Unknown ship type: " + type);
         }
     }
+
+    /**
+     * Creates a ship from its length alone.
+     * We use this when rebuilding boards from stored layouts, where only the size is kept.
+     */
+    public static Ship createShip(int size)
+    {
+        switch (size)
+        {
+            case 4: return createShip("carrier");
+            case 3: return createShip("submarine");
+            case 2: return createShip("destroyer");
+            case 1: return createShip("frigate");
+            default:
+                throw new IllegalArgumentException("Unknown ship size: " + size);
+        }
+    }
 }
\ No newline at end of file
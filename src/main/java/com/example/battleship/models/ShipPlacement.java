@@ -0,0 +1,71 @@
+package com.example.battleship.models;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable description of where a ship sits on a board.
+ * We store only the origin cell, the size and the orientation, which is
+ * everything needed to rebuild the ship later (replays, analytics, AI).
+ */
+public final class ShipPlacement implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int size;
+    private final int col;
+    private final int row;
+    private final boolean horizontal;
+
+    public ShipPlacement(int size, int col, int row, boolean horizontal)
+    {
+        this.size = size;
+        this.col = col;
+        this.row = row;
+        this.horizontal = horizontal;
+    }
+
+    public int getSize() { return size; }
+    public int getCol() { return col; }
+    public int getRow() { return row; }
+    public boolean isHorizontal() { return horizontal; }
+
+    /**
+     * Column of the i-th cell covered by this ship.
+     */
+    public int colAt(int i) {
+        return horizontal ? col + i : col;
+    }
+
+    /**
+     * Row of the i-th cell covered by this ship.
+     */
+    public int rowAt(int i) {
+        return horizontal ? row : row + i;
+    }
+
+    /**
+     * Extracts the fleet layout from a logical board indexed as [col][row].
+     * We scan column by column, so the first cell found for each ship is its origin,
+     * and detect orientation by looking at the next column (same rule as BoardVisualizer).
+     */
+    public static List<ShipPlacement> fromBoard(Cell[][] board) {
+        List<ShipPlacement> fleet = new ArrayList<>();
+        Set<Ship> seen = new HashSet<>();
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                Ship ship = board[i][j].getOccupyingShip();
+                if (ship != null && seen.add(ship)) {
+                    boolean horizontal = ship.getSize() == 1
+                            || (i + 1 < 10 && board[i + 1][j].getOccupyingShip() == ship);
+                    fleet.add(new ShipPlacement(ship.getSize(), i, j, horizontal));
+                }
+            }
+        }
+        return fleet;
+    }
+}
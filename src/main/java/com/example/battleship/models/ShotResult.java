@@ -0,0 +1,24 @@
+package com.example.battleship.models;
+
+/**
+ * Outcome of firing at a cell.
+ * We return it instead of throwing, so callers that fire a lot (bots, simulations)
+ * can treat a repeated or misplaced shot as an ordinary result.
+ */
+public enum ShotResult {
+    MISS, HIT, SUNK, ALREADY_SHOT, OUT_OF_BOARD;
+
+    /**
+     * Whether the shot landed on a ship (and the shooter fires again).
+     */
+    public boolean isHit() {
+        return this == HIT || this == SUNK;
+    }
+
+    /**
+     * Whether the shot was accepted and changed the board.
+     */
+    public boolean isValid() {
+        return this != ALREADY_SHOT && this != OUT_OF_BOARD;
+    }
+}
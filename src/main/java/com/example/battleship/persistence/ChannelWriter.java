@@ -0,0 +1,135 @@
+package com.example.battleship.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file kept open for the whole session, written through a FileChannel.
+ * We reuse one direct buffer per writer, so writing a record allocates nothing and
+ * costs one write system call: no stream objects, no heap copies, no open/close.
+ * Writes are not buffered in Java, so what a writer wrote is visible to readers at once.
+ * Writers are thread-safe; calls are serialized.
+ */
+public class ChannelWriter implements Closeable
+{
+    //region 1. Variables and constants
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    //endregion
+
+    //region 2. Constructors
+
+    private ChannelWriter(FileChannel channel, int capacity)
+    {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Opens (or creates) a file for positional writes at any offset.
+     */
+    public static ChannelWriter open(Path file, int capacity) throws IOException
+    {
+        return new ChannelWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), capacity);
+    }
+
+    /**
+     * Opens (or creates) a file whose writes always go to its end, like a log.
+     */
+    public static ChannelWriter append(Path file, int capacity) throws IOException
+    {
+        return new ChannelWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND), capacity);
+    }
+    //endregion
+
+    //region 3. Writing
+
+    /**
+     * The reusable direct buffer of this writer, cleared, for callers that encode records themselves.
+     * It belongs to the writer: fill it, flip it and pass it to a write method while holding the writer's lock.
+     */
+    public ByteBuffer buffer()
+    {
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Writes several buffers back to back from the given offset with a gathering write,
+     * e.g. a header, a body and a trailer, without copying them together first.
+     */
+    public synchronized void writeAt(long position, ByteBuffer... parts) throws IOException
+    {
+        channel.position(position);
+        long remaining = 0;
+        for (ByteBuffer part : parts) remaining += part.remaining();
+        while (remaining > 0) remaining -= channel.write(parts);
+    }
+
+    /**
+     * Appends a line of text (UTF-8 plus the platform line separator) through the reusable buffer.
+     */
+    public synchronized void appendLine(String line) throws IOException
+    {
+        CharBuffer chars = CharBuffer.wrap(line + System.lineSeparator());
+        encoder.reset();
+        ByteBuffer out = buffer();
+        while (true)
+        {
+            CoderResult result = encoder.encode(chars, out, true);
+            if (result.isOverflow())
+            {
+                // A record larger than the buffer: grow it, so the line still goes out in one write
+                out = grow(out);
+                continue;
+            }
+            if (result.isError()) result.throwException();
+            break;
+        }
+        encoder.flush(out);
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+    }
+
+    /**
+     * Replaces the reusable buffer with a larger one holding what was encoded so far (a rare event: records are small).
+     */
+    private ByteBuffer grow(ByteBuffer filled)
+    {
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(64, filled.capacity() * 2));
+        larger.put(filled.flip());
+        buffer = larger;
+        return larger;
+    }
+
+    public synchronized void truncate(long size) throws IOException
+    {
+        channel.truncate(size);
+    }
+
+    /**
+     * Waits until everything written so far is on the disk.
+     */
+    public synchronized void force() throws IOException
+    {
+        channel.force(true);
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        channel.close();
+    }
+    //endregion
+}
@@ -1,15 +1,22 @@
 package com.example.battleship.persistence;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provides basic CRUD (Create-Read-Update-Delete) operations for text files.
  * We use this utility class to manage game logs and simple text-based persistence,
  * handling file I/O with proper error management.
+ * Appends go through one ChannelWriter per file, opened once and kept for the session.
  */
 public class FileCRUD {
 
+    // Open log files of the session, shared by every FileCRUD of the same path
+    private static final Map<String, ChannelWriter> APPENDERS = new ConcurrentHashMap<>();
+
     String filePath;
 
     /**
@@ -26,17 +33,23 @@ public class FileCRUD {
      */
     public void create(String content) {
         try {
-            FileWriter fileWriter = new FileWriter(filePath, true);
-            BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
-            bufferedWriter.write(content);
-            bufferedWriter.newLine();
-            bufferedWriter.close();
+            appender().appendLine(content);
         }
-        catch (IOException e) {
+        catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
         }
     }
 
+    private ChannelWriter appender() {
+        return APPENDERS.computeIfAbsent(filePath, path -> {
+            try {
+                return ChannelWriter.append(Path.of(path), 1024);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Reads all lines from the file into a list.
      * We return an empty list if the file doesn't exist or can't be read.
@@ -0,0 +1,40 @@
+package com.example.battleship.persistence;
+
+/**
+ * When saved games are forced to the disk (fsync), trading durability for write latency.
+ * Every save goes to a slot of a SaveRing, never over the newest one that was forced, and
+ * is checksummed, so neither a crash nor a power loss leaves only a half-written save; the
+ * policy only decides how much recent progress a power loss may cost.
+ */
+public enum FsyncPolicy
+{
+    /** Force every save before it replaces the previous one: nothing is lost, each save waits for the disk. */
+    EVERY_SAVE,
+    /** Force at most once per interval; a save that was not forced is forced when the interval ends. */
+    INTERVAL,
+    /** Never wait for the disk while playing; the newest save is forced when the application exits. */
+    ON_EXIT;
+
+    /**
+     * Reads a command-line value: "every", "exit", or an interval in milliseconds (e.g. "500").
+     * @throws IllegalArgumentException If the value is none of those.
+     */
+    public static FsyncPolicy parse(String value)
+    {
+        String option = value.trim().toLowerCase();
+        if (option.equals("every")) return EVERY_SAVE;
+        if (option.equals("exit")) return ON_EXIT;
+        if (option.matches("\\d+(ms)?")) return INTERVAL;
+        throw new IllegalArgumentException("Politica de fsync desconocida: " + value);
+    }
+
+    /**
+     * The interval of a command-line value accepted by {@link #parse(String)}, or 0 if it has none.
+     */
+    public static long parseInterval(String value)
+    {
+        String option = value.trim().toLowerCase();
+        if (!option.matches("\\d+(ms)?")) return 0;
+        return Long.parseLong(option.replace("ms", ""));
+    }
+}
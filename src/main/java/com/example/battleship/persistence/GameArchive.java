@@ -0,0 +1,391 @@
+package com.example.battleship.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One file holding many finished games (replays and final saves) instead of one file each.
+ * Every entry is its own Deflate-compressed block, and an index at the end of the file
+ * lists where each block starts, so reading one game is a single positional read.
+ * Bulk jobs use {@link #stream(EntryVisitor)}, which walks the blocks in file order
+ * through a memory mapping, at the speed of the disk.
+ * Appending writes the new block over the old index and then a new index; if that is
+ * interrupted, the blocks (each with its own header and checksum) are scanned to rebuild it.
+ *
+ * Layout: magic "BSA1", blocks, index, trailer.
+ * Block: type, time, name (length + UTF-8), raw length, compressed length, CRC32C of the raw data, Deflate data.
+ * Index: the offset of each block. Trailer: index offset (long), entry count (int), magic "BSAX".
+ */
+public class GameArchive implements Closeable
+{
+    //region 1. Variables and constants
+    public static final byte REPLAY = 1;
+    public static final byte SAVE = 2;
+
+    private static final int MAGIC = 0x42534131;         // "BSA1"
+    private static final int TRAILER_MAGIC = 0x42534158; // "BSAX"
+    private static final int TRAILER = 8 + 4 + 4;
+    private static final long STREAM_WINDOW = 64L << 20;  // Mapped at a time while streaming
+
+    private static final Path SHARED_FILE = Path.of("replays", "games.bsa");
+    private static GameArchive shared;
+
+    private final FileChannel channel;
+    private final List<Entry> entries = new ArrayList<>();
+    private long dataEnd; // Where the next block goes (the index follows the blocks)
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final Inflater inflater = new Inflater();
+    private final CRC32C crc = new CRC32C();
+    //endregion
+
+    //region 2. Entries
+
+    /**
+     * Index entry: where a game is and what it is.
+     */
+    public static final class Entry
+    {
+        private final long offset;
+        private final byte type;
+        private final long time;
+        private final String name;
+        private final int rawLength;
+        private final int compressedLength;
+        private final int headerLength;
+
+        private Entry(long offset, byte type, long time, String name, int rawLength, int compressedLength, int headerLength)
+        {
+            this.offset = offset;
+            this.type = type;
+            this.time = time;
+            this.name = name;
+            this.rawLength = rawLength;
+            this.compressedLength = compressedLength;
+            this.headerLength = headerLength;
+        }
+
+        public byte getType() { return type; }
+        public long getTime() { return time; }
+        public String getName() { return name; }
+        public int getRawLength() { return rawLength; }
+        public int getCompressedLength() { return compressedLength; }
+        long getOffset() { return offset; }
+        long getEnd() { return offset + headerLength + compressedLength; }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
+
+    /**
+     * Receives the games of a sequential scan, in file order.
+     */
+    public interface EntryVisitor
+    {
+        void visit(Entry entry, byte[] data) throws IOException;
+    }
+    //endregion
+
+    //region 3. Opening
+
+    private GameArchive(FileChannel channel) throws IOException
+    {
+        this.channel = channel;
+        if (channel.size() == 0)
+        {
+            channel.write(ByteBuffer.allocate(4).putInt(0, MAGIC));
+            dataEnd = 4;
+            writeIndex();
+        }
+        else if (!readIndex())
+        {
+            System.out.println("Indice del archivo de partidas danado, reconstruyendo...");
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Opens an archive, creating it if it does not exist.
+     */
+    public static GameArchive open(Path file) throws IOException
+    {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        return new GameArchive(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * The archive of this installation (replays/games.bsa), opened once for the session.
+     */
+    public static synchronized GameArchive shared() throws IOException
+    {
+        if (shared == null) shared = open(SHARED_FILE);
+        return shared;
+    }
+
+    /**
+     * Loads the index through the trailer. False if there is no valid trailer.
+     */
+    private boolean readIndex() throws IOException
+    {
+        long size = channel.size();
+        if (size < 4 + TRAILER) return false;
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER);
+        channel.read(trailer, size - TRAILER);
+        long indexOffset = trailer.getLong(0);
+        int count = trailer.getInt(8);
+        if (trailer.getInt(12) != TRAILER_MAGIC || count < 0 || indexOffset < 4 || indexOffset + 8L * count != size - TRAILER) return false;
+
+        ByteBuffer index = ByteBuffer.allocate(8 * count);
+        channel.read(index, indexOffset);
+        index.flip();
+        for (int i = 0; i < count; i++)
+        {
+            Entry entry = readHeader(index.getLong());
+            if (entry == null) return false;
+            entries.add(entry);
+        }
+        dataEnd = indexOffset;
+        return true;
+    }
+
+    /**
+     * Scans the blocks from the start and keeps every complete, valid one.
+     */
+    private void rebuildIndex() throws IOException
+    {
+        entries.clear();
+        long offset = 4;
+        long size = channel.size();
+        while (offset < size)
+        {
+            Entry entry = readHeader(offset);
+            if (entry == null || entry.getEnd() > size || !isIntact(entry)) break;
+            entries.add(entry);
+            offset = entry.getEnd();
+        }
+        dataEnd = offset;
+        writeIndex();
+    }
+
+    /**
+     * Reads the header of the block at the offset; null if there is no block header there.
+     */
+    private Entry readHeader(long offset) throws IOException
+    {
+        ByteBuffer fixed = ByteBuffer.allocate(1 + 8 + 2);
+        if (channel.read(fixed, offset) < fixed.capacity()) return null;
+        byte type = fixed.get(0);
+        if (type != REPLAY && type != SAVE) return null;
+        long time = fixed.getLong(1);
+        int nameLength = fixed.getShort(9) & 0xFFFF;
+
+        ByteBuffer rest = ByteBuffer.allocate(nameLength + 12);
+        if (channel.read(rest, offset + fixed.capacity()) < rest.capacity()) return null;
+        String name = new String(rest.array(), 0, nameLength, StandardCharsets.UTF_8);
+        int rawLength = rest.getInt(nameLength);
+        int compressedLength = rest.getInt(nameLength + 4);
+        if (rawLength < 0 || compressedLength < 0) return null;
+        return new Entry(offset, type, time, name, rawLength, compressedLength, fixed.capacity() + rest.capacity());
+    }
+
+    private boolean isIntact(Entry entry) throws IOException
+    {
+        try
+        {
+            read(entry);
+            return true;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+    //endregion
+
+    //region 4. Writing
+
+    /**
+     * Adds a game to the archive and makes it durable.
+     * It waits for the disk, so callers run it off the FX thread.
+     * @param type REPLAY or SAVE.
+     * @param name Name shown to players (need not be unique).
+     */
+    public synchronized Entry append(byte type, String name, byte[] data) throws IOException
+    {
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteBuffer compressed = ByteBuffer.allocate(Math.max(64, data.length + data.length / 8 + 64));
+        while (!deflater.finished())
+        {
+            if (!compressed.hasRemaining())
+            {
+                compressed = ByteBuffer.allocate(compressed.capacity() * 2).put(compressed.flip());
+            }
+            compressed.position(compressed.position() + deflater.deflate(compressed.array(), compressed.position(), compressed.remaining()));
+        }
+        compressed.flip();
+
+        crc.reset();
+        crc.update(data);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(1 + 8 + 2 + nameBytes.length + 12);
+        header.put(type).putLong(System.currentTimeMillis()).putShort((short) nameBytes.length).put(nameBytes)
+                .putInt(data.length).putInt(compressed.remaining()).putInt((int) crc.getValue()).flip();
+
+        // The block goes over the old index; the new index follows it
+        Entry entry = new Entry(dataEnd, type, header.getLong(1), name, data.length, compressed.remaining(), header.remaining());
+        channel.position(dataEnd);
+        ByteBuffer[] block = {header, compressed};
+        while (header.hasRemaining() || compressed.hasRemaining()) channel.write(block);
+
+        entries.add(entry);
+        dataEnd = entry.getEnd();
+        writeIndex();
+        channel.force(false);
+        return entry;
+    }
+
+    private void writeIndex() throws IOException
+    {
+        ByteBuffer index = ByteBuffer.allocate(8 * entries.size() + TRAILER);
+        for (Entry entry : entries) index.putLong(entry.getOffset());
+        index.putLong(dataEnd).putInt(entries.size()).putInt(TRAILER_MAGIC).flip();
+        channel.position(dataEnd);
+        while (index.hasRemaining()) channel.write(index);
+        channel.truncate(channel.position());
+    }
+    //endregion
+
+    //region 5. Reading
+
+    /**
+     * Entries in the order they were added.
+     */
+    public synchronized List<Entry> entries()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Entries of one type, newest first.
+     */
+    public synchronized List<Entry> entries(byte type)
+    {
+        List<Entry> list = new ArrayList<>();
+        for (Entry entry : entries)
+        {
+            if (entry.getType() == type) list.add(entry);
+        }
+        list.sort(Comparator.comparingLong(Entry::getOffset).reversed());
+        return list;
+    }
+
+    /**
+     * Reads one game: a single positional read of its block, then inflating it.
+     */
+    public synchronized byte[] read(Entry entry) throws IOException
+    {
+        ByteBuffer block = ByteBuffer.allocate(entry.headerLength + entry.compressedLength);
+        while (block.hasRemaining())
+        {
+            if (channel.read(block, entry.getOffset() + block.position()) < 0) throw new IOException("Archivo truncado");
+        }
+        block.position(entry.headerLength - 4);
+        int expectedCrc = block.getInt();
+        return inflate(block, entry, expectedCrc);
+    }
+
+    /**
+     * Visits every game in file order through a sliding memory mapping.
+     */
+    public void stream(EntryVisitor visitor) throws IOException
+    {
+        List<Entry> snapshot;
+        long end;
+        synchronized (this)
+        {
+            snapshot = new ArrayList<>(entries);
+            end = dataEnd;
+        }
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        for (Entry entry : snapshot)
+        {
+            if (window == null || entry.getEnd() > windowStart + window.capacity())
+            {
+                windowStart = entry.getOffset();
+                long length = Math.min(Math.max(STREAM_WINDOW, entry.getEnd() - windowStart), end - windowStart);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            }
+            ByteBuffer block = window.duplicate();
+            block.position((int) (entry.getOffset() - windowStart + entry.headerLength - 4));
+            int expectedCrc = block.getInt();
+            block.limit(block.position() + entry.compressedLength);
+
+            byte[] data;
+            synchronized (this)
+            {
+                data = inflate(block, entry, expectedCrc);
+            }
+            visitor.visit(entry, data);
+        }
+    }
+
+    /**
+     * Inflates the compressed bytes remaining after the buffer's position and checks the CRC.
+     */
+    private byte[] inflate(ByteBuffer compressed, Entry entry, int expectedCrc) throws IOException
+    {
+        byte[] data = new byte[entry.rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try
+        {
+            int done = 0;
+            while (done < data.length && !inflater.finished())
+            {
+                int inflated = inflater.inflate(data, done, data.length - done);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                done += inflated;
+            }
+            if (done != data.length) throw new IOException("Bloque incompleto: " + entry.getName());
+        }
+        catch (DataFormatException e)
+        {
+            throw new IOException("Bloque danado: " + entry.getName(), e);
+        }
+
+        crc.reset();
+        crc.update(data);
+        if ((int) crc.getValue() != expectedCrc) throw new IOException("Checksum invalido: " + entry.getName());
+        return data;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        deflater.end();
+        inflater.end();
+        channel.close();
+    }
+    //endregion
+}
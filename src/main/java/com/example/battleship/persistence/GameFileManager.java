@@ -1,25 +1,115 @@
 package com.example.battleship.persistence;
 
+import com.example.battleship.analytics.LegacyLogImporter;
+import com.example.battleship.models.GameRecord;
+import com.example.battleship.models.GameSnapshot;
 import com.example.battleship.models.GameState;
 import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Manages game data persistence through both binary serialization and text logging.
  * We provide two storage methods: binary files for complete game state restoration
  * and text files for human-readable game history and statistics.
+ * Saves are written by a background writer: the game hands over an immutable
+ * GameSnapshot and goes on. If several saves queue up, only the newest is written.
+ * Each save is a new generation in a SaveRing (checksummed, never overwriting the newest),
+ * forced to the disk according to the FsyncPolicy, so a crash never costs the game.
+ * Snapshots are encoded with SnapshotCodec into one reused direct buffer, and the ring's
+ * files stay open, so an autosave allocates next to nothing and costs a single write.
  */
 public class GameFileManager
 {
-    private static final String SERIAL_FILE = "game_save.ser"; // Binary file (Boards)
+    private static final String LEGACY_SERIAL_FILE = "game_save.ser"; // Single save file of older versions
     private static final String FLAT_FILE = "game_stats.txt";  // Plain file (Readable text)
+    private static final String HISTORY_FILE = "game_history.tsv"; // One GameRecord per line, for the analytics
+    private static final SaveRing SAVES = new SaveRing(Path.of("").toAbsolutePath(), "game_save", "ser", 3);
+
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(task ->
+    {
+        Thread thread = new Thread(task, "autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Game history: the legacy import can take seconds, so it never holds up the saves above
+    private static final ExecutorService HISTORY = Executors.newSingleThreadExecutor(task ->
+    {
+        Thread thread = new Thread(task, "history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Newest snapshot not written yet; a write task is queued whenever this is not null
+    private static final AtomicReference<GameSnapshot> pending = new AtomicReference<>();
+
+    // Durability settings (see FsyncPolicy); only the writer thread touches the state below them
+    private static volatile FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+    private static volatile long fsyncIntervalMillis = 1000;
+    private static ByteBuffer encodeBuffer = ByteBuffer.allocateDirect(4096);
+    private static boolean unsynced = false;
+    private static long lastForceNanos = 0;
+    private static ScheduledFuture<?> deferredForce;
+
+    static
+    {
+        // The writer is a daemon thread, so give the last save a chance to land (and be forced) on exit
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+        {
+            awaitWrites(2, TimeUnit.SECONDS);
+            runOn(WRITER, GameFileManager::forceUnsynced, 2, TimeUnit.SECONDS);
+            runOn(HISTORY, () -> { }, 2, TimeUnit.SECONDS);
+        }, "autosave-flush"));
+    }
+
+    /**
+     * Chooses when saves are forced to the disk.
+     * @param intervalMillis Minimum time between forces for {@link FsyncPolicy#INTERVAL}.
+     */
+    public static void setFsyncPolicy(FsyncPolicy policy, long intervalMillis)
+    {
+        fsyncPolicy = policy;
+        if (intervalMillis > 0) fsyncIntervalMillis = intervalMillis;
+    }
 
     // Serialization - Save complete state
-    public static void saveGame(GameState state)
+    public static void saveGame(GameSnapshot snapshot)
     {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(SERIAL_FILE)))
+        if (pending.getAndSet(snapshot) == null) WRITER.execute(GameFileManager::writePending);
+    }
+
+    private static void writePending()
+    {
+        GameSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) return; // Deleted meanwhile
+        try
         {
-            Serializer.serialize(SERIAL_FILE, state);
-            //out.writeObject(state);
+            long now = System.nanoTime();
+            boolean force = fsyncPolicy == FsyncPolicy.EVERY_SAVE
+                    || (fsyncPolicy == FsyncPolicy.INTERVAL && now - lastForceNanos >= TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis));
+
+            SAVES.write(encode(snapshot), force);
+            if (force)
+            {
+                lastForceNanos = now;
+                unsynced = false;
+            }
+            else
+            {
+                unsynced = true;
+                if (fsyncPolicy == FsyncPolicy.INTERVAL) scheduleDeferredForce(now);
+            }
             System.out.println("Juego guardado automaticamente.");
         }
         catch (IOException e)
@@ -28,38 +118,158 @@ public class GameFileManager
         }
     }
 
+    /**
+     * Encodes a snapshot into the reused buffer, growing it if a game ever needs more room.
+     */
+    private static ByteBuffer encode(GameSnapshot snapshot)
+    {
+        while (true)
+        {
+            try
+            {
+                encodeBuffer.clear();
+                SnapshotCodec.encode(snapshot, encodeBuffer);
+                return encodeBuffer.flip();
+            }
+            catch (BufferOverflowException e)
+            {
+                encodeBuffer = ByteBuffer.allocateDirect(encodeBuffer.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Forces the newest save once the current fsync interval is over, unless a later save does it first.
+     */
+    private static void scheduleDeferredForce(long now)
+    {
+        if (deferredForce != null && !deferredForce.isDone()) return;
+        long delay = lastForceNanos + TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis) - now;
+        deferredForce = WRITER.schedule(GameFileManager::forceUnsynced, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    private static void forceUnsynced()
+    {
+        if (!unsynced) return;
+        try
+        {
+            SAVES.forceLatest();
+            lastForceNanos = System.nanoTime();
+            unsynced = false;
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error al sincronizar el guardado: " + e.getMessage());
+        }
+    }
+
     /**
      * Loads a previously saved game state.
-     * We attempt to restore from binary serialization, returning null if no save exists.
+     * We restore the newest generation with a valid checksum, returning null if there is none.
+     * Saves from older versions (a single game_save.ser, possibly a GameState) are converted.
      */
-    public static GameState loadGame()
+    public static GameSnapshot loadGame()
     {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(SERIAL_FILE)))
+        awaitWrites(5, TimeUnit.SECONDS);
+        try
         {
-            return (GameState) Serializer.deserialize(SERIAL_FILE); //in.readObject();
+            byte[] newest = SAVES.readNewest();
+            if (newest != null && SnapshotCodec.isEncoded(newest)) return SnapshotCodec.decode(ByteBuffer.wrap(newest));
+            Object saved = newest != null ? Serializer.fromBytes(newest)
+                    : new File(LEGACY_SERIAL_FILE).exists() ? Serializer.deserialize(LEGACY_SERIAL_FILE) : null;
+            if (saved instanceof GameState) return GameSnapshot.fromLegacy((GameState) saved);
+            return (GameSnapshot) saved;
         }
-        catch (IOException | ClassNotFoundException e)
+        catch (IOException | ClassNotFoundException | RuntimeException e)
         {
             return null;
         }
     }
 
+    /**
+     * Waits until every save handed to the writer so far is on disk.
+     */
+    private static void awaitWrites(long timeout, TimeUnit unit)
+    {
+        runOn(WRITER, () -> { }, timeout, unit);
+    }
+
+    private static void runOn(ExecutorService executor, Runnable task, long timeout, TimeUnit unit)
+    {
+        try
+        {
+            executor.submit(task).get(timeout, unit);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            System.out.println("El guardado pendiente no termino: " + e);
+        }
+    }
+
     /**
      * Checks if a saved game exists on disk.
-     * We verify the presence of the serialization file before attempting to load.
+     * We verify the presence of the save files before attempting to load.
      */
     public static boolean hasSavedGame()
     {
-        File file = new File(SERIAL_FILE);
-        return file.exists();
+        awaitWrites(5, TimeUnit.SECONDS);
+        return SAVES.exists() || new File(LEGACY_SERIAL_FILE).exists();
+    }
+
+    /**
+     * Keeps the final state of a finished match in the shared GameArchive, next to its replay.
+     * Written on the save thread; errors are only reported.
+     */
+    public static void archiveGame(GameSnapshot snapshot)
+    {
+        WRITER.execute(() -> {
+            try
+            {
+                ByteBuffer encoded = encode(snapshot);
+                byte[] data = new byte[encoded.remaining()];
+                encoded.get(data);
+                GameArchive.shared().append(GameArchive.SAVE, snapshot.getPlayerName(), data);
+            }
+            catch (IOException e)
+            {
+                System.out.println("Error al archivar la partida: " + e.getMessage());
+            }
+        });
     }
 
     /**
-     * Deletes the saved game file.
+     * Runs other disk work of a finished match on the save thread, so the game never waits on it.
+     * Tasks run in order, after the saves queued before them; they report their own errors.
+     */
+    public static void runInBackground(Runnable task)
+    {
+        WRITER.execute(task);
+    }
+
+    /**
+     * Runs a disk read on the save thread, after the work queued before it, so the game never waits on it.
+     * The task reports its own errors.
+     */
+    public static <T> CompletableFuture<T> supplyInBackground(Supplier<T> task)
+    {
+        return CompletableFuture.supplyAsync(task, WRITER);
+    }
+
+    /**
+     * Deletes the saved game files.
      * We use this after game completion to ensure players start fresh next time.
      */
     public static void deleteSaveFile() {
-        new File(SERIAL_FILE).delete();
+        pending.set(null);
+        WRITER.execute(() -> {
+            unsynced = false;
+            SAVES.deleteAll();
+            new File(LEGACY_SERIAL_FILE).delete();
+        });
     }
 
     /**
@@ -72,4 +282,32 @@ public class GameFileManager
         fileCrud.create(record);
         System.out.println("Registro guardado usando FileCRUD en: " + FLAT_FILE);
     }
-}
\ No newline at end of file
+
+    /**
+     * Appends a finished match to the structured history read by the analytics.
+     * Queued on the history thread, after the import of the old text log.
+     */
+    public static void saveGameRecord(GameRecord record) {
+        HISTORY.execute(() -> new FileCRUD(HISTORY_FILE).create(record.toTsv()));
+    }
+
+    /**
+     * Creates the structured history from the text log of older versions, once.
+     * We run it on the history thread when the game starts, before any match can end,
+     * so every match is in the history exactly once. Loading a save never waits for it.
+     */
+    public static void importLegacyStats() {
+        HISTORY.execute(() -> {
+            Path history = Path.of(HISTORY_FILE);
+            Path textLog = Path.of(FLAT_FILE);
+            if (Files.exists(history) || !Files.exists(textLog)) return;
+            try {
+                LegacyLogImporter.Report report = LegacyLogImporter.importLog(textLog, history);
+                System.out.println("Historial importado de " + FLAT_FILE + ": " + report);
+                for (String sample : report.getSamples()) System.out.println("  " + sample);
+            } catch (IOException e) {
+                System.out.println("Error al importar " + FLAT_FILE + ": " + e.getMessage());
+            }
+        });
+    }
+}
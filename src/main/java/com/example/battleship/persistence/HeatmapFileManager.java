@@ -0,0 +1,141 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.PlacementHeatmap;
+import com.example.battleship.models.ShipPlacement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the ship placement heatmap of every player next to the game stats.
+ * We store raw counts as varints (same encoding as replays), so a player
+ * with dozens of games still takes only a couple of hundred bytes.
+ * The file is replaced atomically (written aside, then renamed), so a crash
+ * mid-save leaves the previous heatmaps intact.
+ *
+ * Layout: magic "BSHM", version, players; each player: name, games, 100 counts.
+ */
+public class HeatmapFileManager
+{
+    private static final String HEATMAP_FILE = "player_heatmaps.dat";
+    private static final byte[] MAGIC = {'B', 'S', 'H', 'M'};
+    private static final int VERSION = 1;
+
+    /**
+     * Returns the heatmap of a player, empty if they have no finished games yet.
+     */
+    public static PlacementHeatmap loadHeatmap(String playerName)
+    {
+        PlacementHeatmap heatmap = loadAll().get(playerName);
+        return heatmap != null ? heatmap : new PlacementHeatmap(playerName);
+    }
+
+    /**
+     * Adds the fleet of a finished game to the player's heatmap and saves it.
+     * Blocks on disk I/O; the game calls it from the save thread (see GameFileManager.runInBackground).
+     */
+    public static void recordGame(String playerName, List<ShipPlacement> fleet)
+    {
+        Map<String, PlacementHeatmap> all = loadAll();
+        PlacementHeatmap heatmap = all.computeIfAbsent(playerName, PlacementHeatmap::new);
+        heatmap.record(fleet);
+        try
+        {
+            write(Path.of(HEATMAP_FILE), encode(all));
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error al guardar el mapa de calor: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the data to a temporary file, forces it, and moves it over the target in one step.
+     */
+    private static void write(Path target, byte[] data) throws IOException
+    {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) out.write(buffer);
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads every stored heatmap; a missing or damaged file yields an empty map.
+     */
+    public static Map<String, PlacementHeatmap> loadAll()
+    {
+        File file = new File(HEATMAP_FILE);
+        if (!file.exists()) return new LinkedHashMap<>();
+        try
+        {
+            return decode(Files.readAllBytes(file.toPath()));
+        }
+        catch (IOException e)
+        {
+            System.out.println("Mapa de calor ilegible, se ignora: " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    static byte[] encode(Map<String, PlacementHeatmap> heatmaps)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(MAGIC, 0, MAGIC.length);
+        ReplayFileManager.writeVarInt(out, VERSION);
+        ReplayFileManager.writeVarInt(out, heatmaps.size());
+        for (PlacementHeatmap heatmap : heatmaps.values()) {
+            byte[] name = heatmap.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            ReplayFileManager.writeVarInt(out, name.length);
+            out.write(name, 0, name.length);
+            ReplayFileManager.writeVarInt(out, heatmap.getGames());
+            for (int index = 0; index < 100; index++) {
+                ReplayFileManager.writeVarInt(out, heatmap.getCount(index));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static Map<String, PlacementHeatmap> decode(byte[] data) throws IOException
+    {
+        int[] pos = {0};
+        for (byte b : MAGIC) {
+            if (pos[0] >= data.length || data[pos[0]++] != b) throw new IOException("Not a heatmap file");
+        }
+        int version = ReplayFileManager.readVarInt(data, pos);
+        if (version != VERSION) throw new IOException("Unsupported heatmap version: " + version);
+
+        int players = ReplayFileManager.readVarInt(data, pos);
+        Map<String, PlacementHeatmap> heatmaps = new LinkedHashMap<>();
+        for (int p = 0; p < players; p++) {
+            int nameLength = ReplayFileManager.readVarInt(data, pos);
+            if (pos[0] + nameLength > data.length) throw new IOException("Truncated heatmap");
+            String name = new String(data, pos[0], nameLength, StandardCharsets.UTF_8);
+            pos[0] += nameLength;
+
+            int games = ReplayFileManager.readVarInt(data, pos);
+            int[] counts = new int[100];
+            for (int index = 0; index < 100; index++) {
+                counts[index] = ReplayFileManager.readVarInt(data, pos);
+            }
+            heatmaps.put(name, new PlacementHeatmap(name, games, counts));
+        }
+        return heatmaps;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.Replay;
+import com.example.battleship.models.ShipPlacement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stores finished matches as compact replays.
+ * We encode every number as a varint, so a whole game (two fleets and
+ * up to 200 shots) usually fits in a few hundred bytes and can be
+ * written at the end of every match without noticeable cost.
+ * Replays go into the shared GameArchive; older versions wrote one .bsr file
+ * per match, which can still be opened.
+ *
+ * Layout: magic "BSR1", version, player name, seed (v2+), player fleet, enemy fleet, shots.
+ */
+public class ReplayFileManager
+{
+    private static final String REPLAY_DIR = "replays";
+    private static final String EXTENSION = ".bsr";
+    private static final byte[] MAGIC = {'B', 'S', 'R', '1'};
+    private static final int VERSION = 2;
+
+    /**
+     * Adds a replay to the archive, named after the player and the date.
+     * We never let a failure here interrupt the game; errors are only reported.
+     *
+     * @return The archive entry, or null if saving failed
+     */
+    public static GameArchive.Entry saveReplay(Replay replay)
+    {
+        String stamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+        try
+        {
+            GameArchive.Entry entry = GameArchive.shared().append(GameArchive.REPLAY, replay.getPlayerName() + " - " + stamp, encode(replay));
+            System.out.println("Repeticion guardada: " + entry.getName());
+            return entry;
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error al guardar la repeticion: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads an archived replay (one positional read).
+     */
+    public static Replay loadReplay(GameArchive.Entry entry) throws IOException
+    {
+        return decode(GameArchive.shared().read(entry));
+    }
+
+    /**
+     * Lists archived replays, newest first.
+     */
+    public static List<GameArchive.Entry> listArchivedReplays()
+    {
+        try
+        {
+            return GameArchive.shared().entries(GameArchive.REPLAY);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error al abrir el archivo de partidas: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Reads a loose replay file written by older versions.
+     */
+    public static Replay loadReplay(File file) throws IOException
+    {
+        return decode(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Lists loose replay files of older versions, newest first.
+     */
+    public static List<File> listReplays()
+    {
+        File[] files = new File(REPLAY_DIR).listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) return new ArrayList<>();
+        List<File> list = new ArrayList<>(Arrays.asList(files));
+        list.sort(Comparator.comparing(File::getName).reversed());
+        return list;
+    }
+
+    public static File getReplayDirectory()
+    {
+        return new File(REPLAY_DIR);
+    }
+
+    //region Codec
+
+    /**
+     * Serializes a replay into its compact binary form.
+     */
+    public static byte[] encode(Replay replay)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC, 0, MAGIC.length);
+        writeVarInt(out, VERSION);
+
+        byte[] name = replay.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, name.length);
+        out.write(name, 0, name.length);
+        writeLong(out, replay.getSeed());
+
+        writeFleet(out, replay.getPlayerFleet());
+        writeFleet(out, replay.getEnemyFleet());
+
+        writeVarInt(out, replay.getMoveCount());
+        for (int i = 0; i < replay.getMoveCount(); i++) {
+            int index = replay.getShotRow(i) * 10 + replay.getShotCol(i);
+            writeVarInt(out, (index << 1) | (replay.isEnemyShot(i) ? 1 : 0));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Parses the binary form produced by {@link #encode(Replay)}.
+     */
+    public static Replay decode(byte[] data) throws IOException
+    {
+        int[] pos = {0};
+        for (byte b : MAGIC) {
+            if (pos[0] >= data.length || data[pos[0]++] != b) throw new IOException("Not a replay file");
+        }
+        int version = readVarInt(data, pos);
+        if (version < 1 || version > VERSION) throw new IOException("Unsupported replay version: " + version);
+
+        int nameLength = readVarInt(data, pos);
+        if (pos[0] + nameLength > data.length) throw new IOException("Truncated replay");
+        String playerName = new String(data, pos[0], nameLength, StandardCharsets.UTF_8);
+        pos[0] += nameLength;
+
+        // Version 1 files predate seeded games
+        long seed = version >= 2 ? readLong(data, pos) : 0L;
+
+        List<ShipPlacement> playerFleet = readFleet(data, pos);
+        List<ShipPlacement> enemyFleet = readFleet(data, pos);
+        Replay replay = new Replay(playerName, seed, playerFleet, enemyFleet);
+
+        int moves = readVarInt(data, pos);
+        for (int i = 0; i < moves; i++) {
+            int packed = readVarInt(data, pos);
+            int index = packed >>> 1;
+            if (index >= 100) throw new IOException("Invalid shot at move " + i);
+            replay.recordShot((packed & 1) != 0, index % 10, index / 10);
+        }
+        return replay;
+    }
+
+    // Each ship: size, then (row * 10 + col) << 1 | horizontal
+    private static void writeFleet(ByteArrayOutputStream out, List<ShipPlacement> fleet)
+    {
+        writeVarInt(out, fleet.size());
+        for (ShipPlacement ship : fleet) {
+            writeVarInt(out, ship.getSize());
+            writeVarInt(out, ((ship.getRow() * 10 + ship.getCol()) << 1) | (ship.isHorizontal() ? 1 : 0));
+        }
+    }
+
+    private static List<ShipPlacement> readFleet(byte[] data, int[] pos) throws IOException
+    {
+        int count = readVarInt(data, pos);
+        List<ShipPlacement> fleet = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int size = readVarInt(data, pos);
+            int packed = readVarInt(data, pos);
+            int index = packed >>> 1;
+            if (size < 1 || size > 4 || index >= 100) throw new IOException("Invalid ship in replay");
+            fleet.add(new ShipPlacement(size, index % 10, index / 10, (packed & 1) != 0));
+        }
+        return fleet;
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint (7 bits per byte, high bit = continuation).
+     */
+    static void writeVarInt(ByteArrayOutputStream out, int value)
+    {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    // Seeds use the full 64 bits, so they are stored raw (big-endian) rather than as varints
+    private static void writeLong(ByteArrayOutputStream out, long value)
+    {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    private static long readLong(byte[] data, int[] pos) throws IOException
+    {
+        if (pos[0] + 8 > data.length) throw new IOException("Truncated replay");
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[pos[0]++] & 0xFF);
+        }
+        return value;
+    }
+
+    static int readVarInt(byte[] data, int[] pos) throws IOException
+    {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (pos[0] >= data.length) throw new IOException("Truncated replay");
+            byte b = data[pos[0]++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IOException("Malformed varint");
+    }
+    //endregion
+}
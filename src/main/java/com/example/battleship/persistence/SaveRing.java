@@ -0,0 +1,302 @@
+package com.example.battleship.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Crash-safe storage of the latest few saves ("generations") of one file.
+ * A write goes to the slot of the oldest generation, but never over the newest generation
+ * known to be on the disk (the last one forced): saves that are not forced may wrap the
+ * ring, and then take turns in the other slots. Every file ends with a CRC32C of its
+ * contents; on load we take the newest generation whose checksum is valid, so a torn or
+ * empty file after a crash or power loss falls back to an older one, at worst the forced one.
+ * The slot files stay open for the session (see ChannelWriter): a save is one gathering
+ * write of header, payload and trailer from reused direct buffers, with no temporary
+ * file, rename or directory sync. The ring gives the same guarantee the rename did.
+ *
+ * Layout: magic "BSG1", generation (long), payload length (int), payload, CRC32C (int).
+ */
+public class SaveRing
+{
+    //region 1. Variables and constants
+    private static final int MAGIC = 0x42534731; // "BSG1"
+    private static final int HEADER = 4 + 8 + 4;
+    private static final int TRAILER = 4;
+
+    private final Path directory;
+    private final String baseName;
+    private final String extension;
+    private final int slots;
+
+    // Generation held by each slot (-1: none), read from the disk on first use
+    private final long[] generations;
+    private boolean scanned = false;
+    private long lastGeneration = -1;
+    private int durableSlot = -1; // Slot of the newest forced generation; never written over
+
+    // Open slot files and the reused buffers of a write
+    private final ChannelWriter[] channels;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(HEADER);
+    private final ByteBuffer trailer = ByteBuffer.allocateDirect(TRAILER);
+    private final CRC32C crc = new CRC32C();
+    private int lastWritten = -1; // Slot of the newest generation written this session
+    //endregion
+
+    //region 2. Constructors
+
+    /**
+     * @param baseName File name without extension; slots are named baseName.N.extension.
+     * @param slots Number of generations kept, at least 2.
+     */
+    public SaveRing(Path directory, String baseName, String extension, int slots)
+    {
+        if (slots < 2) throw new IllegalArgumentException("Se necesitan al menos 2 ranuras: " + slots);
+        this.directory = directory;
+        this.baseName = baseName;
+        this.extension = extension;
+        this.slots = slots;
+        this.channels = new ChannelWriter[slots];
+        this.generations = new long[slots];
+    }
+    //endregion
+
+    //region 3. Writing
+
+    /**
+     * Writes a new generation.
+     * @param force Wait until the data is on the disk.
+     * @return The file written.
+     */
+    public synchronized Path write(byte[] payload, boolean force) throws IOException
+    {
+        return write(ByteBuffer.wrap(payload), force);
+    }
+
+    /**
+     * Writes a new generation from the remaining bytes of the payload buffer.
+     * @param force Wait until the data is on the disk.
+     * @return The file written.
+     */
+    public synchronized Path write(ByteBuffer payload, boolean force) throws IOException
+    {
+        scan();
+        long generation = lastGeneration + 1;
+        int length = payload.remaining();
+
+        header.clear();
+        header.putInt(MAGIC).putLong(generation).putInt(length).flip();
+        crc.reset();
+        crc.update(header);
+        int start = payload.position();
+        crc.update(payload);
+        payload.position(start);
+        header.flip();
+        trailer.clear();
+        trailer.putInt((int) crc.getValue()).flip();
+
+        int index = nextSlot();
+        ChannelWriter channel = channel(index, force);
+        // Taken before writing, so a number is never reused even if the write fails
+        generations[index] = generation;
+        lastGeneration = generation;
+        channel.writeAt(0, header, payload, trailer);
+        channel.truncate(HEADER + length + TRAILER);
+        if (force)
+        {
+            channel.force();
+            durableSlot = index;
+        }
+
+        lastWritten = index;
+        return slot(index);
+    }
+
+    /**
+     * Forces the newest generation, written earlier without force, to the disk.
+     */
+    public synchronized void forceLatest() throws IOException
+    {
+        if (lastWritten < 0) return;
+        channels[lastWritten].force();
+        durableSlot = lastWritten;
+    }
+
+    /**
+     * The slot of the oldest generation, other than the newest forced one.
+     */
+    private int nextSlot()
+    {
+        int next = -1;
+        for (int i = 0; i < slots; i++)
+        {
+            if (i != durableSlot && (next < 0 || generations[i] < generations[next])) next = i;
+        }
+        return next;
+    }
+
+    /**
+     * The open file of a slot. A slot file created now is made durable in its directory.
+     */
+    private ChannelWriter channel(int index, boolean force) throws IOException
+    {
+        if (channels[index] == null)
+        {
+            boolean created = !Files.exists(slot(index));
+            channels[index] = ChannelWriter.open(slot(index), 0);
+            if (created && force) forceDirectory();
+        }
+        return channels[index];
+    }
+
+    /**
+     * Makes new files in the directory durable. Not every platform allows opening a
+     * directory (Windows does not); there it is as durable as the OS makes it.
+     */
+    private void forceDirectory()
+    {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ))
+        {
+            channel.force(true);
+        }
+        catch (IOException e)
+        {
+            // Directory sync not supported here
+        }
+    }
+    //endregion
+
+    //region 4. Reading
+
+    /**
+     * Returns the payload of the newest valid generation, or null if there is none.
+     * Invalid files are reported and skipped.
+     */
+    public synchronized byte[] readNewest()
+    {
+        byte[] newest = null;
+        long newestGeneration = -1;
+        for (int i = 0; i < slots; i++)
+        {
+            Path file = slot(i);
+            if (!Files.exists(file)) continue;
+            ByteBuffer frame = read(file);
+            if (frame == null)
+            {
+                System.out.println("Guardado danado ignorado: " + file.getFileName());
+                continue;
+            }
+            long generation = frame.getLong(4);
+            if (generation > newestGeneration)
+            {
+                newestGeneration = generation;
+                newest = new byte[frame.getInt(12)];
+                frame.get(HEADER, newest);
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Reads and validates one file; null if it is torn, truncated or corrupt.
+     */
+    private ByteBuffer read(Path file)
+    {
+        try
+        {
+            ByteBuffer frame = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (frame.capacity() < HEADER + TRAILER || frame.getInt(0) != MAGIC) return null;
+            int length = frame.getInt(12);
+            if (length < 0 || HEADER + length + TRAILER != frame.capacity()) return null;
+
+            CRC32C crc = new CRC32C();
+            crc.update(frame.array(), 0, HEADER + length);
+            return (int) crc.getValue() == frame.getInt(HEADER + length) ? frame : null;
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the generation of every slot from the disk, once. Numbers come from valid and
+     * invalid files alike, so a new write never reuses one. The newest generation found,
+     * saved by an earlier session, is taken as forced.
+     */
+    private void scan()
+    {
+        if (scanned) return;
+        scanned = true;
+        lastGeneration = -1;
+        durableSlot = -1;
+        for (int i = 0; i < slots; i++)
+        {
+            generations[i] = -1;
+            try
+            {
+                byte[] header = new byte[HEADER];
+                Path file = slot(i);
+                if (!Files.exists(file)) continue;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+                {
+                    if (channel.read(ByteBuffer.wrap(header)) < HEADER) continue;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(header);
+                if (buffer.getInt(0) != MAGIC) continue;
+                generations[i] = buffer.getLong(4);
+                if (generations[i] > lastGeneration)
+                {
+                    lastGeneration = generations[i];
+                    durableSlot = i;
+                }
+            }
+            catch (IOException e)
+            {
+                // Unreadable slot, it will simply be overwritten
+            }
+        }
+    }
+    //endregion
+
+    //region 5. Files
+
+    public synchronized boolean exists()
+    {
+        for (int i = 0; i < slots; i++)
+        {
+            if (Files.exists(slot(i))) return true;
+        }
+        return false;
+    }
+
+    public synchronized void deleteAll()
+    {
+        for (int i = 0; i < slots; i++)
+        {
+            try
+            {
+                // Close first: an open file cannot be deleted everywhere
+                if (channels[i] != null) channels[i].close();
+                channels[i] = null;
+                Files.deleteIfExists(slot(i));
+            }
+            catch (IOException e)
+            {
+                System.out.println("No se pudo borrar " + slot(i).getFileName() + ": " + e.getMessage());
+            }
+        }
+        scanned = false;
+        lastWritten = -1;
+    }
+
+    private Path slot(int index)
+    {
+        return directory.resolve(baseName + "." + index + "." + extension);
+    }
+    //endregion
+}
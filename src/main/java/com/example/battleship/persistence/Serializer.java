@@ -25,6 +25,17 @@ public class Serializer
         }
     }
 
+    /**
+     * Deserializes an object from memory, e.g. a save generation written by an older version.
+     */
+    public static Object fromBytes(byte[] data) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data)))
+        {
+            return in.readObject();
+        }
+    }
+
     /**
      * Deserializes an object from a binary file.
      * We use this to restore previously saved game states.
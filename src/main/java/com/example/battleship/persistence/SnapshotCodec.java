@@ -0,0 +1,121 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.BoardSnapshot;
+import com.example.battleship.models.GameSnapshot;
+import com.example.battleship.models.ShipPlacement;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of a GameSnapshot, written straight into a (direct) ByteBuffer.
+ * We use it for saves instead of Java serialization: a whole game takes a few hundred
+ * bytes and encoding it allocates nothing. Ships take two bytes (origin cell, size and
+ * orientation), each shot plane two longs, each replay move one byte.
+ *
+ * Layout: magic "BSS1", name (length + UTF-16 chars), player board, enemy board,
+ * shots counter, flags, sunk counters, seed, generator state, replay moves (-1 for none) and shots.
+ * Board: ship count, ships, shot plane lo/hi.
+ */
+public final class SnapshotCodec
+{
+    private static final int MAGIC = 0x42535331; // "BSS1"
+
+    private SnapshotCodec()
+    {
+        // Static utility
+    }
+
+    /**
+     * Whether the payload was written by this codec (older saves are Java-serialized).
+     */
+    public static boolean isEncoded(byte[] payload)
+    {
+        return payload.length >= 4 && ByteBuffer.wrap(payload).getInt(0) == MAGIC;
+    }
+
+    /**
+     * Writes the snapshot at the buffer's position.
+     * @throws java.nio.BufferOverflowException If the buffer is too small.
+     */
+    public static void encode(GameSnapshot snapshot, ByteBuffer out)
+    {
+        out.putInt(MAGIC);
+        String name = snapshot.getPlayerName() != null ? snapshot.getPlayerName() : "";
+        out.putShort((short) name.length());
+        for (int i = 0; i < name.length(); i++) out.putChar(name.charAt(i));
+
+        encodeBoard(snapshot.getPlayerBoard(), out);
+        encodeBoard(snapshot.getEnemyBoard(), out);
+
+        out.putShort((short) snapshot.getShotsCounter());
+        out.put((byte) ((snapshot.isPlayerTurn() ? 1 : 0) | (snapshot.isGameStarted() ? 2 : 0)));
+        out.put((byte) snapshot.getEnemyShipsSunkCount());
+        out.put((byte) snapshot.getPlayerShipsSunkCount());
+        out.putLong(snapshot.getSeed());
+        out.putLong(snapshot.getRandomState());
+
+        int moves = snapshot.getReplayMoves();
+        out.putShort((short) moves);
+        for (int move = 0; move < moves; move++) out.put((byte) snapshot.getReplayShot(move));
+    }
+
+    private static void encodeBoard(BoardSnapshot board, ByteBuffer out)
+    {
+        List<ShipPlacement> fleet = board.getFleet();
+        out.put((byte) fleet.size());
+        for (int i = 0; i < fleet.size(); i++)
+        {
+            ShipPlacement ship = fleet.get(i);
+            out.put((byte) (ship.getRow() * 10 + ship.getCol()));
+            out.put((byte) (ship.getSize() | (ship.isHorizontal() ? 0x80 : 0)));
+        }
+        out.putLong(board.getShotLo());
+        out.putLong(board.getShotHi());
+    }
+
+    /**
+     * Reads a snapshot written by {@link #encode(GameSnapshot, ByteBuffer)}.
+     * @throws IllegalArgumentException If the data is not an encoded snapshot.
+     */
+    public static GameSnapshot decode(ByteBuffer in)
+    {
+        if (in.getInt() != MAGIC) throw new IllegalArgumentException("No es una partida guardada");
+        char[] name = new char[in.getShort()];
+        for (int i = 0; i < name.length; i++) name[i] = in.getChar();
+
+        BoardSnapshot playerBoard = decodeBoard(in);
+        BoardSnapshot enemyBoard = decodeBoard(in);
+
+        int shotsCounter = in.getShort();
+        int flags = in.get();
+        int enemySunk = in.get();
+        int playerSunk = in.get();
+        long seed = in.getLong();
+        long randomState = in.getLong();
+
+        int moves = in.getShort();
+        int[] shots = null;
+        if (moves >= 0)
+        {
+            shots = new int[Math.max(64, moves * 2)];
+            for (int move = 0; move < moves; move++) shots[move] = in.get() & 0xFF;
+        }
+        return GameSnapshot.restore(new String(name), playerBoard, enemyBoard, shotsCounter, (flags & 1) != 0,
+                enemySunk, playerSunk, (flags & 2) != 0, seed, randomState, shots, moves);
+    }
+
+    private static BoardSnapshot decodeBoard(ByteBuffer in)
+    {
+        int ships = in.get();
+        List<ShipPlacement> fleet = new ArrayList<>(ships);
+        for (int i = 0; i < ships; i++)
+        {
+            int origin = in.get();
+            int sizeAndOrientation = in.get();
+            fleet.add(new ShipPlacement(sizeAndOrientation & 0x7F, origin % 10, origin / 10, (sizeAndOrientation & 0x80) != 0));
+        }
+        return BoardSnapshot.of(fleet, in.getLong(), in.getLong());
+    }
+}
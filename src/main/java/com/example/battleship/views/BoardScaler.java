@@ -0,0 +1,122 @@
+package com.example.battleship.views;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Scales the game content with its window.
+ * The content keeps its design size (cells stay cellSize units wide, so all the board
+ * logic is unchanged) and we only change its scale, which the GPU applies to the nodes
+ * already on screen: dragging the window edge never relayouts or redraws anything.
+ * Rasters (ship images) are refreshed only once the size has settled, and only when the
+ * pixel density crosses into another scale bucket, including HiDPI output scales.
+ */
+public class BoardScaler
+{
+    //region 1. Variables and constants
+    private static final double BUCKET_STEP = 0.5;                     // Rasters at 1x, 1.5x, 2x...
+    private static final double MIN_SCALE = 0.5, MAX_RASTER_SCALE = 4.0;
+    private static final Duration SETTLE_DELAY = Duration.millis(150);  // Debounce of resize events
+
+    private final Region host;
+    private final Region content;
+    private final DoubleConsumer onRasterScaleChanged;
+    private final PauseTransition settle = new PauseTransition(SETTLE_DELAY);
+    private final ChangeListener<Number> outputScaleListener = (obs, old, value) -> settle.playFromStart();
+    private final ChangeListener<Window> windowListener = (obs, old, value) -> watchWindow(value);
+
+    private double rasterScale = Double.NaN; // Unknown until the first settle
+    private Window window;
+    //endregion
+
+    //region 2. Constructor
+
+    /**
+     * @param host Region that follows the window size (the scene root).
+     * @param content Node scaled inside the host; it keeps its preferred size.
+     * @param onRasterScaleChanged Called on the FX thread with the new raster scale bucket.
+     */
+    public BoardScaler(Region host, Region content, DoubleConsumer onRasterScaleChanged)
+    {
+        this.host = host;
+        this.content = content;
+        this.onRasterScaleChanged = onRasterScaleChanged;
+
+        // The content never stretches, it is only scaled around its centre
+        content.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        content.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+
+        host.widthProperty().addListener((obs, old, value) -> applyScale());
+        host.heightProperty().addListener((obs, old, value) -> applyScale());
+        host.sceneProperty().addListener((obs, old, scene) ->
+        {
+            if (old != null) old.windowProperty().removeListener(windowListener);
+            watchScene(scene);
+        });
+        watchScene(host.getScene());
+        settle.setOnFinished(event -> updateRasterScale());
+    }
+    //endregion
+
+    //region 3. Scaling
+
+    /**
+     * Fits the content in the host. Cheap: only the node transform changes.
+     */
+    private void applyScale()
+    {
+        double width = content.prefWidth(-1), height = content.prefHeight(-1);
+        if (width <= 0 || height <= 0 || host.getWidth() <= 0 || host.getHeight() <= 0) return;
+
+        double scale = Math.max(MIN_SCALE, Math.min(host.getWidth() / width, host.getHeight() / height));
+        content.setScaleX(scale);
+        content.setScaleY(scale);
+        settle.playFromStart();
+    }
+
+    /**
+     * Once resizing has stopped, picks the raster bucket for the pixels a cell now covers.
+     */
+    private void updateRasterScale()
+    {
+        double outputScale = window != null ? window.getOutputScaleX() : 1.0;
+        double pixels = content.getScaleX() * outputScale;
+        double bucket = Math.ceil(pixels / BUCKET_STEP) * BUCKET_STEP;
+        bucket = Math.max(1.0, Math.min(MAX_RASTER_SCALE, bucket));
+
+        if (bucket == rasterScale) return;
+        rasterScale = bucket;
+        onRasterScaleChanged.accept(bucket);
+    }
+
+    private void watchScene(Scene scene)
+    {
+        if (scene != null) scene.windowProperty().addListener(windowListener);
+        watchWindow(scene != null ? scene.getWindow() : null);
+    }
+
+    /**
+     * Follows the output scale of the window, which changes when it moves to another screen.
+     */
+    private void watchWindow(Window newWindow)
+    {
+        if (window != null) window.outputScaleXProperty().removeListener(outputScaleListener);
+        window = newWindow;
+        if (window == null) return;
+
+        window.outputScaleXProperty().addListener(outputScaleListener);
+        settle.playFromStart();
+    }
+
+    public double getRasterScale()
+    {
+        return rasterScale;
+    }
+    //endregion
+}
@@ -2,16 +2,31 @@
 package com.example.battleship.views;
 
 import com.example.battleship.models.Cell;
+import com.example.battleship.models.CellState;
 import com.example.battleship.models.Ship;
+import com.example.battleship.models.ShipFactory;
+import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
 public class BoardVisualizer {
 
     //region 1. Variables and Constants
+    public static final String PLAYER_SHIP = "PlayerShip";
+    public static final String ENEMY_SHIP = "EnemyShip";
+    private static final int BOARD_CELLS = 100;
+    private static final int FLEET_CELLS = Arrays.stream(ShipFactory.FLEET_SIZES).sum();
+
     private final CanvasBombRenderer bombRenderer = new CanvasBombRenderer();
     private final CanvasSmokeRenderer smokeRenderer = new CanvasSmokeRenderer();
     // Visual feedback element for placing ships (Green/Red rectangle)
@@ -27,6 +42,10 @@ public class BoardVisualizer {
 
     //Variable interna para saber si mostrar barcos ocultos - en reemplazo de debug
     private boolean isDebugMode = false;
+
+    // Node pools of each board pane (markers, fire overlays and ship views)
+    private final BoardPools playerPools;
+    private final BoardPools enemyPools;
     //endregion
 
     //region 2. Constructor and Initialization
@@ -35,6 +54,52 @@ public class BoardVisualizer {
         this.enemyShipsPane = enemyShipsPane;
         this.cellSize = cellSize;
         this.shipRenderer = new CanvasShipRenderer();
+        this.playerPools = new BoardPools();
+        this.enemyPools = new BoardPools();
+    }
+
+    /**
+     * Pools of reusable nodes for one board pane.
+     * Hit and miss markers have separate pools so a recycled canvas is already drawn.
+     * We preallocate what a typical game needs; a long game grows the pools once, up to a full board.
+     */
+    private final class BoardPools {
+        final NodePool<Canvas> hits = new NodePool<>(() -> createShotMarker(true), BOARD_CELLS).preallocate(FLEET_CELLS);
+        final NodePool<Canvas> misses = new NodePool<>(() -> createShotMarker(false), BOARD_CELLS).preallocate(FLEET_CELLS);
+        final NodePool<Canvas> fires = new NodePool<>(BoardVisualizer.this::createFire, FLEET_CELLS).preallocate(FLEET_CELLS);
+        final List<NodePool<ImageView>> ships = new ArrayList<>(); // By ship size
+
+        NodePool<ImageView> ships(int size) {
+            while (ships.size() <= size) {
+                int poolSize = ships.size();
+                ships.add(new NodePool<>(() -> shipRenderer.createView(poolSize, cellSize), ShipFactory.FLEET_SIZES.length));
+            }
+            return ships.get(size);
+        }
+    }
+
+    /**
+     * Gives every ship view, on the boards or pooled, the image of the current raster scale.
+     */
+    public void refreshShipImages() {
+        for (BoardPools pools : List.of(playerPools, enemyPools)) {
+            for (int size = 0; size < pools.ships.size(); size++) {
+                Image image = shipRenderer.getImage(size, cellSize);
+                pools.ships.get(size).forEachCreated(view -> view.setImage(image));
+            }
+        }
+    }
+
+    private BoardPools poolsFor(Pane pane) {
+        return pane == enemyShipsPane ? enemyPools : playerPools;
+    }
+
+    /**
+     * Takes the pooled nodes accepted by the filter off a pane and gives them back to their pools.
+     * Grids and highlights are not pooled, so they always stay.
+     */
+    private void recycle(Pane pane, Predicate<Node> filter) {
+        pane.getChildren().removeIf(node -> filter.test(node) && NodePool.releaseIfPooled(node));
     }
 
     public void setDebugMode(boolean enable) {
@@ -123,8 +188,8 @@ public class BoardVisualizer {
      */
     public void restoreVisualShips(Cell[][] enemyBoardCells)
     {
-        // Remove any existing enemy ship visuals from previous setup
-        enemyShipsPane.getChildren().removeIf(node -> "EnemyShip".equals(node.getId()));
+        // Take down any existing enemy ship visuals from previous setup
+        recycle(enemyShipsPane, node -> ENEMY_SHIP.equals(node.getId()));
 
         // Track already-drawn ships to avoid duplicates
         java.util.Set<Ship> drawnShips = new java.util.HashSet<>();
@@ -144,7 +209,7 @@ public class BoardVisualizer {
                     }
 
                     // Create visual representation at this position
-                    placeEnemyShipVisualsOnly(i, j, ship.getSize(), isHorizontal);
+                    showShip(true, i, j, ship.getSize(), isHorizontal);
 
                     // Mark as drawn to prevent duplicates
                     drawnShips.add(ship);
@@ -152,46 +217,58 @@ public class BoardVisualizer {
             }
         }
     }
+    //endregion
+
+    //region 4. Ship Render
 
     /**
-     * Creates only the visual representation of an enemy ship without modifying game logic.
-     * We use this helper when reconstructing the board from a saved state, ensuring
-     * visual elements match the existing logical ship positions.
+     * Shows a ship on the player's (enemy = false) or enemy's board.
+     * Views come from the pane's pool, so rematches and replay seeks do not allocate new ship nodes.
+     * Enemy ships go to the background layer and respect debug mode.
      */
-    private void placeEnemyShipVisualsOnly(int x, int y, int size, boolean horizontal) {
-        Canvas enemyShipCanvas = new Canvas();
-        enemyShipCanvas.setWidth(size * cellSize);
-        enemyShipCanvas.setHeight(cellSize);
-        enemyShipCanvas.setId("EnemyShip");
-
-        shipRenderer.render(enemyShipCanvas, size);
-
-        // Position the canvas
-        enemyShipCanvas.setLayoutX(x * cellSize);
-        enemyShipCanvas.setLayoutY(y * cellSize);
-
-        if (!horizontal) {
-            // Apply corrected rotation from the corner
-            enemyShipCanvas.getTransforms().add(new javafx.scene.transform.Rotate(90, cellSize / 2, cellSize / 2));
+    public ImageView showShip(boolean enemy, int x, int y, int size, boolean horizontal) {
+        ImageView view = poolsFor(enemy ? enemyShipsPane : shipsPane).ships(size).acquire();
+        view.setId(enemy ? ENEMY_SHIP : PLAYER_SHIP);
+
+        // Position and rotate based on orientation
+        if (horizontal) {
+            view.setRotate(0);
+            view.setLayoutX(x * cellSize);
+            view.setLayoutY(y * cellSize);
+        } else {
+            // Rotation is around the center, so we correct the position
+            view.setRotate(90);
+            double offset = cellSize * (1 - size) / 2.0;
+            view.setLayoutX((x * cellSize) + offset);
+            view.setLayoutY((y * cellSize) - offset);
         }
 
-        // Respect debug mode visibility setting
-        enemyShipCanvas.setVisible(this.isDebugMode);
+        if (enemy) {
+            view.setVisible(this.isDebugMode);
+            enemyShipsPane.getChildren().add(0, view);
+        } else {
+            view.setVisible(true);
+            shipsPane.getChildren().add(view);
+        }
+        return view;
+    }
 
-        // Add to background layer
-        enemyShipsPane.getChildren().add(0, enemyShipCanvas);
+    /**
+     * Takes every ship off both boards, keeping the views for later games.
+     */
+    public void clearShips() {
+        recycle(shipsPane, node -> PLAYER_SHIP.equals(node.getId()));
+        recycle(enemyShipsPane, node -> ENEMY_SHIP.equals(node.getId()));
     }
-    //endregion
 
-    //region 4. Ship Render
     /**
      * Reconstructs the player's fleet visuals from the logical board state.
      * We use this method when loading a saved game to ensure visual ships
      * match their logical positions, preventing ships from disappearing after load.
      */
     public void drawPlayerShipsFromModel(Cell[][] boardCells) {
-        // Clear previous ship visuals while preserving the grid
-        shipsPane.getChildren().removeIf(node -> node instanceof Canvas && !"Grid".equals(node.getId()));
+        // Clear previous ship and shot visuals while preserving the grid
+        recycle(shipsPane, node -> true);
 
         java.util.Set<Ship> drawnShips = new java.util.HashSet<>();
 
@@ -212,27 +289,7 @@ public class BoardVisualizer {
                     if (ship.getSize() == 1) isHorizontal = true;
 
                     // Create visual ship representation
-                    Canvas newShipCanvas = new Canvas();
-                    newShipCanvas.setWidth(ship.getSize() * cellSize);
-                    newShipCanvas.setHeight(cellSize);
-
-                    // Use the ship renderer for consistent visuals
-                    shipRenderer.render(newShipCanvas, ship.getSize());
-
-                    // Position and rotate based on orientation
-                    if (isHorizontal) {
-                        newShipCanvas.setLayoutX(i * cellSize);
-                        newShipCanvas.setLayoutY(j * cellSize);
-                    } else {
-                        // Apply rotation with mathematical correction
-                        newShipCanvas.setRotate(90);
-                        double offset = cellSize * (1 - ship.getSize()) / 2.0;
-                        newShipCanvas.setLayoutX((i * cellSize) + offset);
-                        newShipCanvas.setLayoutY((j * cellSize) - offset);
-                    }
-
-                    newShipCanvas.setMouseTransparent(true);
-                    shipsPane.getChildren().add(newShipCanvas);
+                    showShip(false, i, j, ship.getSize(), isHorizontal);
                     drawnShips.add(ship);
                 }
             }
@@ -247,9 +304,19 @@ public class BoardVisualizer {
      * a miss marker (gray X) to give players clear feedback on their attacks.
      */
     public void drawShotResult(Pane pane, int col, int row, boolean hit) {
-        Canvas shotCanvas = new Canvas(cellSize, cellSize);
+        BoardPools pools = poolsFor(pane);
+        Canvas shotCanvas = hit ? pools.hits.acquire() : pools.misses.acquire();
         shotCanvas.setLayoutX(col * cellSize);
         shotCanvas.setLayoutY(row * cellSize);
+        pane.getChildren().add(shotCanvas);
+    }
+
+    /**
+     * Creates a marker canvas for the pools; markers are drawn once and reused as they are.
+     */
+    private Canvas createShotMarker(boolean hit) {
+        Canvas shotCanvas = new Canvas(cellSize, cellSize);
+        shotCanvas.setId("Shot");
         shotCanvas.setMouseTransparent(true);
 
         GraphicsContext gc = shotCanvas.getGraphicsContext2D();
@@ -266,7 +333,7 @@ public class BoardVisualizer {
             gc.strokeLine(10, 10, cellSize - 10, cellSize - 10);
             gc.strokeLine(cellSize - 10, 10, 10, cellSize - 10);
         }
-        pane.getChildren().add(shotCanvas);
+        return shotCanvas;
     }
 
     /**
@@ -292,12 +359,46 @@ public class BoardVisualizer {
      * Draw the fire image in a specific cell.
      */
     private void drawFire(Pane pane, int col, int row) {
-        Canvas smokeCanvas = new Canvas(cellSize, cellSize);
+        Canvas smokeCanvas = poolsFor(pane).fires.acquire();
         smokeCanvas.setLayoutX(col * cellSize);
         smokeCanvas.setLayoutY(row * cellSize);
+        pane.getChildren().add(smokeCanvas);
+    }
+
+    private Canvas createFire() {
+        Canvas smokeCanvas = new Canvas(cellSize, cellSize);
+        smokeCanvas.setId("Fire");
         smokeCanvas.setMouseTransparent(true);
         smokeRenderer.draw(smokeCanvas);
-        pane.getChildren().add(smokeCanvas);
+        return smokeCanvas;
+    }
+
+    /**
+     * Draws the markers for every shot already resolved on a logical board.
+     * We use this both when resuming a saved game and when seeking inside a replay.
+     */
+    public void drawBoardState(Pane pane, Cell[][] board) {
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                Cell c = board[i][j];
+
+                if (c.getState() == CellState.HIT) {
+                    drawShotResult(pane, i, j, true);
+                } else if (c.getState() == CellState.SUNK) {
+                    drawShotResult(pane, i, j, true);
+                    markShipAsSunk(pane, board, c.getOccupyingShip());
+                } else if (c.getState() == CellState.MISSED_SHOT) {
+                    drawShotResult(pane, i, j, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every shot marker and fire overlay from a pane, keeping grid and ships.
+     */
+    public void clearShotMarkers(Pane pane) {
+        recycle(pane, node -> "Shot".equals(node.getId()) || "Fire".equals(node.getId()));
     }
     //endregion
 
@@ -0,0 +1,112 @@
+package com.example.battleship.views;
+
+import javafx.scene.Node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool of identical scene-graph nodes with acquire/release semantics.
+ * We keep nodes taken off a board and hand them out again, so markers, overlays and
+ * ship views are created once per session instead of once per shot or per game.
+ * Each node remembers its pool in its userData, which lets a pane give back any
+ * pooled child without knowing what kind it is (see {@link #releaseIfPooled(Node)}).
+ * Pools are not thread-safe; use them from one thread at a time.
+ *
+ * @param <T> The type of node in the pool.
+ */
+public class NodePool<T extends Node>
+{
+    //region 1. Variables and constants
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private final List<T> created = new ArrayList<>();
+    //endregion
+
+    //region 2. Constructors
+
+    /**
+     * @param factory Creates (and draws) a new node when the pool is empty.
+     * @param capacity Maximum number of free nodes kept; extra released nodes are dropped.
+     */
+    public NodePool(Supplier<T> factory, int capacity)
+    {
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+    //endregion
+
+    //region 3. Pool operations
+
+    /**
+     * Creates nodes up front, so the first game does not pay for them while playing.
+     */
+    public NodePool<T> preallocate(int count)
+    {
+        while (free.size() < Math.min(count, capacity)) free.push(create());
+        return this;
+    }
+
+    /**
+     * Returns a free node, or a new one if none is left. The node is not attached to any parent.
+     */
+    public T acquire()
+    {
+        T node = free.poll();
+        return node != null ? node : create();
+    }
+
+    /**
+     * Gives a node back. The caller must already have removed it from its parent.
+     */
+    public void release(T node)
+    {
+        if (free.size() < capacity) free.push(node);
+    }
+
+    /**
+     * Gives a detached node back to the pool it came from.
+     * @return false if the node does not belong to any pool.
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean releaseIfPooled(Node node)
+    {
+        if (!(node.getUserData() instanceof NodePool)) return false;
+        ((NodePool<Node>) node.getUserData()).release(node);
+        return true;
+    }
+
+    private T create()
+    {
+        T node = factory.get();
+        node.setUserData(this);
+        created.add(node);
+        return node;
+    }
+
+    /**
+     * Visits every node this pool has created, in use or free, e.g. to restyle them all.
+     */
+    public void forEachCreated(Consumer<? super T> action)
+    {
+        created.forEach(action);
+    }
+    //endregion
+
+    //region 4. Getters
+
+    public int getCreatedCount()
+    {
+        return created.size();
+    }
+
+    public int getFreeCount()
+    {
+        return free.size();
+    }
+    //endregion
+}
@@ -0,0 +1,199 @@
+package com.example.battleship.views;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Optional on-screen profiler for the game scene.
+ * We sample frame intervals with an AnimationTimer and the layout part of each pulse
+ * with scene pulse listeners, count the nodes of each board pane and show how long
+ * the timed sections (shots, enemy turn, autosave...) took.
+ * Samples go into fixed ring buffers and the label is refreshed a few times per second,
+ * so it is cheap enough to leave on; when disabled, recording is a single branch.
+ */
+public class PerformanceOverlay
+{
+    //region 1. Variables and constants
+    private static final int SAMPLES = 240;                      // About 4 seconds at 60 FPS
+    private static final long REFRESH_NANOS = 250_000_000L;      // Label refresh, 4 times per second
+
+    private final StackPane host;
+    private final Pane playerPane;
+    private final Pane enemyPane;
+    private final Label label = new Label();
+
+    private final long[] frameNanos = new long[SAMPLES];
+    private final long[] layoutNanos = new long[SAMPLES];
+    private final long[] sortBuffer = new long[SAMPLES];
+    private int frameCount = 0, layoutCount = 0;
+    private long lastFrame = 0, lastRefresh = 0, layoutStart = 0;
+
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private final StringBuilder text = new StringBuilder();
+    private boolean enabled = false;
+    private Scene scene;
+
+    private final Runnable preLayout = () -> layoutStart = System.nanoTime();
+    private final Runnable postLayout = () ->
+    {
+        if (layoutStart == 0) return;
+        layoutNanos[layoutCount++ % SAMPLES] = System.nanoTime() - layoutStart;
+    };
+
+    private final AnimationTimer timer = new AnimationTimer()
+    {
+        @Override
+        public void handle(long now)
+        {
+            if (lastFrame != 0) frameNanos[frameCount++ % SAMPLES] = now - lastFrame;
+            lastFrame = now;
+            if (now - lastRefresh >= REFRESH_NANOS)
+            {
+                lastRefresh = now;
+                refresh();
+            }
+        }
+    };
+    //endregion
+
+    //region 2. Constructor
+    public PerformanceOverlay(StackPane host, Pane playerPane, Pane enemyPane)
+    {
+        this.host = host;
+        this.playerPane = playerPane;
+        this.enemyPane = enemyPane;
+
+        label.setMouseTransparent(true);
+        label.setStyle("-fx-font-family: monospace; -fx-font-size: 11px; -fx-text-fill: #69f0ae; "
+                + "-fx-background-color: rgba(0,0,0,0.75); -fx-padding: 6;");
+        StackPane.setAlignment(label, Pos.TOP_LEFT);
+    }
+    //endregion
+
+    //region 3. Toggle
+
+    /**
+     * Shows or hides the overlay. Must be called on the JavaFX Application Thread.
+     */
+    public void setEnabled(boolean enable)
+    {
+        if (enable == enabled) return;
+        enabled = enable;
+
+        if (enable)
+        {
+            frameCount = 0;
+            layoutCount = 0;
+            lastFrame = 0;
+            layoutStart = 0;
+            scene = host.getScene();
+            if (scene != null)
+            {
+                scene.addPreLayoutPulseListener(preLayout);
+                scene.addPostLayoutPulseListener(postLayout);
+            }
+            host.getChildren().add(label);
+            timer.start();
+        }
+        else
+        {
+            timer.stop();
+            host.getChildren().remove(label);
+            if (scene != null)
+            {
+                scene.removePreLayoutPulseListener(preLayout);
+                scene.removePostLayoutPulseListener(postLayout);
+                scene = null;
+            }
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+    //endregion
+
+    //region 4. Sections
+
+    /**
+     * Start of a timed section: pass the result to {@link #record(String, long)}.
+     */
+    public long start()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time spent in a section since {@link #start()}.
+     */
+    public void record(String section, long start)
+    {
+        if (!enabled || start == 0) return;
+        long nanos = System.nanoTime() - start;
+        sections.computeIfAbsent(section, key -> new Section()).add(nanos);
+    }
+
+    /**
+     * Running statistics of one timed section.
+     */
+    private static final class Section
+    {
+        long count, last, max, total;
+
+        void add(long nanos)
+        {
+            count++;
+            last = nanos;
+            total += nanos;
+            if (nanos > max) max = nanos;
+        }
+    }
+    //endregion
+
+    //region 5. Rendering
+
+    private void refresh()
+    {
+        text.setLength(0);
+
+        int frames = Math.min(frameCount, SAMPLES);
+        if (frames > 0)
+        {
+            long sum = 0;
+            for (int i = 0; i < frames; i++) sum += frameNanos[i];
+            text.append(String.format("FPS %5.1f%n", frames * 1e9 / sum));
+            appendPercentiles("cuadro", frameNanos, frames);
+        }
+        appendPercentiles("layout", layoutNanos, Math.min(layoutCount, SAMPLES));
+
+        text.append(String.format("nodos jugador %d  enemigo %d%n",
+                playerPane.getChildren().size(), enemyPane.getChildren().size()));
+
+        for (Map.Entry<String, Section> entry : sections.entrySet())
+        {
+            Section section = entry.getValue();
+            text.append(String.format("%-14s ult %6.2f  max %6.2f  prom %6.2f ms (n=%d)%n", entry.getKey(),
+                    section.last / 1e6, section.max / 1e6, section.total / 1e6 / section.count, section.count));
+        }
+        label.setText(text.toString().trim());
+    }
+
+    private void appendPercentiles(String name, long[] samples, int count)
+    {
+        if (count == 0) return;
+        System.arraycopy(samples, 0, sortBuffer, 0, count);
+        Arrays.sort(sortBuffer, 0, count);
+        text.append(String.format("%-6s p50 %5.2f  p95 %5.2f  p99 %5.2f ms%n", name,
+                sortBuffer[count / 2] / 1e6, sortBuffer[count * 95 / 100] / 1e6, sortBuffer[count * 99 / 100] / 1e6));
+    }
+    //endregion
+}
@@ -0,0 +1,91 @@
+package com.example.battleship.views;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Rotate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of rendered ship images.
+ * We render each ship size once per orientation and cell size and reuse the image
+ * for every drag (and every game), instead of snapshotting a canvas on each drag start.
+ * Images are rendered on the JavaFX Application Thread; cached ones can be read from any thread.
+ * Each image is rasterised at the current raster scale (see BoardScaler), so a board shown
+ * at twice its design size, or on a HiDPI screen, gets twice the pixels instead of a blurry upscale.
+ * Buckets stay cached, so going back to a previous window size renders nothing.
+ */
+public final class ShipImageCache
+{
+    //region 1. Variables and constants
+    // Concurrent so a scene built off the FX thread can read images rendered earlier
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+    private static volatile double rasterScale = 1.0;
+    //endregion
+
+    //region 2. Constructors
+    private ShipImageCache()
+    {
+        // Static utility
+    }
+    //endregion
+
+    //region 3. Cache access
+
+    /**
+     * Returns the image of a ship, rendering it on first use.
+     * Vertical images are the horizontal drawing rotated 90 degrees, like the ships on the board.
+     * The image is {@link #getRasterScale()} times larger than the ship in layout units.
+     */
+    public static Image get(ShipRenderer renderer, int size, boolean horizontal, double cellSize)
+    {
+        double scale = rasterScale;
+        String key = renderer.getClass().getName() + ":" + size + ":" + (horizontal ? "H" : "V") + ":" + cellSize + "@" + scale;
+        Image image = IMAGES.get(key);
+        if (image == null)
+        {
+            image = render(renderer, size, horizontal, cellSize * scale);
+            IMAGES.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Drops every cached image, e.g. when the ship theme or the board scale changes.
+     */
+    public static void invalidate()
+    {
+        IMAGES.clear();
+    }
+
+    /**
+     * Changes the pixel density of the images returned from now on.
+     * @return true if the scale changed, so existing nodes should fetch their images again.
+     */
+    public static boolean setRasterScale(double scale)
+    {
+        if (scale == rasterScale) return false;
+        rasterScale = scale;
+        return true;
+    }
+
+    public static double getRasterScale()
+    {
+        return rasterScale;
+    }
+
+    private static Image render(ShipRenderer renderer, int size, boolean horizontal, double cellSize)
+    {
+        Canvas canvas = new Canvas(size * cellSize, cellSize);
+        renderer.render(canvas, size);
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        if (!horizontal) params.setTransform(new Rotate(90));
+        return canvas.snapshot(params, null);
+    }
+    //endregion
+}
@@ -1,6 +1,8 @@
 package com.example.battleship.views;
 
 import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 
 /**
  * Interface (Contract).
@@ -15,4 +17,29 @@ public interface ShipRenderer {
      * @param size The size of the ship (number of cells).
      */
     void render(Canvas canvas, int size);
+
+    /**
+     * Returns the ship drawn horizontally at the given cell size.
+     * Images come from a process-wide cache, so each hull is drawn only once.
+     * @param size The size of the ship (number of cells).
+     * @param cellSize The side of a board cell in pixels.
+     */
+    default Image getImage(int size, double cellSize) {
+        return ShipImageCache.get(this, size, true, cellSize);
+    }
+
+    /**
+     * Creates a board node for a ship that shares the cached image instead of owning a canvas.
+     * The view keeps its layout size whatever the raster scale of the image.
+     * @param size The size of the ship (number of cells).
+     * @param cellSize The side of a board cell in pixels.
+     */
+    default ImageView createView(int size, double cellSize) {
+        ImageView view = new ImageView(getImage(size, cellSize));
+        view.setFitWidth(size * cellSize);
+        view.setFitHeight(cellSize);
+        view.setSmooth(true);
+        view.setMouseTransparent(true);
+        return view;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.GameRandom;
+import com.example.battleship.models.ShipFactory;
+import com.example.battleship.models.ShipPlacement;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AntiDensityPlacementStrategyTest
+{
+    @Test
+    void sameSeedDeploysTheSameFleet()
+    {
+        // The first call runs before the JIT warms up, the later ones after: the fleet must not change
+        List<ShipPlacement> first = new AntiDensityPlacementStrategy().place(new GameRandom(42));
+        for (int run = 0; run < 5; run++)
+        {
+            assertEquals(describe(first), describe(new AntiDensityPlacementStrategy().place(new GameRandom(42))));
+        }
+    }
+
+    @Test
+    void deploysAWholeLegalFleet()
+    {
+        List<ShipPlacement> fleet = new AntiDensityPlacementStrategy().place(new GameRandom(7));
+        assertEquals(ShipFactory.FLEET_SIZES.length, fleet.size());
+        boolean[] occupied = new boolean[100];
+        for (int ship = 0; ship < fleet.size(); ship++)
+        {
+            ShipPlacement placement = fleet.get(ship);
+            assertEquals(ShipFactory.FLEET_SIZES[ship], placement.getSize());
+            for (int i = 0; i < placement.getSize(); i++)
+            {
+                int col = placement.colAt(i), row = placement.rowAt(i);
+                assertTrue(col >= 0 && col < 10 && row >= 0 && row < 10, "ship " + ship + " off the board");
+                assertFalse(occupied[row * 10 + col], "ship " + ship + " overlaps another");
+                occupied[row * 10 + col] = true;
+            }
+        }
+    }
+
+    private static String describe(List<ShipPlacement> fleet)
+    {
+        StringBuilder text = new StringBuilder();
+        for (ShipPlacement placement : fleet)
+        {
+            text.append(placement.getSize()).append('@').append(placement.getCol()).append(',').append(placement.getRow())
+                    .append(placement.isHorizontal() ? 'H' : 'V').append(' ');
+        }
+        return text.toString();
+    }
+}
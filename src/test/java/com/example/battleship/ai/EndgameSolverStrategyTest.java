@@ -0,0 +1,69 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.models.PlacementMasks;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class EndgameSolverStrategyTest
+{
+    private static final double EPSILON = 1e-9;
+
+    private final EndgameSolverStrategy solver = new EndgameSolverStrategy(new RandomTargetingStrategy(), 1_000);
+
+    @Test
+    void frigatesNeverCoverAnOpenHit()
+    {
+        // Hit at (0,0); free water at (1,0), (0,1), (5,5), (6,5); a destroyer and two frigates afloat.
+        // The destroyer must hold the hit: {0,1} or {0,10}, then the frigates take 2 of the 3 cells left.
+        int[] remaining = new int[PlacementMasks.MAX_SIZE + 1];
+        remaining[2] = 1;
+        remaining[1] = 2;
+        double[] p = solve(new int[]{0}, new int[]{1, 10, 55, 56}, remaining);
+
+        assertEquals(1.0, p[0], EPSILON);
+        assertEquals(5.0 / 6, p[1], EPSILON);
+        assertEquals(5.0 / 6, p[10], EPSILON);
+        assertEquals(2.0 / 3, p[55], EPSILON);
+        assertEquals(2.0 / 3, p[56], EPSILON);
+    }
+
+    @Test
+    void noShipLiesEntirelyOnOpenHits()
+    {
+        // Hits at (0,0) and (1,0); free water at (2,0), (0,1), (1,1), (2,1); a submarine and a destroyer afloat.
+        // A destroyer on both hits would already be sunk, so the submarine holds them at {0,1,2}.
+        int[] remaining = new int[PlacementMasks.MAX_SIZE + 1];
+        remaining[3] = 1;
+        remaining[2] = 1;
+        double[] p = solve(new int[]{0, 1}, new int[]{2, 10, 11, 12}, remaining);
+
+        assertEquals(1.0, p[2], EPSILON);
+        assertEquals(0.5, p[10], EPSILON);
+        assertEquals(1.0, p[11], EPSILON);
+        assertEquals(0.5, p[12], EPSILON);
+    }
+
+    // Every cell that is neither a hit nor listed as free is water already shot
+    private double[] solve(int[] hits, int[] free, int[] remaining)
+    {
+        long missLo = -1L, missHi = (1L << 36) - 1;
+        long hitLo = 0, hitHi = 0;
+        for (int index : hits)
+        {
+            if (index < 64) hitLo |= 1L << index;
+            else hitHi |= 1L << (index - 64);
+        }
+        missLo &= ~hitLo;
+        missHi &= ~hitHi;
+        for (int index : free)
+        {
+            if (index < 64) missLo &= ~(1L << index);
+            else missHi &= ~(1L << (index - 64));
+        }
+        double[] probabilities = solver.solve(new ShotKnowledge(missLo, missHi, hitLo, hitHi, 0, 0, remaining));
+        assertNotNull(probabilities);
+        return probabilities;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.BoardSnapshot;
+import com.example.battleship.models.GameRandom;
+import com.example.battleship.models.GameSnapshot;
+import com.example.battleship.models.Replay;
+import com.example.battleship.models.ShipPlacement;
+import com.example.battleship.persistence.GameArchive;
+import com.example.battleship.persistence.ReplayFileManager;
+import com.example.battleship.persistence.SnapshotCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HistoryAnalyzerTest
+{
+    private static final double EPSILON = 1e-9;
+
+    // A destroyer at (0,0)-(1,0) for the player, a frigate at (5,5) for the enemy
+    private static final List<ShipPlacement> PLAYER_FLEET = List.of(new ShipPlacement(2, 0, 0, true));
+    private static final List<ShipPlacement> ENEMY_FLEET = List.of(new ShipPlacement(1, 5, 5, true));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void analyzesTheFinalSavesAndReplaysOfAnArchive() throws IOException
+    {
+        Path file = dir.resolve("games.bsa");
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            Replay replay = new Replay("Ana", 1L, PLAYER_FLEET, ENEMY_FLEET);
+            replay.recordShot(false, 9, 9); // Player misses
+            replay.recordShot(true, 3, 3);  // Enemy misses
+            replay.recordShot(false, 5, 5); // Player sinks the frigate with its 2nd shot
+            replay.recordShot(true, 0, 0);  // Enemy hits with its 2nd shot
+            archive.append(GameArchive.REPLAY, "Ana - 1", ReplayFileManager.encode(replay));
+
+            // Player: 2 shots, 1 hit, fleet sunk. Enemy: 2 shots (cells 0 and 33), 1 hit
+            GameSnapshot last = new GameSnapshot("Ana", BoardSnapshot.of(PLAYER_FLEET, 1L | 1L << 33, 0),
+                    BoardSnapshot.of(ENEMY_FLEET, 1L << 55, 1L << (99 - 64)), 2, false, 1, 0, true, new GameRandom(1L), null);
+            ByteBuffer encoded = ByteBuffer.allocate(4096);
+            SnapshotCodec.encode(last, encoded);
+            byte[] data = new byte[encoded.flip().remaining()];
+            encoded.get(data);
+            archive.append(GameArchive.SAVE, "Ana", data);
+
+            archive.append(GameArchive.REPLAY, "danada", new byte[] {1, 2, 3});
+        }
+
+        ArchiveStats stats = HistoryAnalyzer.analyzeArchive(file);
+
+        assertEquals(1, stats.getFinalGames());
+        assertEquals(1.0, stats.getPlayerWinRate(), EPSILON);
+        assertEquals(0.5, stats.getPlayerAccuracy(), EPSILON);
+        assertEquals(0.5, stats.getEnemyAccuracy(), EPSILON);
+        assertEquals(1, stats.getReplays());
+        assertEquals(4.0, stats.getAverageMoves(), EPSILON);
+        assertEquals(2.0, stats.getPlayerShotsToFirstHit(), EPSILON);
+        assertEquals(2.0, stats.getEnemyShotsToFirstHit(), EPSILON);
+        assertEquals(1, stats.getMalformed());
+    }
+
+    @Test
+    void aMissingArchiveIsEmpty() throws IOException
+    {
+        ArchiveStats stats = HistoryAnalyzer.analyzeArchive(dir.resolve("no-existe.bsa"));
+        assertEquals(0, stats.getFinalGames());
+        assertEquals(0, stats.getReplays());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.battleship.analytics;
+
+import com.example.battleship.models.GameRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LegacyLineParserTest
+{
+    private final LegacyLineParser parser = new LegacyLineParser();
+    private ByteBuffer line;
+
+    @Test
+    void readsTheOldFormatWithoutResult()
+    {
+        assertEquals(LegacyLineParser.RECORD, parse("Jugador: Ana | Barcos Hundidos: 10"));
+        assertEquals("Ana", name());
+        assertEquals(10, parser.sunk);
+        assertEquals(GameRecord.Outcome.WIN, parser.outcome);
+
+        assertEquals(LegacyLineParser.RECORD, parse("Jugador: Ana | Barcos Hundidos: 7\r"));
+        assertEquals(7, parser.sunk);
+        assertEquals(GameRecord.Outcome.LOSS, parser.outcome);
+    }
+
+    @Test
+    void readsTheFormatWithResult()
+    {
+        assertEquals(LegacyLineParser.RECORD, parse("Jugador: ALSDÑ | Hundidos: 4 | Resultado: DERROTA"));
+        assertEquals("ALSDÑ", name());
+        assertEquals(4, parser.sunk);
+        assertEquals(GameRecord.Outcome.LOSS, parser.outcome);
+
+        assertEquals(LegacyLineParser.RECORD, parse("Jugador: Luis | Hundidos: 3 | Resultado: Abandono"));
+        assertEquals(GameRecord.Outcome.UNKNOWN, parser.outcome);
+    }
+
+    @Test
+    void countsEachLoggedPairOnce()
+    {
+        assertEquals(LegacyLineParser.DUPLICATE, parse("Jugador: Ana | Hundidos: 10 | Resultado: GANADOR"));
+        assertEquals(LegacyLineParser.RECORD, parse("Jugador: Ana | Hundidos: 10 | Resultado: ¡VICTORIA!"));
+        assertEquals(GameRecord.Outcome.WIN, parser.outcome);
+
+        assertEquals(LegacyLineParser.DUPLICATE, parse("Jugador: Ana | Hundidos: 2 | Resultado: PERDEDOR"));
+        assertEquals(LegacyLineParser.RECORD, parse("Jugador: Ana | Hundidos: 2 | Resultado: DERROTA"));
+        assertEquals(GameRecord.Outcome.LOSS, parser.outcome);
+    }
+
+    @Test
+    void rejectsInvalidUtf8()
+    {
+        // Latin-1 "Ñ", a lone continuation byte, an overlong "/", a surrogate and a character cut short
+        byte[][] names = {{'A', (byte) 0xD1, 'B'}, {(byte) 0x80}, {(byte) 0xC0, (byte) 0xAF},
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80}, {'A', (byte) 0xC3}};
+        for (byte[] name : names)
+        {
+            assertEquals(LegacyLineParser.MALFORMED, parse(concat(bytes("Jugador: "), name, bytes(" | Hundidos: 3 | Resultado: DERROTA"))));
+        }
+        assertEquals(LegacyLineParser.MALFORMED, parse(concat(bytes("Jugador: Ana | Hundidos: 3 | Resultado: "), new byte[] {(byte) 0xFF})));
+    }
+
+    @Test
+    void rejectsOtherLines()
+    {
+        assertEquals(LegacyLineParser.BLANK, parse(" \t\r"));
+        assertEquals(LegacyLineParser.MALFORMED, parse("Registro guardado"));
+        assertEquals(LegacyLineParser.MALFORMED, parse("Jugador: Ana | Hundidos: 11 | Resultado: DERROTA"));
+        assertEquals(LegacyLineParser.MALFORMED, parse("Jugador: Ana | Barcos Hundidos: 10 | Resultado: GANADOR"));
+        assertEquals(LegacyLineParser.MALFORMED, parse("Jugador: Ana | Hundidos: | Resultado: DERROTA"));
+    }
+
+    private int parse(String text)
+    {
+        return parse(bytes(text));
+    }
+
+    // Parses the line in the middle of a buffer, as it is found in the mapped log
+    private int parse(byte[] text)
+    {
+        line = ByteBuffer.wrap(concat(bytes("x\n"), text, bytes("\ny")));
+        return parser.parse(line, 2, 2 + text.length);
+    }
+
+    private String name()
+    {
+        byte[] name = new byte[parser.nameEnd - parser.nameStart];
+        line.get(parser.nameStart, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String text)
+    {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[]... parts)
+    {
+        int length = 0;
+        for (byte[] part : parts) length += part.length;
+        ByteBuffer joined = ByteBuffer.allocate(length);
+        for (byte[] part : parts) joined.put(part);
+        return joined.array();
+    }
+}
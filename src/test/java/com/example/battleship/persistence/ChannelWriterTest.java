@@ -0,0 +1,36 @@
+package com.example.battleship.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ChannelWriterTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendsLinesLargerThanTheBuffer() throws IOException
+    {
+        Path file = dir.resolve("log.txt");
+        String longLine = "Jugador: ALSDÑ | Hundidos: 10 | Resultado: ¡VICTORIA!".repeat(10);
+        try (ChannelWriter writer = ChannelWriter.append(file, 0))
+        {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+            {
+                writer.appendLine("corta");
+                writer.appendLine(longLine);
+            });
+        }
+        String expected = "corta" + System.lineSeparator() + longLine + System.lineSeparator();
+        assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+}
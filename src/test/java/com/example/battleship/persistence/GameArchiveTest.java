@@ -0,0 +1,113 @@
+package com.example.battleship.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameArchiveTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void rebuildsTheIndexWhenTheTrailerIsTorn() throws IOException
+    {
+        Path file = dir.resolve("games.bsa");
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            for (int i = 0; i < 3; i++) archive.append(GameArchive.REPLAY, "partida " + i, payload(i));
+        }
+
+        // The trailer loses its last bytes, as if a write stopped halfway
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            assertEntries(archive, 3);
+        }
+        // The rebuilt index was written back, so the next open reads it directly
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            assertEntries(archive, 3);
+        }
+    }
+
+    @Test
+    void dropsABlockCutOffDuringAppend() throws IOException
+    {
+        Path file = dir.resolve("games.bsa");
+        long lastEnd;
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            archive.append(GameArchive.REPLAY, "partida 0", payload(0));
+            archive.append(GameArchive.REPLAY, "partida 1", payload(1));
+            lastEnd = archive.append(GameArchive.REPLAY, "partida 2", payload(2)).getEnd();
+        }
+
+        // The last block is cut in the middle and garbage follows it
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            channel.truncate(lastEnd - 10);
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}), lastEnd - 10);
+        }
+
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            assertEntries(archive, 2);
+            archive.append(GameArchive.REPLAY, "partida 2", payload(2));
+        }
+        try (GameArchive archive = GameArchive.open(file))
+        {
+            assertEntries(archive, 3);
+        }
+    }
+
+    @Test
+    void streamsEveryEntryInFileOrder() throws IOException
+    {
+        try (GameArchive archive = GameArchive.open(dir.resolve("games.bsa")))
+        {
+            for (int i = 0; i < 4; i++) archive.append(i % 2 == 0 ? GameArchive.REPLAY : GameArchive.SAVE, "partida " + i, payload(i));
+
+            List<GameArchive.Entry> visited = new ArrayList<>();
+            archive.stream((entry, data) ->
+            {
+                assertArrayEquals(payload(visited.size()), data);
+                visited.add(entry);
+            });
+            assertEquals(archive.entries(), visited);
+            assertEquals(2, archive.entries(GameArchive.SAVE).size());
+        }
+    }
+
+    private static void assertEntries(GameArchive archive, int count) throws IOException
+    {
+        List<GameArchive.Entry> entries = archive.entries();
+        assertEquals(count, entries.size());
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals("partida " + i, entries.get(i).getName());
+            assertArrayEquals(payload(i), archive.read(entries.get(i)));
+        }
+    }
+
+    // A few hundred bytes that compress, like a real replay
+    private static byte[] payload(int game)
+    {
+        return ("BSR1 juego " + game + " ").repeat(40 + game).getBytes(StandardCharsets.UTF_8);
+    }
+}
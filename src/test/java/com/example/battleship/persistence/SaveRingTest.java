@@ -0,0 +1,85 @@
+package com.example.battleship.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SaveRingTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void fallsBackWhenTheNewestSlotIsTorn() throws IOException
+    {
+        SaveRing ring = new SaveRing(dir, "save", "ser", 3);
+        ring.write(payload(0), true);
+        ring.write(payload(1), true);
+        Path newest = ring.write(payload(2), true);
+
+        // The last write stopped halfway
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.WRITE))
+        {
+            channel.truncate(channel.size() / 2);
+        }
+
+        assertArrayEquals(payload(1), new SaveRing(dir, "save", "ser", 3).readNewest());
+    }
+
+    @Test
+    void unforcedSavesNeverOverwriteTheForcedOne() throws IOException
+    {
+        SaveRing ring = new SaveRing(dir, "save", "ser", 3);
+        Path forced = ring.write(payload(0), true);
+
+        // Quick saves within one fsync interval wrap the ring more than once
+        Set<Path> unforced = new HashSet<>();
+        for (int i = 1; i <= 5; i++)
+        {
+            Path written = ring.write(payload(i), false);
+            assertNotEquals(forced, written, "save " + i);
+            unforced.add(written);
+        }
+        assertEquals(2, unforced.size());
+        assertArrayEquals(payload(5), new SaveRing(dir, "save", "ser", 3).readNewest());
+
+        // A power loss before the next force: the unforced slots never reached the disk
+        for (Path file : unforced) Files.write(file, new byte[] {1, 2, 3});
+        assertArrayEquals(payload(0), new SaveRing(dir, "save", "ser", 3).readNewest());
+
+        // Once forced, the newest save is the one kept
+        ring.write(payload(6), false);
+        ring.forceLatest();
+        Path next = ring.write(payload(7), false);
+        assertEquals(forced, next);
+    }
+
+    @Test
+    void continuesTheGenerationsOfAnEarlierSession() throws IOException
+    {
+        SaveRing first = new SaveRing(dir, "save", "ser", 3);
+        for (int i = 0; i < 4; i++) first.write(payload(i), false);
+
+        SaveRing second = new SaveRing(dir, "save", "ser", 3);
+        Path newest = dir.resolve("save.0.ser"); // Generation 3 went back to slot 0
+        assertNotEquals(newest, second.write(payload(4), false));
+        assertArrayEquals(payload(4), new SaveRing(dir, "save", "ser", 3).readNewest());
+    }
+
+    private static byte[] payload(int save)
+    {
+        return ("partida " + save).repeat(20).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.BoardSnapshot;
+import com.example.battleship.models.GameRandom;
+import com.example.battleship.models.GameSnapshot;
+import com.example.battleship.models.Replay;
+import com.example.battleship.models.ShipPlacement;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotCodecTest
+{
+    // Horizontal ships store size | 0x80, a negative byte
+    private static final List<ShipPlacement> PLAYER_FLEET = List.of(
+            new ShipPlacement(4, 6, 9, true),
+            new ShipPlacement(3, 0, 0, false),
+            new ShipPlacement(2, 9, 0, false),
+            new ShipPlacement(1, 5, 5, true));
+    private static final List<ShipPlacement> ENEMY_FLEET = List.of(
+            new ShipPlacement(4, 0, 9, true),
+            new ShipPlacement(3, 7, 0, true),
+            new ShipPlacement(1, 9, 9, false));
+
+    @Test
+    void roundTripsAFullGameWithReplay()
+    {
+        // 200 moves: every cell of both boards, so packed shots reach 199 (also a negative byte)
+        Replay replay = new Replay("Almirante Ñuñez", 42L, PLAYER_FLEET, ENEMY_FLEET);
+        for (int move = 0; move < 200; move++)
+        {
+            int index = move % 100;
+            replay.recordShot(move >= 100, index % 10, index / 10);
+        }
+        GameRandom random = new GameRandom(42L);
+        random.nextInt(100);
+        GameSnapshot snapshot = new GameSnapshot("Almirante Ñuñez",
+                BoardSnapshot.of(PLAYER_FLEET, -1L, (1L << 36) - 1),
+                BoardSnapshot.of(ENEMY_FLEET, 0x5555_5555_5555_5555L, 0x0_AAAA_AAAAL),
+                100, false, 3, 10, true, random, replay);
+
+        GameSnapshot decoded = roundTrip(snapshot);
+
+        assertEquals(snapshot.getPlayerName(), decoded.getPlayerName());
+        assertBoard(snapshot.getPlayerBoard(), decoded.getPlayerBoard());
+        assertBoard(snapshot.getEnemyBoard(), decoded.getEnemyBoard());
+        assertEquals(100, decoded.getShotsCounter());
+        assertFalse(decoded.isPlayerTurn());
+        assertEquals(3, decoded.getEnemyShipsSunkCount());
+        assertEquals(10, decoded.getPlayerShipsSunkCount());
+        assertTrue(decoded.isGameStarted());
+        assertEquals(42L, decoded.getSeed());
+        assertEquals(random.getState(), decoded.getRandomState());
+
+        assertEquals(200, decoded.getReplayMoves());
+        for (int move = 0; move < 200; move++)
+        {
+            assertEquals(snapshot.getReplayShot(move), decoded.getReplayShot(move), "move " + move);
+        }
+        Replay restored = decoded.restoreReplay();
+        assertTrue(restored.isEnemyShot(199));
+        assertEquals(9, restored.getShotCol(199));
+        assertEquals(9, restored.getShotRow(199));
+    }
+
+    @Test
+    void roundTripsASnapshotWithoutReplay()
+    {
+        GameSnapshot snapshot = new GameSnapshot("", BoardSnapshot.of(PLAYER_FLEET, 0, 0), BoardSnapshot.of(ENEMY_FLEET, 0, 0),
+                0, true, 0, 0, false, new GameRandom(-7L), null);
+
+        GameSnapshot decoded = roundTrip(snapshot);
+
+        assertEquals(-1, decoded.getReplayMoves());
+        assertNull(decoded.restoreReplay());
+        assertEquals(-7L, decoded.getSeed());
+        assertBoard(snapshot.getPlayerBoard(), decoded.getPlayerBoard());
+    }
+
+    private static GameSnapshot roundTrip(GameSnapshot snapshot)
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        SnapshotCodec.encode(snapshot, buffer);
+        byte[] payload = new byte[buffer.flip().remaining()];
+        buffer.get(payload);
+        assertTrue(SnapshotCodec.isEncoded(payload));
+        return SnapshotCodec.decode(ByteBuffer.wrap(payload));
+    }
+
+    private static void assertBoard(BoardSnapshot expected, BoardSnapshot actual)
+    {
+        assertEquals(expected.getShotLo(), actual.getShotLo());
+        assertEquals(expected.getShotHi(), actual.getShotHi());
+        assertEquals(expected.getFleet().size(), actual.getFleet().size());
+        for (int i = 0; i < expected.getFleet().size(); i++)
+        {
+            ShipPlacement a = expected.getFleet().get(i), b = actual.getFleet().get(i);
+            assertEquals(a.getSize(), b.getSize(), "size of ship " + i);
+            assertEquals(a.getCol(), b.getCol(), "col of ship " + i);
+            assertEquals(a.getRow(), b.getRow(), "row of ship " + i);
+            assertEquals(a.isHorizontal(), b.isHorizontal(), "orientation of ship " + i);
+        }
+    }
+}